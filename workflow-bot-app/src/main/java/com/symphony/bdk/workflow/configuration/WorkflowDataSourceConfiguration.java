@@ -22,7 +22,8 @@ import javax.sql.DataSource;
 @EnableTransactionManagement
 @EnableJpaRepositories(
     basePackages = {"com.symphony.bdk.workflow.management.repository", "com.symphony.bdk.workflow.engine.shared",
-        "com.symphony.bdk.workflow.engine.secret"},
+        "com.symphony.bdk.workflow.engine.secret", "com.symphony.bdk.workflow.engine.handler.audit",
+        "com.symphony.bdk.workflow.engine.handler.form"},
     transactionManagerRef = "transactionManager")
 @Profile("!test")
 @Slf4j
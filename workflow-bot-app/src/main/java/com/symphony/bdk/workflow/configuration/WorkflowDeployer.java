@@ -8,6 +8,7 @@ import com.symphony.bdk.workflow.swadl.v1.Workflow;
 
 import com.github.fge.jsonschema.core.exceptions.ProcessingException;
 import lombok.RequiredArgsConstructor;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.stereotype.Component;
@@ -18,8 +19,15 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardWatchEventKinds;
 import java.nio.file.WatchEvent;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
 
 @Component
 @ConditionalOnPropertyNotEmpty("wdk.workflows.path")
@@ -31,6 +39,9 @@ public class WorkflowDeployer {
   private final Map<Path, Pair<String, Boolean>> deployedWorkflows = new HashMap<>();
   private final WorkflowDirectedGraphService workflowDirectedGraphService;
 
+  /**
+   * Reads, validates and translates the workflows of the folder in parallel, then deploys them one by one.
+   */
   public void addAllWorkflowsFromFolder(Path path) {
     if (!Files.isDirectory(path)) {
       throw new IllegalArgumentException("Could not find workflows folder to monitor with path: " + path);
@@ -38,31 +49,89 @@ public class WorkflowDeployer {
 
     log.info("Watching workflows from {}", path);
     File[] existingFiles = path.toFile().listFiles();
-    if (existingFiles != null) {
-      for (File file : existingFiles) {
-        if (isYaml(file.toPath())) {
-          try {
-            this.addWorkflow(file.toPath());
-          } catch (Exception e) {
-            log.error("Failed to add workflow for file {}", file, e);
-          }
-        }
+    if (existingFiles == null) {
+      return;
+    }
+    List<Path> workflowFiles = Arrays.stream(existingFiles)
+        .map(File::toPath)
+        .filter(this::isYaml)
+        .sorted()
+        .collect(Collectors.toList());
+
+    long start = System.nanoTime();
+    // resolved once for all the workflows rather than by each translation
+    String botName = workflowEngine.botName();
+    DeploymentTimings timings = new DeploymentTimings();
+    int parallelism = Runtime.getRuntime().availableProcessors();
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    List<TranslatedWorkflow> translatedWorkflows;
+    try {
+      translatedWorkflows = pool.submit(() -> workflowFiles.parallelStream()
+          .map(file -> translateOrLog(file, botName, timings))
+          .filter(Objects::nonNull)
+          .collect(Collectors.toList())).join();
+    } finally {
+      pool.shutdown();
+    }
+    long translated = System.nanoTime();
+
+    int deployed = 0;
+    for (TranslatedWorkflow translatedWorkflow : translatedWorkflows) {
+      try {
+        this.addWorkflow(translatedWorkflow);
+        deployed++;
+      } catch (Exception e) {
+        log.error("Failed to add workflow for file {}", translatedWorkflow.getFile(), e);
       }
     }
+    long end = System.nanoTime();
+
+    log.info("Added {} workflows out of {} files in {}ms: parsing and validation {}ms, translation {}ms "
+            + "(summed over {} threads, {}ms elapsed), deployment {}ms", deployed, workflowFiles.size(),
+        toMillis(end - start), toMillis(timings.parsing.sum()), toMillis(timings.translation.sum()), parallelism,
+        toMillis(translated - start), toMillis(end - translated));
   }
 
   void addWorkflow(Path workflowFile) throws IOException, ProcessingException {
+    TranslatedWorkflow translatedWorkflow = translate(workflowFile, workflowEngine.botName(), new DeploymentTimings());
+    if (translatedWorkflow != null) {
+      addWorkflow(translatedWorkflow);
+    }
+  }
+
+  private TranslatedWorkflow translateOrLog(Path workflowFile, String botName, DeploymentTimings timings) {
+    try {
+      return translate(workflowFile, botName, timings);
+    } catch (Exception e) {
+      log.error("Failed to add workflow for file {}", workflowFile, e);
+      return null;
+    }
+  }
+
+  // safe to call concurrently, the workflow engine is only called to translate the workflow
+  private TranslatedWorkflow translate(Path workflowFile, String botName, DeploymentTimings timings)
+      throws IOException, ProcessingException {
     if (workflowFile.toFile().length() == 0) {
-      return;
+      return null;
     }
     log.debug("Adding a new workflow");
+    long start = System.nanoTime();
     Workflow workflow = SwadlParser.fromYaml(workflowFile.toFile());
-    CamundaTranslatedWorkflowContext context = workflowEngine.translate(workflow);
+    long parsed = System.nanoTime();
+    CamundaTranslatedWorkflowContext context = workflowEngine.translate(workflow, botName);
+    timings.parsing.add(parsed - start);
+    timings.translation.add(System.nanoTime() - parsed);
+    return new TranslatedWorkflow(workflowFile, workflow, context);
+  }
+
+  private void addWorkflow(TranslatedWorkflow translatedWorkflow) {
+    Path workflowFile = translatedWorkflow.getFile();
+    Workflow workflow = translatedWorkflow.getWorkflow();
     Pair<String, Boolean> deployedWorkflow = deployedWorkflows.get(workflowFile);
     if (workflow.isToPublish()) {
       log.debug("Deploying this new workflow");
-      workflowEngine.deploy(context);
-      workflowDirectedGraphService.putDirectedGraph(context.getWorkflowDirectedGraph());
+      workflowEngine.deploy(translatedWorkflow.getContext());
+      workflowDirectedGraphService.putDirectedGraph(translatedWorkflow.getContext().getWorkflowDirectedGraph());
     } else if (deployedWorkflow != null && deployedWorkflow.getRight()) {
       log.debug("Workflow is a draft version, undeloying the old version");
       workflowEngine.undeployByWorkflowId(deployedWorkflow.getLeft());
@@ -89,4 +158,20 @@ public class WorkflowDeployer {
     return changedFile.toString().endsWith(".yaml") || changedFile.toString().endsWith(".yml");
   }
 
+  private static long toMillis(long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+
+  @Value
+  private static class TranslatedWorkflow {
+    Path file;
+    Workflow workflow;
+    CamundaTranslatedWorkflowContext context;
+  }
+
+  private static class DeploymentTimings {
+    private final LongAdder parsing = new LongAdder();
+    private final LongAdder translation = new LongAdder();
+  }
+
 }
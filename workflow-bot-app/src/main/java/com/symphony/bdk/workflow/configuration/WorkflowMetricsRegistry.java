@@ -1,9 +1,11 @@
 package com.symphony.bdk.workflow.configuration;
 
 import com.symphony.bdk.workflow.engine.WorkflowEngineMetrics;
+import com.symphony.bdk.workflow.engine.executor.message.TemplateContentExtractor;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.stereotype.Component;
 
 import java.util.function.ToDoubleFunction;
@@ -14,7 +16,8 @@ import java.util.function.ToDoubleFunction;
 @Component
 public class WorkflowMetricsRegistry {
 
-  public WorkflowMetricsRegistry(MeterRegistry registry, WorkflowEngineMetrics metrics) {
+  public WorkflowMetricsRegistry(MeterRegistry registry, WorkflowEngineMetrics metrics,
+      TemplateContentExtractor templateContentExtractor) {
     registry.gauge("workflow.deployed", Tags.empty(),
         (ToDoubleFunction<Tags>) value -> (double) metrics.countDeployedWorkflows());
 
@@ -29,6 +32,8 @@ public class WorkflowMetricsRegistry {
         (ToDoubleFunction<Tags>) value -> (double) metrics.countCompletedActivities());
 
     // TODO expose failed process/activity counters
+
+    CaffeineCacheMetrics.monitor(registry, templateContentExtractor.compiledTemplates(), "workflow.templates");
   }
 
 }
@@ -19,6 +19,7 @@ import org.apache.commons.lang3.tuple.Triple;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static com.symphony.bdk.workflow.WorkflowValidator.validateActivityCompletedNodeId;
 import static com.symphony.bdk.workflow.WorkflowValidator.validateExistingNodeId;
@@ -38,11 +39,20 @@ public class WorkflowDirectGraphBuilder {
    */
   private final Workflow workflow;
 
-  private final SessionService sessionService;
+  private final Supplier<String> botNameSupplier;
+  private String botName;
 
   public WorkflowDirectGraphBuilder(Workflow workflow, SessionService sessionService) {
     this.workflow = workflow;
-    this.sessionService = sessionService;
+    this.botNameSupplier = () -> sessionService.getSession().getDisplayName();
+  }
+
+  /**
+   * @param botName display name of the bot, resolved once by the caller when building several workflows.
+   */
+  public WorkflowDirectGraphBuilder(Workflow workflow, String botName) {
+    this.workflow = workflow;
+    this.botNameSupplier = () -> botName;
   }
 
   public WorkflowDirectedGraph build() {
@@ -108,6 +118,14 @@ public class WorkflowDirectGraphBuilder {
     }
   }
 
+  // resolved on first use, once per workflow
+  private String botName() {
+    if (botName == null) {
+      botName = botNameSupplier.get();
+    }
+    return botName;
+  }
+
   private void computeEvents(int activityIndex, String activityId, List<Activity> activities,
       WorkflowDirectedGraph directGraph) {
     Activity activity = activities.get(activityIndex);
@@ -118,7 +136,7 @@ public class WorkflowDirectGraphBuilder {
       Optional<WorkflowEventType> eventType = WorkflowEventType.getEventType(event);
       if (eventType.isPresent()) {
         Triple<String, String, Class<?>> triple =
-            eventType.get().getEventTripleInfo(event, workflow.getId(), sessionService.getSession().getDisplayName());
+            eventType.get().getEventTripleInfo(event, workflow.getId(), botName());
         eventNodeId = triple.getMiddle();
         if (activity.getActivity() != null && StringUtils.isNotBlank(activity.getActivity().getIfCondition())) {
           directGraph.readWorkflowNode(activityId)
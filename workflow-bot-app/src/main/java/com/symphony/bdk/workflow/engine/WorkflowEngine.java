@@ -12,6 +12,16 @@ public interface WorkflowEngine<K extends TranslatedWorkflowContext> {
 
   K translate(Workflow workflow);
 
+  /**
+   * Same as {@link #translate(Workflow)}, with the bot name resolved once by the caller for several workflows.
+   */
+  K translate(Workflow workflow, String botName);
+
+  /**
+   * @return the display name of the bot, that commands can mention.
+   */
+  String botName();
+
   void execute(String workflowId, ExecutionParameters parameters) throws UnauthorizedException;
 
   <T> void onEvent(RealTimeEvent<T> event);
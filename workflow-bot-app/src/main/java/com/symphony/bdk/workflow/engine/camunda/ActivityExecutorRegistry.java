@@ -0,0 +1,91 @@
+package com.symphony.bdk.workflow.engine.camunda;
+
+import com.symphony.bdk.workflow.engine.executor.ActivityExecutor;
+import com.symphony.bdk.workflow.swadl.ActivityRegistry;
+import com.symphony.bdk.workflow.swadl.v1.activity.BaseActivity;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.reflect.TypeUtils;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Executors of the known activities, resolved once at startup and looked up by executor class name (as set in the
+ * BPMN task). An activity executor can be a bean or not, if there is no bean in the application context, a single
+ * instance is created.
+ */
+@Slf4j
+@Component
+public class ActivityExecutorRegistry implements SmartInitializingSingleton {
+  private final ApplicationContext applicationContext;
+  private final Map<String, ActivityExecutorHandle> handles = new ConcurrentHashMap<>();
+
+  public ActivityExecutorRegistry(ApplicationContext applicationContext) {
+    this.applicationContext = applicationContext;
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    ActivityRegistry.getActivityExecutors().forEach((activityType, executorClass) -> {
+      if (activityType == null || executorClass.isInterface() || Modifier.isAbstract(executorClass.getModifiers())) {
+        return;
+      }
+      try {
+        handles.computeIfAbsent(executorClass.getName(), k -> createHandle(executorClass, activityType));
+      } catch (RuntimeException e) {
+        log.warn("Failed to resolve activity executor {}, it will be resolved on first use", executorClass, e);
+      }
+    });
+    log.debug("Resolved [{}] activity executors", handles.size());
+  }
+
+  /**
+   * @param executorClassName fully qualified class name of the activity executor.
+   * @return the executor and the type of activity it executes.
+   */
+  public ActivityExecutorHandle get(String executorClassName) {
+    // executors that were not found when scanning the classpath are resolved on first use
+    return handles.computeIfAbsent(executorClassName, this::resolveHandle);
+  }
+
+  private ActivityExecutorHandle resolveHandle(String executorClassName) {
+    try {
+      Class<?> executorClass = Class.forName(executorClassName);
+      Type activityType = TypeUtils.getTypeArguments(executorClass, ActivityExecutor.class)
+          .get(ActivityExecutor.class.getTypeParameters()[0]);
+      return createHandle(executorClass, TypeUtils.getRawType(activityType, null));
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException("Unknown activity executor " + executorClassName, e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private ActivityExecutorHandle createHandle(Class<?> executorClass, Class<?> activityType) {
+    ActivityExecutor<?> executor = (ActivityExecutor<?>) applicationContext.getBeanProvider(executorClass)
+        .getIfAvailable(() -> newInstance(executorClass));
+    return new ActivityExecutorHandle(executor, (Class<? extends BaseActivity>) activityType);
+  }
+
+  private static Object newInstance(Class<?> executorClass) {
+    try {
+      return executorClass.getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Failed to create activity executor " + executorClass.getName(), e);
+    }
+  }
+
+  @Getter
+  @RequiredArgsConstructor
+  public static class ActivityExecutorHandle {
+    private final ActivityExecutor<?> executor;
+    private final Class<? extends BaseActivity> activityType;
+  }
+}
@@ -0,0 +1,263 @@
+package com.symphony.bdk.workflow.engine.camunda;
+
+import com.symphony.bdk.workflow.engine.camunda.ActivityExecutorRegistry.ActivityExecutorHandle;
+import com.symphony.bdk.workflow.engine.camunda.variable.VariableToJsonConverter;
+import com.symphony.bdk.workflow.engine.executor.ActivityExecutor;
+import com.symphony.bdk.workflow.swadl.v1.activity.BaseActivity;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.Expression;
+import org.camunda.bpm.engine.delegate.VariableScope;
+import org.camunda.bpm.engine.impl.el.ExpressionManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Activity definition of a deployed workflow, parsed once and reused by all the executions of the activity, along with
+ * its executor.
+ *
+ * <p>Only the fields containing expressions are evaluated for each execution, the rest of the parsed definition is
+ * shared. Evaluated values are handled as if the whole JSON definition was resolved at once: they are escaped JSON
+ * (see {@link VariableToJsonConverter}) and line breaks are collapsed.</p>
+ *
+ * <p>A field made of a single expression that evaluates to a list, a map, a number or a boolean is bound to the value
+ * itself if the field is declared with a matching type, instead of going through its escaped JSON text. Mixed
+ * templates (text and expressions) and fields declared as strings or plain objects are still interpolated.</p>
+ *
+ * <p>Expressions in field names, such as request headers, are evaluated to text and the fields renamed.</p>
+ */
+class ActivityTemplate {
+  private static final Pattern LINE_BREAKS = Pattern.compile("(\\r|\\n|\\r\\n)+");
+  private static final VariableToJsonConverter EXPRESSION_RESULT_CONVERTER = new VariableToJsonConverter();
+  // same mapping as the one used by VariableToJsonConverter, the bound value is read back with the workflow's mapper
+  private static final ObjectMapper TYPED_VALUE_MAPPER = new ObjectMapper();
+
+  @Getter
+  private final ActivityExecutor<?> executor;
+  private final Class<? extends BaseActivity> activityType;
+  // null for workflows deployed with the definition as an input parameter, resolved by Camunda
+  private final JsonNode definition;
+  private final List<Binding> bindings;
+  // null when all the outputs are flattened
+  private final Set<String> flattenedOutputs;
+
+  private ActivityTemplate(ActivityExecutorHandle executorHandle, JsonNode definition,
+      List<Binding> bindings, Set<String> flattenedOutputs) {
+    this.executor = executorHandle.getExecutor();
+    this.activityType = executorHandle.getActivityType();
+    this.definition = definition;
+    this.bindings = bindings;
+    this.flattenedOutputs = flattenedOutputs;
+  }
+
+  static ActivityTemplate parse(ActivityExecutorHandle executorHandle, String definition,
+      Set<String> flattenedOutputs, ExpressionManager expressionManager) throws JsonProcessingException {
+    JsonNode tree = CamundaExecutor.OBJECT_MAPPER.readTree(definition);
+    List<Binding> bindings = new ArrayList<>();
+    JavaType activityType = CamundaExecutor.OBJECT_MAPPER.constructType(executorHandle.getActivityType());
+    collectBindings(tree, JsonPointer.empty(), activityType, bindings, expressionManager);
+    return new ActivityTemplate(executorHandle, tree, bindings, flattenedOutputs);
+  }
+
+  static ActivityTemplate resolvedByCamunda(ActivityExecutorHandle executorHandle) {
+    return new ActivityTemplate(executorHandle, null, Collections.emptyList(), null);
+  }
+
+  /**
+   * @return true if the output is referenced by name in the workflow and must be stored as a flattened variable too.
+   */
+  boolean isFlattenedOutput(String key) {
+    return flattenedOutputs == null || flattenedOutputs.contains(key);
+  }
+
+  /**
+   * @return A new activity, with its expressions evaluated against the current execution.
+   */
+  @SuppressWarnings("rawtypes")
+  BaseActivity bind(DelegateExecution execution) throws JsonProcessingException {
+    if (definition == null) {
+      String activityAsJsonString =
+          ((Map) execution.getVariable(CamundaExecutor.SERIALISED_ACTIVITY)).get(
+              execution.getVariable(CamundaExecutor.ACTIVITY)).toString();
+      return CamundaExecutor.OBJECT_MAPPER.readValue(escapeLineBreaks(activityAsJsonString), activityType);
+    }
+
+    if (bindings.isEmpty()) {
+      return CamundaExecutor.OBJECT_MAPPER.treeToValue(definition, activityType);
+    }
+
+    JsonNode boundDefinition = definition.deepCopy();
+    for (Binding binding : bindings) {
+      binding.bind(boundDefinition, execution);
+    }
+    return CamundaExecutor.OBJECT_MAPPER.treeToValue(boundDefinition, activityType);
+  }
+
+  private static void collectBindings(JsonNode node, JsonPointer pointer, JavaType type,
+      List<Binding> bindings, ExpressionManager expressionManager) {
+    if (node.isObject()) {
+      Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+      while (fields.hasNext()) {
+        Map.Entry<String, JsonNode> field = fields.next();
+        JavaType fieldType = fieldType(type, field.getKey());
+        if (isExpression(field.getValue())) {
+          bindings.add(new ExpressionBinding(pointer, field.getKey(), -1,
+              expressionManager.createExpression(escapedText(field.getValue())), fieldType));
+        } else {
+          collectBindings(field.getValue(), pointer.appendProperty(field.getKey()), fieldType, bindings,
+              expressionManager);
+        }
+        // after the bindings of its value, applied while the field still has its original name
+        if (isExpression(field.getKey())) {
+          bindings.add(new FieldNameBinding(pointer, field.getKey(),
+              expressionManager.createExpression(escapedText(field.getKey()))));
+        }
+      }
+    } else if (node.isArray()) {
+      JavaType elementType = type != null && type.isContainerType() ? type.getContentType() : null;
+      for (int i = 0; i < node.size(); i++) {
+        if (isExpression(node.get(i))) {
+          bindings.add(new ExpressionBinding(pointer, null, i,
+              expressionManager.createExpression(escapedText(node.get(i))), elementType));
+        } else {
+          collectBindings(node.get(i), pointer.appendIndex(i), elementType, bindings, expressionManager);
+        }
+      }
+    }
+  }
+
+  // declared type of a field in the activity definition, null if unknown (the typed binding is then not used)
+  private static JavaType fieldType(JavaType type, String name) {
+    if (type == null || type.isJavaLangObject()) {
+      return null;
+    }
+    if (type.isMapLikeType()) {
+      return type.getContentType();
+    }
+    if (type.isContainerType()) {
+      return null;
+    }
+    BeanDescription description = CamundaExecutor.OBJECT_MAPPER.getDeserializationConfig().introspect(type);
+    return description.findProperties().stream()
+        .filter(property -> property.getName().equals(name))
+        .findFirst()
+        .map(BeanPropertyDefinition::getPrimaryType)
+        .orElse(null);
+  }
+
+  private static boolean isExpression(JsonNode node) {
+    return node.isTextual() && isExpression(node.textValue());
+  }
+
+  private static boolean isExpression(String text) {
+    return text.contains("${") || text.contains("#{");
+  }
+
+  // expressions are written as they appear in the serialized definition
+  private static String escapedText(JsonNode node) {
+    return escapedText(node.textValue());
+  }
+
+  private static String escapedText(String text) {
+    return new String(JsonStringEncoder.getInstance().quoteAsString(text));
+  }
+
+  private static String resolvedText(Object evaluated) throws JsonProcessingException {
+    String resolved = EXPRESSION_RESULT_CONVERTER.convert(evaluated, String.class);
+    return CamundaExecutor.OBJECT_MAPPER.readValue('"' + escapeLineBreaks(resolved) + '"', String.class);
+  }
+
+  private static String escapeLineBreaks(String json) {
+    return LINE_BREAKS.matcher(json).replaceAll("\\\\n");
+  }
+
+  private interface Binding {
+    void bind(JsonNode definition, VariableScope variableScope) throws JsonProcessingException;
+  }
+
+  @RequiredArgsConstructor
+  private static class ExpressionBinding implements Binding {
+    private final JsonPointer parent;
+    private final String field;
+    private final int index;
+    private final Expression expression;
+    private final JavaType targetType;
+
+    @Override
+    public void bind(JsonNode definition, VariableScope variableScope) throws JsonProcessingException {
+      // a composite expression (text and expressions) always evaluates to a string
+      Object evaluated = expression.getValue(variableScope);
+      JsonNode value = isTyped(evaluated)
+          ? TYPED_VALUE_MAPPER.valueToTree(evaluated)
+          : TextNode.valueOf(resolvedText(evaluated));
+
+      JsonNode container = definition.at(parent);
+      if (field != null) {
+        ((ObjectNode) container).set(field, value);
+      } else {
+        ((ArrayNode) container).set(index, value);
+      }
+    }
+
+    private boolean isTyped(Object value) {
+      if (targetType == null) {
+        return false;
+      }
+      if (value instanceof Collection) {
+        return targetType.isCollectionLikeType() || targetType.isArrayType();
+      }
+      if (value instanceof Map) {
+        return targetType.isMapLikeType();
+      }
+      if (value instanceof Number) {
+        Class<?> rawClass = targetType.getRawClass();
+        return Number.class.isAssignableFrom(rawClass)
+            || rawClass.isPrimitive() && rawClass != boolean.class && rawClass != char.class;
+      }
+      if (value instanceof Boolean) {
+        return targetType.hasRawClass(boolean.class) || targetType.hasRawClass(Boolean.class);
+      }
+      return false;
+    }
+  }
+
+  @RequiredArgsConstructor
+  private static class FieldNameBinding implements Binding {
+    private final JsonPointer parent;
+    private final String field;
+    private final Expression expression;
+
+    @Override
+    public void bind(JsonNode definition, VariableScope variableScope) throws JsonProcessingException {
+      String name = resolvedText(expression.getValue(variableScope));
+      ObjectNode container = (ObjectNode) definition.at(parent);
+      // renamed in place, to keep the order of the fields
+      Map<String, JsonNode> fields = new LinkedHashMap<>();
+      container.fields().forEachRemaining(entry ->
+          fields.put(entry.getKey().equals(field) ? name : entry.getKey(), entry.getValue()));
+      container.removeAll();
+      container.setAll(fields);
+    }
+  }
+}
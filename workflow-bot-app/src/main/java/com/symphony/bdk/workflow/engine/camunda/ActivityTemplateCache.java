@@ -0,0 +1,52 @@
+package com.symphony.bdk.workflow.engine.camunda;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+/**
+ * Parsed activity definitions by process definition and activity, shared by all the executions of a deployed
+ * workflow. The templates of a process definition are invalidated when its workflow is undeployed.
+ */
+@Component
+public class ActivityTemplateCache {
+  private static final String KEY_SEPARATOR = "#";
+  private static final int MAX_SIZE = 10_000;
+
+  private final Cache<String, ActivityTemplate> templates;
+
+  public ActivityTemplateCache() {
+    this(MAX_SIZE);
+  }
+
+  ActivityTemplateCache(long maxSize) {
+    this.templates = Caffeine.newBuilder().maximumSize(maxSize).build();
+  }
+
+  ActivityTemplate get(String processDefinitionId, String activityId, TemplateLoader loader)
+      throws JsonProcessingException {
+    String key = processDefinitionId + KEY_SEPARATOR + activityId;
+    ActivityTemplate template = templates.getIfPresent(key);
+    if (template == null) {
+      template = loader.load();
+      templates.put(key, template);
+    }
+    return template;
+  }
+
+  public void invalidate(String processDefinitionId) {
+    String prefix = processDefinitionId + KEY_SEPARATOR;
+    templates.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+  }
+
+  long size() {
+    templates.cleanUp();
+    return templates.estimatedSize();
+  }
+
+  @FunctionalInterface
+  interface TemplateLoader {
+    ActivityTemplate load() throws JsonProcessingException;
+  }
+}
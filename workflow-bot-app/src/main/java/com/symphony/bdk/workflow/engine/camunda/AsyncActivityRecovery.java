@@ -0,0 +1,50 @@
+package com.symphony.bdk.workflow.engine.camunda;
+
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.runtime.Execution;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Fails the asynchronous activities still waiting after their timeout. The completion of an asynchronous activity is
+ * only awaited by the node that started it, if that node stops before it completes the workflow would otherwise wait
+ * forever.
+ */
+@Slf4j
+@Component
+public class AsyncActivityRecovery {
+  private final RuntimeService runtimeService;
+  private final CommandExecutor commandExecutor;
+
+  public AsyncActivityRecovery(ProcessEngine processEngine) {
+    this.runtimeService = processEngine.getRuntimeService();
+    this.commandExecutor = ((ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration())
+        .getCommandExecutorTxRequired();
+  }
+
+  @Scheduled(initialDelayString = "${wdk.properties.async-activities.recovery-interval-ms:60000}",
+      fixedDelayString = "${wdk.properties.async-activities.recovery-interval-ms:60000}")
+  public void failTimedOutActivities() {
+    long now = Instant.now().toEpochMilli();
+    for (Execution execution : runtimeService.createExecutionQuery()
+        .variableValueLessThan(CamundaExecutor.ASYNC_ACTIVITY_DEADLINE, now)
+        .list()) {
+      try {
+        Long deadline = (Long) runtimeService.getVariableLocal(execution.getId(),
+            CamundaExecutor.ASYNC_ACTIVITY_DEADLINE);
+        if (deadline != null) {
+          log.warn("Asynchronous activity of execution [{}] timed out", execution.getId());
+          CamundaExecutor.resumeTimedOut(commandExecutor, execution.getId(), deadline);
+        }
+      } catch (RuntimeException e) {
+        log.error("Failed to resume execution [{}] of a timed out asynchronous activity", execution.getId(), e);
+      }
+    }
+  }
+}
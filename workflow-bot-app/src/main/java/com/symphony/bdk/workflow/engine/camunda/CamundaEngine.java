@@ -6,6 +6,7 @@ import com.symphony.bdk.workflow.engine.ExecutionParameters;
 import com.symphony.bdk.workflow.engine.WorkflowEngine;
 import com.symphony.bdk.workflow.engine.camunda.bpmn.CamundaBpmnBuilder;
 import com.symphony.bdk.workflow.engine.handler.audit.AuditTrailLogAction;
+import com.symphony.bdk.workflow.event.EventSubscriptionRegistry;
 import com.symphony.bdk.workflow.event.RealTimeEventProcessor;
 import com.symphony.bdk.workflow.exception.NotFoundException;
 import com.symphony.bdk.workflow.exception.UnauthorizedException;
@@ -15,6 +16,7 @@ import com.symphony.bdk.workflow.swadl.v1.event.RequestReceivedEvent;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.OptimisticLockingException;
 import org.camunda.bpm.engine.RepositoryService;
 import org.camunda.bpm.engine.repository.Deployment;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
@@ -43,14 +45,21 @@ public class CamundaEngine implements WorkflowEngine<CamundaTranslatedWorkflowCo
 
   private final AuditTrailLogAction auditTrailLogger;
 
+  private final EventSubscriptionRegistry subscriptionRegistry;
+
+  private final ActivityTemplateCache activityTemplates;
+
   @Autowired
   public CamundaEngine(RepositoryService repositoryService, CamundaBpmnBuilder bpmnBuilder,
-      List<RealTimeEventProcessor<?>> processors, AuditTrailLogAction auditTrailLogger) {
+      List<RealTimeEventProcessor<?>> processors, AuditTrailLogAction auditTrailLogger,
+      EventSubscriptionRegistry subscriptionRegistry, ActivityTemplateCache activityTemplates) {
     this.repositoryService = repositoryService;
     this.bpmnBuilder = bpmnBuilder;
     processorRegistry =
         processors.stream().collect(Collectors.toMap(p -> p.sourceType().getSimpleName(), Function.identity()));
     this.auditTrailLogger = auditTrailLogger;
+    this.subscriptionRegistry = subscriptionRegistry;
+    this.activityTemplates = activityTemplates;
   }
 
   @Override
@@ -62,16 +71,26 @@ public class CamundaEngine implements WorkflowEngine<CamundaTranslatedWorkflowCo
   @Override
   public String deploy(CamundaTranslatedWorkflowContext context) {
     Deployment deployment = bpmnBuilder.deployWorkflow(context);
-    log.info("Deployed workflow {} {}", deployment.getId(), deployment.getName());
-    auditTrailLogger.deployed(deployment);
+    subscriptionRegistry.register(deployment.getId(), context.getBpmnModelInstance());
+    if (deployment.getId().equals(context.getDeploymentId())) {
+      log.info("Workflow {} {} is unchanged, already deployed", deployment.getId(), deployment.getName());
+    } else {
+      log.info("Deployed workflow {} {}", deployment.getId(), deployment.getName());
+      auditTrailLogger.deployed(deployment);
+    }
     return deployment.getId();
   }
 
   @Override
   public CamundaTranslatedWorkflowContext translate(Workflow workflow) {
+    return translate(workflow, botName());
+  }
+
+  @Override
+  public CamundaTranslatedWorkflowContext translate(Workflow workflow, String botName) {
     checkUniquenessOfActivitiesId(workflow);
     try {
-      return bpmnBuilder.translateWorkflow(workflow);
+      return bpmnBuilder.translateWorkflow(workflow, botName);
     } catch (JsonProcessingException | ModelValidationException exception) {
       throw new IllegalArgumentException(
           String.format("Workflow parsing process failed, \"%s\" may not be a valid workflow.", workflow.getId()),
@@ -79,6 +98,11 @@ public class CamundaEngine implements WorkflowEngine<CamundaTranslatedWorkflowCo
     }
   }
 
+  @Override
+  public String botName() {
+    return bpmnBuilder.botName();
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public void execute(String workflowId, ExecutionParameters parameters) {
@@ -130,7 +154,11 @@ public class CamundaEngine implements WorkflowEngine<CamundaTranslatedWorkflowCo
   }
 
   private void stop(Deployment deployment) {
+    List<ProcessDefinition> processDefinitions =
+        repositoryService.createProcessDefinitionQuery().deploymentId(deployment.getId()).list();
     repositoryService.deleteDeployment(deployment.getId(), true);
+    processDefinitions.forEach(processDefinition -> activityTemplates.invalidate(processDefinition.getId()));
+    subscriptionRegistry.unregister(deployment.getId());
     log.info("Removed workflow {}", deployment.getName());
     auditTrailLogger.undeployed(deployment);
   }
@@ -152,6 +180,9 @@ public class CamundaEngine implements WorkflowEngine<CamundaTranslatedWorkflowCo
       Class<?> clazz = EventPayload.class.isAssignableFrom(event.getSource().getClass())
           ? event.getSource().getClass().getSuperclass() : event.getSource().getClass();
       ((RealTimeEventProcessor<T>) processorRegistry.get(clazz.getSimpleName())).process(event);
+    } catch (OptimisticLockingException e) {
+      // still conflicting after the retries, the event is dropped by the ingestion pipeline
+      throw e;
     } catch (Exception e) {
       log.error("This error happens when the incoming event has an invalid PresentationML message", e);
     }
@@ -3,6 +3,8 @@ package com.symphony.bdk.workflow.engine.camunda;
 import com.symphony.bdk.workflow.engine.executor.BdkGateway;
 import com.symphony.bdk.workflow.engine.executor.SecretKeeper;
 import com.symphony.bdk.workflow.engine.executor.SharedDataStore;
+import com.symphony.bdk.workflow.engine.handler.HistoryLevelDbEventHandler;
+import com.symphony.bdk.workflow.engine.shared.SharedDataMigration;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,6 +14,7 @@ import org.camunda.bpm.engine.delegate.VariableScope;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cfg.ProcessEnginePlugin;
 import org.camunda.bpm.engine.impl.el.ExpressionManager;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
 import org.camunda.bpm.engine.impl.scripting.ExecutableScript;
 import org.camunda.bpm.engine.impl.scripting.env.ScriptingEnvironment;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
@@ -23,6 +26,10 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import javax.script.Bindings;
 import javax.script.ScriptEngine;
 
@@ -38,11 +45,16 @@ public class CamundaEngineConfiguration implements ProcessEnginePlugin {
 
   private final SecretKeeper secretKeeper;
 
+  private final SharedDataMigration sharedDataMigration;
+
   @Override
   public void preInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    // before any workflow can run and use shared data
+    sharedDataMigration.migrate();
+    storeHistoryPerWorkflowLevel(processEngineConfiguration);
     ExpressionManager expressionManager = processEngineConfiguration.getExpressionManager();
     expressionManager.addFunction(UtilityFunctionsMapper.TEXT,
-        ReflectUtil.getMethod(UtilityFunctionsMapper.class, UtilityFunctionsMapper.TEXT, String.class));
+        ReflectUtil.getMethod(UtilityFunctionsMapper.class, UtilityFunctionsMapper.TEXT, Object.class));
     expressionManager.addFunction(UtilityFunctionsMapper.JSON,
         ReflectUtil.getMethod(UtilityFunctionsMapper.class, UtilityFunctionsMapper.JSON, String.class));
     expressionManager.addFunction(UtilityFunctionsMapper.ESCAPE,
@@ -63,6 +75,24 @@ public class CamundaEngineConfiguration implements ProcessEnginePlugin {
     expressionManager.addFunction(UtilityFunctionsMapper.WRITESHARED,
         ReflectUtil.getMethod(UtilityFunctionsMapper.class, UtilityFunctionsMapper.WRITESHARED, String.class,
             String.class, Object.class));
+    expressionManager.addFunction(UtilityFunctionsMapper.WRITESHAREDWITHTTL,
+        ReflectUtil.getMethod(UtilityFunctionsMapper.class, UtilityFunctionsMapper.WRITESHAREDWITHTTL, String.class,
+            String.class, Object.class, String.class));
+    expressionManager.addFunction(UtilityFunctionsMapper.READALLSHARED,
+        ReflectUtil.getMethod(UtilityFunctionsMapper.class, UtilityFunctionsMapper.READALLSHARED, String.class,
+            List.class));
+    expressionManager.addFunction(UtilityFunctionsMapper.WRITEALLSHARED,
+        ReflectUtil.getMethod(UtilityFunctionsMapper.class, UtilityFunctionsMapper.WRITEALLSHARED, String.class,
+            Map.class));
+    expressionManager.addFunction(UtilityFunctionsMapper.INCREMENTSHARED,
+        ReflectUtil.getMethod(UtilityFunctionsMapper.class, UtilityFunctionsMapper.INCREMENTSHARED, String.class,
+            String.class, long.class));
+    expressionManager.addFunction(UtilityFunctionsMapper.COMPAREANDSETSHARED,
+        ReflectUtil.getMethod(UtilityFunctionsMapper.class, UtilityFunctionsMapper.COMPAREANDSETSHARED, String.class,
+            String.class, Object.class, Object.class));
+    expressionManager.addFunction(UtilityFunctionsMapper.WRITESHAREDIFABSENT,
+        ReflectUtil.getMethod(UtilityFunctionsMapper.class, UtilityFunctionsMapper.WRITESHAREDIFABSENT, String.class,
+            String.class, Object.class));
     expressionManager.addFunction(UtilityFunctionsMapper.SECRET,
         ReflectUtil.getMethod(UtilityFunctionsMapper.class, UtilityFunctionsMapper.SECRET, String.class));
   }
@@ -75,6 +105,16 @@ public class CamundaEngineConfiguration implements ProcessEnginePlugin {
     handleScriptExceptionsAsBpmnErrors(processEngineConfiguration);
   }
 
+  // History events are written by our own handler instead of the default one, to skip the ones not needed by a workflow
+  private void storeHistoryPerWorkflowLevel(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    List<HistoryEventHandler> historyEventHandlers = new ArrayList<>();
+    historyEventHandlers.add(new HistoryLevelDbEventHandler(processEngineConfiguration));
+    Optional.ofNullable(processEngineConfiguration.getCustomHistoryEventHandlers())
+        .ifPresent(historyEventHandlers::addAll);
+    processEngineConfiguration.setCustomHistoryEventHandlers(historyEventHandlers);
+    processEngineConfiguration.setEnableDefaultDbHistoryEventHandler(false);
+  }
+
   // By default, script exceptions (except for BPMNError) are not failing the script task
   // We change this behavior to wrap any script exception in a BpmnError to handle errors with activity-failed
   private void handleScriptExceptionsAsBpmnErrors(ProcessEngineConfigurationImpl processEngineConfiguration) {
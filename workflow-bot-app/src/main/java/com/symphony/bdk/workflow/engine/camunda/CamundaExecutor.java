@@ -1,10 +1,15 @@
 package com.symphony.bdk.workflow.engine.camunda;
 
 import com.symphony.bdk.workflow.engine.ResourceProvider;
+import com.symphony.bdk.workflow.engine.camunda.ActivityExecutorRegistry.ActivityExecutorHandle;
+import com.symphony.bdk.workflow.engine.camunda.variable.BlobStore;
 import com.symphony.bdk.workflow.engine.camunda.variable.BpmnToAndFromBaseActivityMixin;
 import com.symphony.bdk.workflow.engine.camunda.variable.EscapedJsonVariableDeserializer;
+import com.symphony.bdk.workflow.engine.camunda.variable.LazyVariablesMap;
+import com.symphony.bdk.workflow.engine.camunda.variable.SmileObjectValueSerializer;
 import com.symphony.bdk.workflow.engine.executor.ActivityExecutor;
 import com.symphony.bdk.workflow.engine.executor.ActivityExecutorContext;
+import com.symphony.bdk.workflow.engine.executor.AsyncActivityExecutor;
 import com.symphony.bdk.workflow.engine.executor.BdkGateway;
 import com.symphony.bdk.workflow.engine.executor.EventHolder;
 import com.symphony.bdk.workflow.engine.executor.SecretKeeper;
@@ -14,49 +19,87 @@ import com.symphony.bdk.workflow.swadl.v1.activity.BaseActivity;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.json.JsonReadFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.camunda.bpm.engine.delegate.BpmnError;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
-import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.impl.bpmn.behavior.AbstractBpmnActivityBehavior;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.cmd.SignalCmd;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.el.ExpressionManager;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.pvm.delegate.ActivityExecution;
 import org.camunda.bpm.engine.variable.Variables;
 import org.camunda.bpm.engine.variable.value.ObjectValue;
+import org.camunda.bpm.model.bpmn.instance.FlowElement;
+import org.camunda.bpm.model.bpmn.instance.camunda.CamundaProperties;
+import org.camunda.bpm.model.bpmn.instance.camunda.CamundaProperty;
 import org.slf4j.MDC;
-import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.context.ApplicationContext;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
 import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Executes the activities of the workflows, as the behavior of their service tasks.
+ *
+ * <p>Activities with an {@link AsyncActivityExecutor} are left waiting once the asynchronous call is started, they
+ * are signaled to resume the workflow when the call completes.</p>
+ */
 @Slf4j
 @Component
-public class CamundaExecutor implements JavaDelegate {
+public class CamundaExecutor extends AbstractBpmnActivityBehavior {
 
   public static final String EXECUTOR = "executor";
   public static final String ACTIVITY = "activity";
   public static final String SERIALISED_ACTIVITY = "serialisedActivity";
+  public static final String FLATTENED_OUTPUTS = "flattenedOutputs";
+  public static final String FLATTENED_OUTPUTS_SEPARATOR = ",";
+  // local variable of the executions waiting for an asynchronous activity, until when they wait (epoch millis)
+  public static final String ASYNC_ACTIVITY_DEADLINE = "asyncActivityDeadline";
   public static final ObjectMapper OBJECT_MAPPER;
 
   // set MDC entries so that executors can produce log that we can contextualize
   private static final String MDC_PROCESS_ID = "X-PROCESS-ID";
   private static final String MDC_ACTIVITY_ID = "X-ACTIVITY-ID";
 
+
   static {
     SimpleModule module = new SimpleModule();
     module.addDeserializer(List.class, new EscapedJsonVariableDeserializer<>(List.class));
@@ -75,74 +118,215 @@ public class CamundaExecutor implements JavaDelegate {
   private final SecretKeeper secretKeeper;
   private final AuditTrailLogAction auditTrailLogger;
   private final ResourceProvider resourceLoader;
-  private final ApplicationContext applicationContext;
+  private final ActivityExecutorRegistry executorRegistry;
+  private final BlobStore blobStore;
+  private final ActivityTemplateCache activityTemplates;
+  // signals the executions of asynchronous activities, so that the threads completing the calls are not blocked
+  private final ExecutorService resumeExecutor;
+  private final long asyncTimeoutMs;
 
   public CamundaExecutor(BdkGateway bdk, SharedDataStore sharedDataStore, SecretKeeper secretKeeper,
       AuditTrailLogAction auditTrailLogger, @Qualifier("workflowResourcesProvider") ResourceProvider resourceLoader,
-      ApplicationContext applicationContext) {
+      ActivityExecutorRegistry executorRegistry, BlobStore blobStore, ActivityTemplateCache activityTemplates,
+      @Value("${wdk.properties.async-activities.resume-threads:4}") int resumeThreads,
+      @Value("${wdk.properties.async-activities.timeout-ms:300000}") long asyncTimeoutMs) {
     this.bdk = bdk;
     this.sharedDataStore = sharedDataStore;
     this.secretKeeper = secretKeeper;
     this.auditTrailLogger = auditTrailLogger;
     this.resourceLoader = resourceLoader;
-    this.applicationContext = applicationContext;
+    this.executorRegistry = executorRegistry;
+    this.blobStore = blobStore;
+    this.activityTemplates = activityTemplates;
+    this.asyncTimeoutMs = asyncTimeoutMs;
+    AtomicInteger resumeThreadCount = new AtomicInteger();
+    this.resumeExecutor = Executors.newFixedThreadPool(resumeThreads, runnable -> {
+      Thread thread = new Thread(runnable, "async-activity-resume-" + resumeThreadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  @PreDestroy
+  public void stop() {
+    resumeExecutor.shutdown();
   }
 
   @SuppressWarnings({"unchecked", "rawtypes"})
   @Override
-  public void execute(DelegateExecution execution) throws Exception {
-    Class<?> implClass = Class.forName((String) execution.getVariable(EXECUTOR));
+  public void execute(ActivityExecution execution) throws Exception {
+    ActivityTemplate template = getActivityTemplate(execution);
+    ActivityExecutor<?> executor = template.getExecutor();
+    BaseActivity activity = template.bind(execution);
 
-    ActivityExecutor<?> executor;
+    EventHolder event = (EventHolder) execution.getVariable(ActivityExecutorContext.EVENT);
 
-    // An activity executor can be a bean or not.
-    // We firstly try to get it as a bean from Spring application context,
-    // if not found, then we catch the exception, and we create a new instance.
     try {
-      executor = (ActivityExecutor<?>) applicationContext.getBean(implClass);
-    } catch (NoSuchBeanDefinitionException noSuchBeanDefinitionException) {
-      executor = (ActivityExecutor<?>) implClass.getDeclaredConstructor().newInstance();
+      setMdc(execution);
+      auditTrailLogger.execute(execution, activity.getClass().getSimpleName());
+      CamundaActivityExecutorContext context =
+          new CamundaActivityExecutorContext(execution, activity, event, template, resourceLoader, bdk,
+              sharedDataStore, secretKeeper, blobStore);
+      if (executor instanceof AsyncActivityExecutor) {
+        Map<String, Object> outputs = context.deferOutputs();
+        long deadline = Instant.now().toEpochMilli() + asyncTimeoutMs;
+        execution.setVariableLocal(ASYNC_ACTIVITY_DEADLINE, deadline);
+        CompletableFuture<Void> completion = ((AsyncActivityExecutor) executor).executeAsync(context)
+            .toCompletableFuture().copy().orTimeout(asyncTimeoutMs, TimeUnit.MILLISECONDS);
+        // the execution waits here until it is signaled
+        resumeOnCompletion(execution, completion, outputs, deadline);
+        return;
+      }
+      executor.execute(context);
+    } catch (Exception e) {
+      log.error(String.format("Activity from workflow %s failed", execution.getProcessDefinitionId()), e);
+      logErrorVariables(execution, activity.getId(), e);
+      throw new BpmnError("FAILURE", e);
+    } finally {
+      clearMdc();
     }
-    Type type = ((ParameterizedType) (implClass.getGenericInterfaces()[0])).getActualTypeArguments()[0];
-
-    // escape break line and new line characters
-    String activityAsJsonString =
-        ((Map) execution.getVariable(SERIALISED_ACTIVITY)).get(execution.getVariable(ACTIVITY))
-            .toString()
-            .replaceAll("(\\r|\\n|\\r\\n)+", "\\\\n");
-
-    BaseActivity activity =
-        (BaseActivity) OBJECT_MAPPER.readValue(activityAsJsonString, Class.forName(type.getTypeName()));
-
-    EventHolder event = (EventHolder) execution.getVariable(ActivityExecutorContext.EVENT);
+    leave(execution);
+  }
 
+  /**
+   * Resumes the execution of an asynchronous activity.
+   */
+  @Override
+  public void signal(ActivityExecution execution, String signalName, Object signalData) throws Exception {
+    if (!(signalData instanceof AsyncCompletion)) {
+      super.signal(execution, signalName, signalData);
+      return;
+    }
+    AsyncCompletion completion = (AsyncCompletion) signalData;
+    execution.removeVariableLocal(ASYNC_ACTIVITY_DEADLINE);
     try {
       setMdc(execution);
-      auditTrailLogger.execute(execution, activity.getClass().getSimpleName());
-      executor.execute(
-          new CamundaActivityExecutorContext(execution, activity, event, resourceLoader, bdk, sharedDataStore,
-              secretKeeper));
+      if (completion.getError() != null) {
+        throw completion.getError();
+      }
+      storeOutputs(execution, execution.getCurrentActivityId(), getActivityTemplate(execution),
+          completion.getOutputs(), blobStore);
     } catch (Exception e) {
       log.error(String.format("Activity from workflow %s failed", execution.getProcessDefinitionId()), e);
-      logErrorVariables(execution, activity, e);
+      logErrorVariables(execution, execution.getCurrentActivityId(), e);
       throw new BpmnError("FAILURE", e);
     } finally {
       clearMdc();
     }
+    leave(execution);
+  }
+
+  private void resumeOnCompletion(DelegateExecution execution, CompletionStage<Void> completion,
+      Map<String, Object> outputs, long deadline) {
+    String executionId = execution.getId();
+    CommandExecutor commandExecutor =
+        ((ProcessEngineConfigurationImpl) execution.getProcessEngine().getProcessEngineConfiguration())
+            .getCommandExecutorTxRequired();
+    // the execution can only be signaled once it is waiting, i.e. when the current transaction is committed
+    Context.getCommandContext().getTransactionContext().addTransactionListener(TransactionState.COMMITTED,
+        commandContext -> completion.whenCompleteAsync((result, error) -> {
+          try {
+            resume(commandExecutor, executionId, deadline, new AsyncCompletion(outputs, unwrap(error)));
+          } catch (RuntimeException e) {
+            log.error("Failed to resume execution [{}] of an asynchronous activity", executionId, e);
+          }
+        }, resumeExecutor));
   }
 
-  private static void logErrorVariables(DelegateExecution execution, BaseActivity activity, Exception e) {
+  /**
+   * Fails the asynchronous activity of an execution still waiting after its deadline.
+   */
+  static void resumeTimedOut(CommandExecutor commandExecutor, String executionId, long deadline) {
+    resume(commandExecutor, executionId, deadline, new AsyncCompletion(Collections.emptyMap(),
+        new TimeoutException("Asynchronous activity did not complete before its timeout")));
+  }
+
+  /**
+   * Signals the execution only if it is still waiting for the asynchronous activity started with this deadline, it
+   * might have been resumed already by {@link AsyncActivityRecovery} and be waiting somewhere else.
+   */
+  private static void resume(CommandExecutor commandExecutor, String executionId, long deadline,
+      AsyncCompletion completion) {
+    commandExecutor.execute(commandContext -> {
+      ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(executionId);
+      if (execution == null || !Long.valueOf(deadline).equals(execution.getVariableLocal(ASYNC_ACTIVITY_DEADLINE))) {
+        log.debug("Execution [{}] of an asynchronous activity was already resumed", executionId);
+        return null;
+      }
+      return new SignalCmd(executionId, null, completion, null).execute(commandContext);
+    });
+  }
+
+  private static Exception unwrap(Throwable error) {
+    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    if (cause == null || cause instanceof Exception) {
+      return (Exception) cause;
+    }
+    return new ExecutionException(cause);
+  }
+
+  /**
+   * Activity definitions are parsed once per deployed workflow, only their expressions are evaluated on each
+   * execution.
+   */
+  private ActivityTemplate getActivityTemplate(DelegateExecution execution) throws JsonProcessingException {
+    return activityTemplates.get(execution.getProcessDefinitionId(), execution.getCurrentActivityId(),
+        () -> createActivityTemplate(execution));
+  }
+
+  private ActivityTemplate createActivityTemplate(DelegateExecution execution) throws JsonProcessingException {
+    ActivityExecutorHandle executorHandle = executorRegistry.get((String) execution.getVariable(EXECUTOR));
+
+    FlowElement element = execution.getBpmnModelElementInstance();
+    Optional<String> definition = readProperty(element, SERIALISED_ACTIVITY);
+    if (definition.isEmpty()) {
+      return ActivityTemplate.resolvedByCamunda(executorHandle);
+    }
+    ExpressionManager expressionManager =
+        ((ProcessEngineConfigurationImpl) execution.getProcessEngine().getProcessEngineConfiguration())
+            .getExpressionManager();
+    // workflows deployed before the outputs were analysed keep flattening all of them
+    Set<String> flattenedOutputs = readProperty(element, FLATTENED_OUTPUTS)
+        .map(outputs -> Arrays.stream(outputs.split(FLATTENED_OUTPUTS_SEPARATOR))
+            .filter(output -> !output.isEmpty())
+            .collect(Collectors.toSet()))
+        .orElse(null);
+    return ActivityTemplate.parse(executorHandle, definition.get(), flattenedOutputs, expressionManager);
+  }
+
+  private static Optional<String> readProperty(FlowElement element, String name) {
+    if (element == null || element.getExtensionElements() == null) {
+      return Optional.empty();
+    }
+    return element.getExtensionElements().getChildElementsByType(CamundaProperties.class).stream()
+        .flatMap(properties -> properties.getCamundaProperties().stream())
+        .filter(property -> name.equals(property.getCamundaName()))
+        .map(CamundaProperty::getCamundaValue)
+        .findFirst();
+  }
+
+  private static void logErrorVariables(DelegateExecution execution, String activityId, Exception e) {
     Map<String, Object> innerMap = new HashMap<>();
     innerMap.put("message", e.getCause() == null ? e.getMessage() : e.getCause().getMessage());
     innerMap.put("activityInstId", execution.getActivityInstanceId());
-    innerMap.put("activityId", activity.getId());
+    innerMap.put("activityId", activityId);
     ObjectValue objectValue =
-        Variables.objectValue(innerMap).serializationDataFormat(Variables.SerializationDataFormats.JSON).create();
+        Variables.objectValue(innerMap).serializationDataFormat(objectVariablesFormat()).create();
     execution.getProcessEngineServices()
         .getRuntimeService()
         .setVariable(execution.getId(), ActivityExecutorContext.ERROR, objectValue);
   }
 
+  // JSON unless the binary format is enabled (see SmileVariablesPlugin)
+  private static String objectVariablesFormat() {
+    ProcessEngineConfigurationImpl configuration = Context.getProcessEngineConfiguration();
+    if (configuration != null && SmileObjectValueSerializer.SERIALIZATION_DATA_FORMAT.equals(
+        configuration.getDefaultSerializationFormat())) {
+      return SmileObjectValueSerializer.SERIALIZATION_DATA_FORMAT;
+    }
+    return Variables.SerializationDataFormats.JSON.getName();
+  }
+
   private void setMdc(DelegateExecution execution) {
     MDC.put(MDC_PROCESS_ID, execution.getProcessInstanceId());
     MDC.put(MDC_ACTIVITY_ID, execution.getActivityInstanceId());
@@ -153,53 +337,91 @@ public class CamundaExecutor implements JavaDelegate {
     MDC.remove(MDC_ACTIVITY_ID);
   }
 
+  private static void storeOutputs(DelegateExecution execution, String activityId, ActivityTemplate template,
+      Map<String, Object> variables, BlobStore blobStore) {
+    Map<String, Object> innerMap = new HashMap<>(variables);
+
+    Map<String, Object> outer = new HashMap<>();
+    outer.put(ActivityExecutorContext.OUTPUTS, innerMap);
+    ObjectValue objectValue = outputValue(execution, outer, blobStore);
+
+    // flatten outputs referenced by name (for message correlation), the others are only in the activity variable
+    Map<String, Object> flattenOutputs = new HashMap<>();
+
+    for (Map.Entry<String, Object> entry : innerMap.entrySet()) {
+      if (!template.isFlattenedOutput(entry.getKey())) {
+        continue;
+      }
+      // value might not implement serializable or be a collection with non-serializable items, we use JSON if needed
+      if (entry.getValue() instanceof Serializable && !(entry.getValue() instanceof Collection)) {
+        flattenOutputs.put(entry.getKey(), entry.getValue());
+      } else {
+        flattenOutputs.put(entry.getKey(), outputValue(execution, entry.getValue(), blobStore));
+      }
+    }
+
+    execution.setVariable(activityId, objectValue);
+    flattenOutputs.forEach((key, value) -> execution.setVariable(
+        String.format("%s.%s.%s", activityId, ActivityExecutorContext.OUTPUTS, key), value));
+  }
+
+  // large outputs (HTTP responses, lists of rooms or messages...) are kept out of the database if enabled
+  private static ObjectValue outputValue(DelegateExecution execution, Object value, BlobStore blobStore) {
+    if (blobStore.isEnabled()) {
+      return blobStore.objectValue(execution.getProcessInstanceId(), value);
+    }
+    return Variables.objectValue(value).serializationDataFormat(objectVariablesFormat()).create();
+  }
+
+  /**
+   * Outcome of an asynchronous activity, passed when signaling its execution.
+   */
+  @Getter
+  @RequiredArgsConstructor
+  private static class AsyncCompletion {
+    private final Map<String, Object> outputs;
+    private final Exception error;
+  }
+
   private static class CamundaActivityExecutorContext<T extends BaseActivity> implements ActivityExecutorContext<T> {
     private final DelegateExecution execution;
     private final T activity;
     private final EventHolder<Object> event;
+    private final ActivityTemplate template;
     private final ResourceProvider resourceLoader;
     private final BdkGateway bdk;
     private final SharedDataStore sharedDataStore;
     private final SecretKeeper secretKeeper;
+    private final BlobStore blobStore;
+    // outputs of asynchronous activities, stored once the execution is resumed
+    private Map<String, Object> deferredOutputs;
 
     public CamundaActivityExecutorContext(DelegateExecution execution, T activity, EventHolder<Object> event,
-        ResourceProvider resourceLoader, BdkGateway bdk, SharedDataStore sharedDataStore, SecretKeeper secretKeeper) {
+        ActivityTemplate template, ResourceProvider resourceLoader, BdkGateway bdk, SharedDataStore sharedDataStore,
+        SecretKeeper secretKeeper, BlobStore blobStore) {
       this.execution = execution;
       this.activity = activity;
       this.event = event;
+      this.template = template;
       this.resourceLoader = resourceLoader;
       this.bdk = bdk;
       this.sharedDataStore = sharedDataStore;
       this.secretKeeper = secretKeeper;
+      this.blobStore = blobStore;
+    }
+
+    Map<String, Object> deferOutputs() {
+      deferredOutputs = Collections.synchronizedMap(new HashMap<>());
+      return deferredOutputs;
     }
 
     @Override
     public void setOutputVariables(Map<String, Object> variables) {
-      Map<String, Object> innerMap = new HashMap<>(variables);
-      String activityId = getActivity().getId();
-
-      Map<String, Object> outer = new HashMap<>();
-      outer.put(ActivityExecutorContext.OUTPUTS, innerMap);
-      ObjectValue objectValue =
-          Variables.objectValue(outer).serializationDataFormat(Variables.SerializationDataFormats.JSON).create();
-
-      // flatten outputs for message correlation
-      Map<String, Object> flattenOutputs = new HashMap<>();
-
-      for (Map.Entry<String, Object> entry : innerMap.entrySet()) {
-        // value might not implement serializable or be a collection with non-serializable items, we use JSON if needed
-        if (entry.getValue() instanceof Serializable && !(entry.getValue() instanceof Collection)) {
-          flattenOutputs.put(entry.getKey(), entry.getValue());
-        } else {
-          flattenOutputs.put(entry.getKey(), Variables.objectValue(entry.getValue())
-              .serializationDataFormat(Variables.SerializationDataFormats.JSON)
-              .create());
-        }
+      if (deferredOutputs != null) {
+        deferredOutputs.putAll(variables);
+      } else {
+        storeOutputs(execution, getActivity().getId(), template, variables, blobStore);
       }
-
-      execution.setVariable(activityId, objectValue);
-      flattenOutputs.forEach((key, value) -> execution.setVariable(
-          String.format("%s.%s.%s", activityId, ActivityExecutorContext.OUTPUTS, key), value));
     }
 
     @Override
@@ -211,7 +433,7 @@ public class CamundaExecutor implements JavaDelegate {
 
     @Override
     public Map<String, Object> getVariables() {
-      return Map.copyOf(execution.getVariables());
+      return new LazyVariablesMap(execution);
     }
 
     @Override
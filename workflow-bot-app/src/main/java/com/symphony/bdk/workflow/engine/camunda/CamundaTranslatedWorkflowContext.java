@@ -13,9 +13,30 @@ import org.camunda.bpm.model.bpmn.BpmnModelInstance;
 public class CamundaTranslatedWorkflowContext extends TranslatedWorkflowContext {
   private final BpmnModelInstance bpmnModelInstance;
 
+  /**
+   * Hash of the workflow definition, the same workflow being translated to the same hash.
+   */
+  private final String hash;
+
+  /**
+   * The deployment of the same workflow, its translation being reused, null if the workflow has to be deployed.
+   */
+  private final String deploymentId;
+
   public CamundaTranslatedWorkflowContext(Workflow workflow, WorkflowDirectedGraph workflowDirectedGraph,
       BpmnModelInstance instance) {
+    this(workflow, workflowDirectedGraph, instance, null, null);
+  }
+
+  public CamundaTranslatedWorkflowContext(Workflow workflow, WorkflowDirectedGraph workflowDirectedGraph,
+      BpmnModelInstance instance, String hash, String deploymentId) {
     super(workflow, workflowDirectedGraph);
     this.bpmnModelInstance = instance;
+    this.hash = hash;
+    this.deploymentId = deploymentId;
+  }
+
+  public boolean isDeployed() {
+    return deploymentId != null;
   }
 }
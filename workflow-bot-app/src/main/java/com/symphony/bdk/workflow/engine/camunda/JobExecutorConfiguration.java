@@ -0,0 +1,43 @@
+package com.symphony.bdk.workflow.engine.camunda;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+
+/**
+ * Replaces the thread pool running Camunda jobs (activities are executed as jobs since they are all asynchronous
+ * continuations) with a virtual thread per job, limited in number. Activities mostly wait for remote calls so they do
+ * not need to be queued behind a small pool.
+ *
+ * <p>Virtual threads require Java 21, the application fails to start if enabled on an older JVM. When the limit is
+ * reached, the job acquisition waits for running jobs to complete instead of rejecting the acquired ones.</p>
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "wdk.properties.job-executor.virtual-threads", havingValue = "true")
+public class JobExecutorConfiguration {
+  // overrides the task executor of the Camunda Spring Boot starter, used by its job executor
+  public static final String CAMUNDA_TASK_EXECUTOR = "camundaTaskExecutor";
+
+  private static final int VIRTUAL_THREADS_MIN_JAVA_VERSION = 21;
+
+  @Bean(name = CAMUNDA_TASK_EXECUTOR)
+  public TaskExecutor camundaTaskExecutor(
+      @Value("${wdk.properties.job-executor.concurrency-limit:200}") int concurrencyLimit) {
+    int javaVersion = Runtime.version().feature();
+    if (javaVersion < VIRTUAL_THREADS_MIN_JAVA_VERSION) {
+      throw new IllegalStateException(String.format(
+          "wdk.properties.job-executor.virtual-threads requires Java %d or later, the bot is running on Java %d. "
+              + "Please remove this property or upgrade Java.", VIRTUAL_THREADS_MIN_JAVA_VERSION, javaVersion));
+    }
+    SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("camunda-job-");
+    taskExecutor.setVirtualThreads(true);
+    taskExecutor.setConcurrencyLimit(concurrencyLimit);
+    log.info("Camunda jobs are executed on virtual threads, up to {} at once", concurrencyLimit);
+    return taskExecutor;
+  }
+}
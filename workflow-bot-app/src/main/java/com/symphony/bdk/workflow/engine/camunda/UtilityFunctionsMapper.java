@@ -2,22 +2,26 @@ package com.symphony.bdk.workflow.engine.camunda;
 
 import com.symphony.bdk.core.service.message.exception.MessageParserException;
 import com.symphony.bdk.core.service.message.exception.PresentationMLParserException;
-import com.symphony.bdk.core.service.message.util.MessageParser;
 import com.symphony.bdk.core.service.message.util.PresentationMLParser;
 import com.symphony.bdk.core.service.session.SessionService;
 import com.symphony.bdk.gen.api.model.UserV2;
+import com.symphony.bdk.gen.api.model.V4Message;
 import com.symphony.bdk.gen.api.model.V4MessageSent;
 import com.symphony.bdk.workflow.engine.executor.EventHolder;
+import com.symphony.bdk.workflow.engine.executor.MessageAnalysis;
 import com.symphony.bdk.workflow.engine.executor.SecretKeeper;
 import com.symphony.bdk.workflow.engine.executor.SharedDataStore;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.io.JsonStringEncoder;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
 import org.camunda.bpm.impl.juel.jakarta.el.FunctionMapper;
 
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -27,6 +31,10 @@ import java.util.Map;
  * Utilities for EL evaluation by Camunda.
  */
 public class UtilityFunctionsMapper extends FunctionMapper {
+  // keys are compared by identity and weakly referenced: an analysis lives as long as the deserialized event it is for
+  private static final Cache<EventHolder<?>, MessageAnalysis> MESSAGE_ANALYSES =
+      Caffeine.newBuilder().weakKeys().build();
+
   private static SessionService staticSessionService;
 
   private static SharedDataStore sharedDataStore;
@@ -67,6 +75,12 @@ public class UtilityFunctionsMapper extends FunctionMapper {
   public static final String SESSION = "session";
   public static final String READSHARED = "readShared";
   public static final String WRITESHARED = "writeShared";
+  public static final String WRITESHAREDWITHTTL = "writeSharedWithTtl";
+  public static final String READALLSHARED = "readAllShared";
+  public static final String WRITEALLSHARED = "writeAllShared";
+  public static final String INCREMENTSHARED = "incrementShared";
+  public static final String COMPAREANDSETSHARED = "compareAndSetShared";
+  public static final String WRITESHAREDIFABSENT = "writeSharedIfAbsent";
   public static final String SECRET = "secret";
 
   private static final Map<String, Method> FUNCTION_MAP;
@@ -74,18 +88,30 @@ public class UtilityFunctionsMapper extends FunctionMapper {
 
   static {
     FUNCTION_MAP = new HashMap<>();
-    FUNCTION_MAP.put(TEXT, ReflectUtil.getMethod(UtilityFunctionsMapper.class, TEXT, String.class));
+    FUNCTION_MAP.put(TEXT, ReflectUtil.getMethod(UtilityFunctionsMapper.class, TEXT, Object.class));
     FUNCTION_MAP.put(JSON, ReflectUtil.getMethod(UtilityFunctionsMapper.class, JSON, String.class));
     FUNCTION_MAP.put(ESCAPE, ReflectUtil.getMethod(UtilityFunctionsMapper.class, ESCAPE, String.class));
     FUNCTION_MAP.put(MENTIONS, ReflectUtil.getMethod(UtilityFunctionsMapper.class, MENTIONS, Object.class));
     FUNCTION_MAP.put(HASHTAGS, ReflectUtil.getMethod(UtilityFunctionsMapper.class, HASHTAGS, Object.class));
     FUNCTION_MAP.put(CASHTAGS, ReflectUtil.getMethod(UtilityFunctionsMapper.class, CASHTAGS, Object.class));
-    FUNCTION_MAP.put(EMOJIS, ReflectUtil.getMethod(UtilityFunctionsMapper.class, ESCAPE, Object.class));
+    FUNCTION_MAP.put(EMOJIS, ReflectUtil.getMethod(UtilityFunctionsMapper.class, EMOJIS, Object.class));
     FUNCTION_MAP.put(SESSION, ReflectUtil.getMethod(UtilityFunctionsMapper.class, SESSION));
     FUNCTION_MAP.put(READSHARED,
         ReflectUtil.getMethod(UtilityFunctionsMapper.class, READSHARED, String.class, String.class));
     FUNCTION_MAP.put(WRITESHARED,
         ReflectUtil.getMethod(UtilityFunctionsMapper.class, WRITESHARED, String.class, String.class, Object.class));
+    FUNCTION_MAP.put(WRITESHAREDWITHTTL, ReflectUtil.getMethod(UtilityFunctionsMapper.class, WRITESHAREDWITHTTL,
+        String.class, String.class, Object.class, String.class));
+    FUNCTION_MAP.put(READALLSHARED,
+        ReflectUtil.getMethod(UtilityFunctionsMapper.class, READALLSHARED, String.class, List.class));
+    FUNCTION_MAP.put(WRITEALLSHARED,
+        ReflectUtil.getMethod(UtilityFunctionsMapper.class, WRITEALLSHARED, String.class, Map.class));
+    FUNCTION_MAP.put(INCREMENTSHARED,
+        ReflectUtil.getMethod(UtilityFunctionsMapper.class, INCREMENTSHARED, String.class, String.class, long.class));
+    FUNCTION_MAP.put(COMPAREANDSETSHARED, ReflectUtil.getMethod(UtilityFunctionsMapper.class, COMPAREANDSETSHARED,
+        String.class, String.class, Object.class, Object.class));
+    FUNCTION_MAP.put(WRITESHAREDIFABSENT, ReflectUtil.getMethod(UtilityFunctionsMapper.class, WRITESHAREDIFABSENT,
+        String.class, String.class, Object.class));
     FUNCTION_MAP.put(SECRET, ReflectUtil.getMethod(UtilityFunctionsMapper.class, SECRET, String.class));
   }
 
@@ -111,15 +137,51 @@ public class UtilityFunctionsMapper extends FunctionMapper {
   }
 
   public static Object readShared(String namespace, String key) {
-    return sharedDataStore.getNamespaceData(namespace).get(key);
+    return sharedDataStore.get(namespace, key);
   }
 
   public static void writeShared(String namespace, String key, Object data) {
     sharedDataStore.putNamespaceData(namespace, key, data);
   }
 
-  public static String text(String presentationMl) throws PresentationMLParserException {
-    return PresentationMLParser.getTextContent(presentationMl);
+  /**
+   * @param ttl ISO-8601 duration after which the key is removed, e.g. PT1H.
+   */
+  public static void writeSharedWithTtl(String namespace, String key, Object data, String ttl) {
+    sharedDataStore.putNamespaceData(namespace, key, data, Duration.parse(ttl));
+  }
+
+  public static Map<String, Object> readAllShared(String namespace, List<String> keys) {
+    return sharedDataStore.getAll(namespace, keys);
+  }
+
+  public static void writeAllShared(String namespace, Map<String, Object> data) {
+    sharedDataStore.putAll(namespace, data);
+  }
+
+  public static long incrementShared(String namespace, String key, long delta) {
+    return sharedDataStore.increment(namespace, key, delta);
+  }
+
+  public static boolean compareAndSetShared(String namespace, String key, Object expected, Object data) {
+    return sharedDataStore.compareAndSet(namespace, key, expected, data);
+  }
+
+  public static Object writeSharedIfAbsent(String namespace, String key, Object data) {
+    return sharedDataStore.putIfAbsent(namespace, key, data);
+  }
+
+  /**
+   * @param presentationMl PresentationML content or a message received event, the text of the latter is only parsed
+   *                       once.
+   */
+  public static String text(Object presentationMl) throws PresentationMLParserException {
+    V4Message message = receivedMessage(presentationMl);
+    if (message != null) {
+      return messageAnalysis(presentationMl).text(message);
+    }
+    // EL used to coerce the argument to a string
+    return PresentationMLParser.getTextContent(presentationMl == null ? "" : presentationMl.toString());
   }
 
   public static String escape(String s) {
@@ -129,39 +191,42 @@ public class UtilityFunctionsMapper extends FunctionMapper {
     return new String(JsonStringEncoder.getInstance().quoteAsString(s));
   }
 
-  @SuppressWarnings("rawtypes")
   public static List<Long> mentions(Object event) throws MessageParserException {
-    if (event instanceof EventHolder && ((EventHolder) event).getSource() instanceof V4MessageSent) {
-      return MessageParser.getMentions(((V4MessageSent) ((EventHolder) event).getSource()).getMessage());
-    } else {
-      return Collections.emptyList();
-    }
+    V4Message message = receivedMessage(event);
+    return message == null ? Collections.emptyList() : messageAnalysis(event).mentions(message);
   }
 
-  @SuppressWarnings("rawtypes")
   public static List<String> hashTags(Object event) throws MessageParserException {
-    if (event instanceof EventHolder && ((EventHolder) event).getSource() instanceof V4MessageSent) {
-      return MessageParser.getHashtags(((V4MessageSent) ((EventHolder) event).getSource()).getMessage());
-    } else {
-      return Collections.emptyList();
-    }
+    V4Message message = receivedMessage(event);
+    return message == null ? Collections.emptyList() : messageAnalysis(event).hashTags(message);
   }
 
-  @SuppressWarnings("rawtypes")
   public static List<String> cashTags(Object event) throws MessageParserException {
-    if (event instanceof EventHolder && ((EventHolder) event).getSource() instanceof V4MessageSent) {
-      return MessageParser.getCashtags(((V4MessageSent) ((EventHolder) event).getSource()).getMessage());
-    } else {
-      return Collections.emptyList();
-    }
+    V4Message message = receivedMessage(event);
+    return message == null ? Collections.emptyList() : messageAnalysis(event).cashTags(message);
   }
 
-  @SuppressWarnings("rawtypes")
   public static Map<String, String> emojis(Object event) throws MessageParserException {
+    V4Message message = receivedMessage(event);
+    return message == null ? Collections.emptyMap() : messageAnalysis(event).emojis(message);
+  }
+
+  @SuppressWarnings("rawtypes")
+  private static V4Message receivedMessage(Object event) {
     if (event instanceof EventHolder && ((EventHolder) event).getSource() instanceof V4MessageSent) {
-      return MessageParser.getEmojis(((V4MessageSent) ((EventHolder) event).getSource()).getMessage());
-    } else {
-      return Collections.emptyMap();
+      return ((V4MessageSent) ((EventHolder) event).getSource()).getMessage();
     }
+    return null;
+  }
+
+  /**
+   * The analysis stored with the event, holding the text parsed when the event was dispatched, is never modified: the
+   * stored event would be rewritten otherwise. The other parts are parsed in a copy kept along with the deserialized
+   * event, i.e. for the current command, and parsed again by the following ones. Events stored before the analysis
+   * was introduced are entirely parsed again.
+   */
+  private static MessageAnalysis messageAnalysis(Object event) {
+    return MESSAGE_ANALYSES.get((EventHolder<?>) event, eventHolder -> eventHolder.getMessageAnalysis() == null
+        ? new MessageAnalysis() : eventHolder.getMessageAnalysis().copy());
   }
 }
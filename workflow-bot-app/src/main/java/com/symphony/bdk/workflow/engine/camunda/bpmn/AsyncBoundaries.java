@@ -0,0 +1,52 @@
+package com.symphony.bdk.workflow.engine.camunda.bpmn;
+
+import com.symphony.bdk.workflow.engine.WorkflowDirectedGraph;
+import com.symphony.bdk.workflow.engine.WorkflowDirectedGraph.NodeChildren;
+import com.symphony.bdk.workflow.engine.WorkflowNode;
+import com.symphony.bdk.workflow.engine.WorkflowNodeType;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Decides where an activity must be followed by an asynchronous continuation when activities are chained
+ * synchronously, i.e. when consecutive activities run in the same job and transaction.
+ *
+ * <p>An activity is chained with its next ones only if they are all plain activities, run one after the other. The
+ * boundary is kept before joins and parallel branches (so that branches run and are retried on their own), before
+ * error and timeout handlers, before merges (activities with several parents, that includes loops which would
+ * otherwise never commit) and after activities marked as checkpoints. Events are wait states, they are asynchronous
+ * already.</p>
+ */
+@UtilityClass
+public class AsyncBoundaries {
+
+  /**
+   * @return true if the activity node must be committed in its own transaction once completed.
+   */
+  public static boolean isRequiredAfter(WorkflowDirectedGraph graph, String activityNodeId) {
+    WorkflowNode node = graph.readWorkflowNode(activityNodeId);
+    if (node == null || node.getActivity() == null || Boolean.TRUE.equals(node.getActivity().getCheckpoint())) {
+      return true;
+    }
+
+    NodeChildren children = graph.readChildren(activityNodeId);
+    if (children == null || children.isEmpty()) {
+      // the workflow ends with the activity
+      return false;
+    }
+    if (children.getGateway() == WorkflowDirectedGraph.Gateway.PARALLEL) {
+      return true;
+    }
+    return !children.getChildren().stream().allMatch(childId -> isChainable(graph, childId));
+  }
+
+  private static boolean isChainable(WorkflowDirectedGraph graph, String nodeId) {
+    WorkflowNode node = graph.readWorkflowNode(nodeId);
+    if (node == null || node.getActivity() == null) {
+      return false;
+    }
+    boolean plainActivity = node.getElementType() == WorkflowNodeType.ACTIVITY
+        || node.getElementType() == WorkflowNodeType.ACTIVITY_COMPLETED_EVENT;
+    return plainActivity && graph.getParents(nodeId).size() <= 1;
+  }
+}
@@ -51,9 +51,24 @@ public class BuildProcessContext {
    */
   private final ProcessBuilder processBuilder;
 
-  public BuildProcessContext(WorkflowDirectedGraph workflowGraph, ProcessBuilder process) {
+  /**
+   * When enabled, consecutive activities run in the same transaction, see {@link AsyncBoundaries}.
+   */
+  private final boolean synchronousChaining;
+
+  public BuildProcessContext(WorkflowDirectedGraph workflowGraph, ProcessBuilder process,
+      boolean synchronousChaining) {
     this.workflowGraph = workflowGraph;
     this.processBuilder = process;
+    this.synchronousChaining = synchronousChaining;
+  }
+
+  /**
+   * @return true if the activity must be followed by an asynchronous continuation, i.e. committed in its own
+   *     transaction once completed.
+   */
+  public boolean isAsyncAfter(String activityId) {
+    return !synchronousChaining || AsyncBoundaries.isRequiredAfter(workflowGraph, activityId);
   }
 
   public void addLastNodeBuilder(AbstractFlowNodeBuilder<?, ?> builder) {
@@ -1,6 +1,7 @@
 package com.symphony.bdk.workflow.engine.camunda.bpmn;
 
 import com.symphony.bdk.core.service.session.SessionService;
+import com.symphony.bdk.gen.api.model.UserV2;
 import com.symphony.bdk.workflow.engine.WorkflowDirectGraphBuilder;
 import com.symphony.bdk.workflow.engine.WorkflowDirectedGraph;
 import com.symphony.bdk.workflow.engine.WorkflowDirectedGraph.NodeChildren;
@@ -10,35 +11,61 @@ import com.symphony.bdk.workflow.engine.camunda.CamundaExecutor;
 import com.symphony.bdk.workflow.engine.camunda.CamundaTranslatedWorkflowContext;
 import com.symphony.bdk.workflow.engine.camunda.WorkflowDirectedGraphService;
 import com.symphony.bdk.workflow.engine.camunda.bpmn.builder.WorkflowNodeBpmnBuilderRegistry;
+import com.symphony.bdk.workflow.engine.camunda.variable.ReceivedEventListener;
 import com.symphony.bdk.workflow.engine.camunda.variable.VariablesListener;
+import com.symphony.bdk.workflow.engine.executor.ActivityExecutorContext;
+import com.symphony.bdk.workflow.engine.handler.HistoryLevelDbEventHandler;
 import com.symphony.bdk.workflow.swadl.v1.Activity;
+import com.symphony.bdk.workflow.swadl.v1.History;
 import com.symphony.bdk.workflow.swadl.v1.Workflow;
-import com.symphony.bdk.workflow.swadl.v1.activity.BaseActivity;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.delegate.ExecutionListener;
 import org.camunda.bpm.engine.repository.Deployment;
 import org.camunda.bpm.engine.repository.DeploymentBuilder;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.model.bpmn.Bpmn;
 import org.camunda.bpm.model.bpmn.BpmnModelInstance;
 import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
 import org.camunda.bpm.model.bpmn.builder.ExclusiveGatewayBuilder;
 import org.camunda.bpm.model.bpmn.builder.ProcessBuilder;
 import org.camunda.bpm.model.bpmn.builder.SubProcessBuilder;
-import org.camunda.bpm.model.bpmn.instance.camunda.CamundaEntry;
+import org.camunda.bpm.model.bpmn.instance.BaseElement;
+import org.camunda.bpm.model.bpmn.instance.CatchEvent;
+import org.camunda.bpm.model.bpmn.instance.ExtensionElements;
+import org.camunda.bpm.model.bpmn.instance.MessageEventDefinition;
+import org.camunda.bpm.model.bpmn.instance.Process;
+import org.camunda.bpm.model.bpmn.instance.SignalEventDefinition;
 import org.camunda.bpm.model.bpmn.instance.camunda.CamundaInputOutput;
 import org.camunda.bpm.model.bpmn.instance.camunda.CamundaInputParameter;
-import org.camunda.bpm.model.bpmn.instance.camunda.CamundaMap;
+import org.camunda.bpm.model.bpmn.instance.camunda.CamundaProperties;
+import org.camunda.bpm.model.bpmn.instance.camunda.CamundaProperty;
 import org.camunda.bpm.model.xml.ModelValidationException;
+import org.camunda.bpm.model.xml.instance.ModelElementInstance;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.symphony.bdk.workflow.engine.camunda.bpmn.BpmnBuilderHelper.hasActivitiesOnly;
 import static com.symphony.bdk.workflow.engine.camunda.bpmn.BpmnBuilderHelper.hasAllConditionalChildren;
@@ -48,12 +75,16 @@ import static com.symphony.bdk.workflow.engine.camunda.bpmn.BpmnBuilderHelper.ha
 /**
  * Events are created with async before to make sure they are not blocking the dispatch of events (starting or
  * intermediate). This way, 2 workflows listening to the same event are started in parallel
+ *
+ * <p>Activities are created with async after, each one is run in its own job. With synchronous chaining enabled,
+ * consecutive activities are run in the same job instead, the async boundaries being kept only where needed
+ * (see {@link AsyncBoundaries}).</p>
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class CamundaBpmnBuilder {
   public static final String DEPLOYMENT_RESOURCE_TOKEN_KEY = "WORKFLOW_TOKEN";
+  public static final String DEPLOYMENT_RESOURCE_HASH_KEY = "WORKFLOW_HASH";
   public static final String EXCLUSIVE_GATEWAY_SUFFIX = "_exclusive_gateway";
   public static final String EVENT_GATEWAY_SUFFIX = "_event_gateway";
   public static final String FORK_GATEWAY = "_fork_gateway";
@@ -62,10 +93,61 @@ public class CamundaBpmnBuilder {
   private final WorkflowNodeBpmnBuilderRegistry builderFactory;
   private final SessionService sessionService;
   private final WorkflowDirectedGraphService directedGraphService;
+  private final boolean synchronousChaining;
+  private final Optional<String> wdkVersion;
+
+  public CamundaBpmnBuilder(RepositoryService repositoryService, WorkflowNodeBpmnBuilderRegistry builderFactory,
+      SessionService sessionService, WorkflowDirectedGraphService directedGraphService,
+      @Value("${wdk.properties.synchronous-chaining:false}") boolean synchronousChaining,
+      @Value("${version:}") String version) {
+    this.repositoryService = repositoryService;
+    this.builderFactory = builderFactory;
+    this.sessionService = sessionService;
+    this.directedGraphService = directedGraphService;
+    this.synchronousChaining = synchronousChaining;
+    this.wdkVersion = wdkVersion(version);
+    if (wdkVersion.isEmpty()) {
+      log.warn("The WDK version is unknown, workflows are translated again on each deployment");
+    }
+  }
+
+  /**
+   * The version is filtered in the application properties at build time, the one of the jar manifest is used if they
+   * are not, e.g. when running from an IDE.
+   */
+  private static Optional<String> wdkVersion(String version) {
+    return Stream.of(version, CamundaBpmnBuilder.class.getPackage().getImplementationVersion())
+        .filter(StringUtils::isNotBlank)
+        .filter(v -> !v.startsWith("@"))
+        .findFirst();
+  }
+
+  /**
+   * @return the display name of the bot, that commands can mention.
+   */
+  public String botName() {
+    return Optional.ofNullable(sessionService.getSession()).map(UserV2::getDisplayName).orElse("");
+  }
 
   public CamundaTranslatedWorkflowContext translateWorkflow(Workflow workflow)
       throws JsonProcessingException, ModelValidationException {
-    CamundaTranslatedWorkflowContext context = workflowToBpmn(workflow);
+    return translateWorkflow(workflow, botName());
+  }
+
+  /**
+   * @param botName the display name of the bot, resolved once by the caller when translating several workflows.
+   */
+  public CamundaTranslatedWorkflowContext translateWorkflow(Workflow workflow, String botName)
+      throws JsonProcessingException, ModelValidationException {
+    String hash = hash(workflow, botName);
+    Optional<CamundaTranslatedWorkflowContext> deployed =
+        hash == null ? Optional.empty() : findDeployed(workflow, hash, botName);
+    if (deployed.isPresent()) {
+      log.debug("workflow [{}] is unchanged, reusing deployment [{}]", workflow.getId(),
+          deployed.get().getDeploymentId());
+      return deployed.get();
+    }
+    CamundaTranslatedWorkflowContext context = workflowToBpmn(workflow, hash, botName);
     try {
       Bpmn.validateModel(context.getBpmnModelInstance());
       log.debug("workflow [{}] has been successfully validated.", workflow.getId());
@@ -78,16 +160,103 @@ public class CamundaBpmnBuilder {
     }
   }
 
+  /**
+   * @return the deployment of the workflow if its translation is reused, a new one otherwise.
+   */
   public Deployment deployWorkflow(CamundaTranslatedWorkflowContext context) {
     Workflow workflow = context.getWorkflow();
+    directedGraphService.putDirectedGraph(context.getWorkflowDirectedGraph());
+    if (context.isDeployed()) {
+      Deployment deployment =
+          repositoryService.createDeploymentQuery().deploymentId(context.getDeploymentId()).singleResult();
+      if (deployment != null) {
+        return deployment;
+      }
+      // undeployed since it was translated, its translation is deployed again
+    }
     BpmnModelInstance instance = context.getBpmnModelInstance();
     DeploymentBuilder deploymentBuilder = repositoryService.createDeployment()
         .name(workflow.getId())
         .addModelInstance(workflow.getId() + ".bpmn", instance);
-    directedGraphService.putDirectedGraph(context.getWorkflowDirectedGraph());
+    Optional.ofNullable(context.getHash())
+        .ifPresent(hash -> deploymentBuilder.addString(DEPLOYMENT_RESOURCE_HASH_KEY, hash));
     return setWorkflowTokenIfExists(deploymentBuilder, workflow).deploy();
   }
 
+  /**
+   * The BPMN generated for a workflow is not the same from one translation to another (generated element ids), the
+   * hash of the workflow is stored with its deployment instead. Only the latest deployment of a workflow is reused,
+   * as Camunda starts the latest version of a process.
+   */
+  private Optional<CamundaTranslatedWorkflowContext> findDeployed(Workflow workflow, String hash, String botName) {
+    List<Deployment> latest = repositoryService.createDeploymentQuery()
+        .deploymentName(workflow.getId())
+        .orderByDeploymentTime()
+        .desc()
+        .listPage(0, 1);
+    if (latest.isEmpty()) {
+      return Optional.empty();
+    }
+    String deploymentId = latest.get(0).getId();
+    if (!repositoryService.getDeploymentResourceNames(deploymentId).contains(DEPLOYMENT_RESOURCE_HASH_KEY)) {
+      return Optional.empty();
+    }
+    try (InputStream deployedHash = repositoryService.getResourceAsStream(deploymentId,
+        DEPLOYMENT_RESOURCE_HASH_KEY)) {
+      if (!hash.equals(new String(deployedHash.readAllBytes(), StandardCharsets.UTF_8))) {
+        return Optional.empty();
+      }
+    } catch (IOException e) {
+      log.warn("Failed to read the hash of deployment [{}], it is not reused", deploymentId, e);
+      return Optional.empty();
+    }
+    ProcessDefinition definition =
+        repositoryService.createProcessDefinitionQuery().deploymentId(deploymentId).singleResult();
+    if (definition == null) {
+      return Optional.empty();
+    }
+    // parsed BPMN models are cached by Camunda
+    BpmnModelInstance instance = repositoryService.getBpmnModelInstance(definition.getId());
+    WorkflowDirectedGraph workflowDirectedGraph = new WorkflowDirectGraphBuilder(workflow, botName).build();
+    return Optional.of(
+        new CamundaTranslatedWorkflowContext(workflow, workflowDirectedGraph, instance, hash, deploymentId));
+  }
+
+  /**
+   * Hashes what the translation depends on: the workflow, as serialized in the BPMN, with its map keys sorted, the
+   * translation options, the bot name that commands can mention and the WDK version.
+   *
+   * @return the hash, null if the WDK version is unknown: the translation cannot be reused then.
+   */
+  private String hash(Workflow workflow, String botName) throws JsonProcessingException {
+    if (wdkVersion.isEmpty()) {
+      return null;
+    }
+    Map<String, Object> definition = new LinkedHashMap<>();
+    definition.put("id", workflow.getId());
+    definition.put("version", workflow.getVersion());
+    definition.put("properties", workflow.getProperties());
+    definition.put("variables", workflow.getVariables());
+    List<Map<String, Object>> activities = new ArrayList<>();
+    for (Activity activity : workflow.getActivities()) {
+      activities.add(Map.of("type", activity.getActivity().getClass().getName(), "activity", activity.getActivity()));
+    }
+    definition.put("activities", activities);
+    definition.put("synchronous-chaining", synchronousChaining);
+    definition.put("bot-name", botName);
+    definition.put("wdk-version", wdkVersion.get());
+
+    Object tree = CamundaExecutor.OBJECT_MAPPER.convertValue(definition, Object.class);
+    byte[] json = CamundaExecutor.OBJECT_MAPPER.writer()
+        .with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+        .writeValueAsBytes(tree);
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
   private DeploymentBuilder setWorkflowTokenIfExists(DeploymentBuilder deploymentBuilder, Workflow workflow) {
     workflow.getActivities().forEach(activity -> {
       Optional<String> token = activity.getEvents()
@@ -103,61 +272,128 @@ public class CamundaBpmnBuilder {
     return deploymentBuilder;
   }
 
-  private CamundaTranslatedWorkflowContext workflowToBpmn(Workflow workflow) throws JsonProcessingException {
+  private CamundaTranslatedWorkflowContext workflowToBpmn(Workflow workflow, String hash, String botName)
+      throws JsonProcessingException {
     // spaces are not supported in BPMN here
     String processId = workflow.getId().replaceAll("\\s+", "");
     ProcessBuilder process = Bpmn.createExecutableProcess(processId).name(workflow.getId());
     Optional.ofNullable(workflow.getVersion()).ifPresent(v -> process.camundaVersionTag(String.valueOf(v)));
 
-    WorkflowDirectedGraph workflowDirectedGraph = new WorkflowDirectGraphBuilder(workflow, sessionService).build();
-    BuildProcessContext context = new BuildProcessContext(workflowDirectedGraph, process);
+    WorkflowDirectedGraph workflowDirectedGraph = new WorkflowDirectGraphBuilder(workflow, botName).build();
+    BuildProcessContext context = new BuildProcessContext(workflowDirectedGraph, process, synchronousChaining);
     buildWorkflowInDfs(new NodeChildren(context.getStartEvents()), "", context);
     AbstractFlowNodeBuilder<?, ?> builder = closeUpSubProcessesIfAny(context, context.getLastNodeBuilder());
 
     BpmnModelInstance instance = builder.done();
     process.addExtensionElement(VariablesListener.create(instance, workflow.getVariables()));
-    injectActivityDefAsInput(instance, workflow.getActivities());
-    return new CamundaTranslatedWorkflowContext(workflow, workflowDirectedGraph, instance);
+    addHistoryProperty(instance, processId, workflow.getProperties().getHistory());
+    Map<String, String> activityDefinitions = serializeActivities(workflow);
+    List<String> definitions = new ArrayList<>(activityDefinitions.values());
+    definitions.add(CamundaExecutor.OBJECT_MAPPER.writeValueAsString(workflow.getVariables()));
+    injectActivityDefAsProperty(instance, workflow, activityDefinitions, definitions);
+    handleReceivedEvents(instance, workflow, workflowDirectedGraph, definitions);
+    return new CamundaTranslatedWorkflowContext(workflow, workflowDirectedGraph, instance, hash, null);
+  }
+
+  private static Map<String, String> serializeActivities(Workflow workflow) throws JsonProcessingException {
+    // script tasks have no serialized definition, but their scripts can reference outputs too
+    Map<String, String> activityDefinitions = new LinkedHashMap<>();
+    for (Activity activity : workflow.getActivities()) {
+      activityDefinitions.put(activity.getActivity().getId(),
+          CamundaExecutor.OBJECT_MAPPER.writeValueAsString(activity.getActivity()));
+    }
+    return activityDefinitions;
+  }
+
+  /**
+   * The events received by signal or message events are stored under their ids as the instance leaves the receiving
+   * event, i.e. once the received event is stored in the execution. The listener doing it also declares the fields of
+   * the events referenced by the workflow (see {@link ReferencedEventPaths}), events are projected on them when
+   * dispatched.
+   */
+  private static void handleReceivedEvents(BpmnModelInstance instance, Workflow workflow,
+      WorkflowDirectedGraph workflowDirectedGraph, List<String> definitions) {
+    Set<String> eventVariables = workflowDirectedGraph.getDictionary().values().stream()
+        .filter(node -> node.getEvent() != null && node.getEventId() != null)
+        .map(WorkflowNode::getEventId)
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+    eventVariables.add(ActivityExecutorContext.EVENT);
+    Optional<Set<String>> eventPaths = ReferencedEventPaths.of(workflow, eventVariables, definitions);
+
+    // the catch events are named after the ids of the events they receive
+    for (CatchEvent catchEvent : instance.getModelElementsByType(CatchEvent.class)) {
+      boolean receivesEvent = catchEvent.getEventDefinitions().stream()
+          .anyMatch(definition -> definition instanceof SignalEventDefinition
+              || definition instanceof MessageEventDefinition);
+      if (receivesEvent) {
+        addExtensionElement(instance, catchEvent, ReceivedEventListener.create(instance,
+            ExecutionListener.EVENTNAME_END, catchEvent.getName(), eventPaths));
+      }
+    }
+  }
+
+  /**
+   * The history level is read back from the deployed process definition (see {@link HistoryLevelDbEventHandler}), so
+   * that running instances keep the level of the version they were started with.
+   */
+  private static void addHistoryProperty(BpmnModelInstance instance, String processId, History history) {
+    CamundaProperty historyProperty = instance.newInstance(CamundaProperty.class);
+    historyProperty.setCamundaName(HistoryLevelDbEventHandler.HISTORY_PROPERTY);
+    historyProperty.setCamundaValue(history.name());
+    CamundaProperties properties = instance.newInstance(CamundaProperties.class);
+    properties.getCamundaProperties().add(historyProperty);
+    addExtensionElement(instance, instance.<Process>getModelElementById(processId), properties);
+  }
+
+  private static void addExtensionElement(BpmnModelInstance instance, BaseElement element,
+      ModelElementInstance extensionElement) {
+    if (element.getExtensionElements() == null) {
+      element.setExtensionElements(instance.newInstance(ExtensionElements.class));
+    }
+    element.getExtensionElements().addChildElement(extensionElement);
   }
 
   /**
-   * Fix bug where the activity definition contains a variable, which could be resolved, during the workflow process,
-   * with a big size exceeding the Camunda DB text size limit. The fix is to make the activity definition an map object
-   * as the input parameter, instead of a simple string previously. An object parameter variable is stored in bytearray
-   * table as BLOB type, while a string has a limit of 4000 characters.
+   * Store the activity definition as a property of the task. It is not resolved by Camunda as an input parameter
+   * anymore: {@link CamundaExecutor} parses it once and only evaluates its expressions, without storing the resolved
+   * definition as a variable (which could exceed the Camunda DB text size limit).
+   *
+   * <p>The output keys of the activity that are referenced by name in the workflow are stored along with it, so that
+   * only those are flattened as variables when the activity completes (see {@link ReferencedOutputs}).</p>
    *
-   * @param instance   the bpmn model instance being built
-   * @param activities the swadl activity list
-   * @throws JsonProcessingException json serialisation exception
+   * @param instance            the bpmn model instance being built
+   * @param workflow            the swadl workflow
+   * @param activityDefinitions serialized activities by id
+   * @param definitions         serialized activities and variables, where expressions are looked up
    */
-  private void injectActivityDefAsInput(BpmnModelInstance instance, List<Activity> activities)
-      throws JsonProcessingException {
-    Map<String, BaseActivity> activityMap =
-        activities.stream().collect(Collectors.toMap(a -> a.getActivity().getId(), Activity::getActivity));
+  private void injectActivityDefAsProperty(BpmnModelInstance instance, Workflow workflow,
+      Map<String, String> activityDefinitions, List<String> definitions) {
+    Map<String, Set<String>> referencedOutputs = ReferencedOutputs.of(workflow, definitions);
 
     Collection<CamundaInputOutput> activityInputOutputElements =
         instance.getModelElementsByType(CamundaInputOutput.class);
     for (CamundaInputOutput inputOutput : activityInputOutputElements) {
-      CamundaInputParameter activityNameInputParam = extractActivityNameInputParam(inputOutput);
-      addSerialisedActivityInputParam(instance, inputOutput, activityNameInputParam, activityMap);
+      String activityName = extractActivityNameInputParam(inputOutput).getTextContent();
+      addSerialisedActivityProperties(instance, inputOutput, activityDefinitions.get(activityName),
+          referencedOutputs.getOrDefault(activityName, Collections.emptySet()));
     }
   }
 
-  private void addSerialisedActivityInputParam(BpmnModelInstance instance, CamundaInputOutput inputOutput,
-      CamundaInputParameter activityNameInputParam, Map<String, BaseActivity> activityMap)
-      throws JsonProcessingException {
-    CamundaMap map = instance.newInstance(CamundaMap.class);
-    CamundaEntry entry = instance.newInstance(CamundaEntry.class);
-
-    String activityName = activityNameInputParam.getTextContent();
-    entry.setCamundaKey(activityName);
-    entry.setTextContent(CamundaExecutor.OBJECT_MAPPER.writeValueAsString(activityMap.get(activityName)));
-    map.getCamundaEntries().add(entry);
-
-    CamundaInputParameter inputParameter = instance.newInstance(CamundaInputParameter.class);
-    inputParameter.setCamundaName(CamundaExecutor.SERIALISED_ACTIVITY);
-    inputParameter.setValue(map);
-    inputOutput.addChildElement(inputParameter);
+  private void addSerialisedActivityProperties(BpmnModelInstance instance, CamundaInputOutput inputOutput,
+      String activityDefinition, Set<String> referencedOutputs) {
+    CamundaProperty definitionProperty = instance.newInstance(CamundaProperty.class);
+    definitionProperty.setCamundaName(CamundaExecutor.SERIALISED_ACTIVITY);
+    definitionProperty.setCamundaValue(activityDefinition);
+
+    CamundaProperty outputsProperty = instance.newInstance(CamundaProperty.class);
+    outputsProperty.setCamundaName(CamundaExecutor.FLATTENED_OUTPUTS);
+    outputsProperty.setCamundaValue(String.join(CamundaExecutor.FLATTENED_OUTPUTS_SEPARATOR, referencedOutputs));
+
+    ExtensionElements extensionElements = (ExtensionElements) inputOutput.getParentElement();
+    Collection<CamundaProperty> properties =
+        extensionElements.addExtensionElement(CamundaProperties.class).getCamundaProperties();
+    properties.add(definitionProperty);
+    properties.add(outputsProperty);
   }
 
   private static CamundaInputParameter extractActivityNameInputParam(CamundaInputOutput inputOutput) {
@@ -0,0 +1,102 @@
+package com.symphony.bdk.workflow.engine.camunda.bpmn;
+
+import com.symphony.bdk.workflow.swadl.v1.Activity;
+import com.symphony.bdk.workflow.swadl.v1.Workflow;
+import com.symphony.bdk.workflow.swadl.v1.activity.BaseActivity;
+import com.symphony.bdk.workflow.swadl.v1.activity.ExecuteScript;
+import com.symphony.bdk.workflow.swadl.v1.activity.message.SendMessage;
+import com.symphony.bdk.workflow.swadl.v1.activity.message.UpdateMessage;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Finds the fields of the events that are referenced by the expressions and scripts of a workflow, e.g.
+ * <code>event.source.message.message</code>, so that only those fields are stored with the workflow's instances.
+ *
+ * <p>The whole event is needed if the workflow opts in for it, if an event is referenced as a whole (passed to a
+ * utility function for instance), if the workflow has custom activities, as their executors can read any field, or if
+ * it sends messages from templates, as templates are given all the variables and can read any field too.</p>
+ */
+@UtilityClass
+public class ReferencedEventPaths {
+  private static final Pattern EXPRESSION = Pattern.compile("[$#]\\{[^}]*}");
+  private static final String SEGMENT = "(?:\\.[A-Za-z_@][\\w-]*|\\[\\\\?['\"][^'\"\\\\]+\\\\?['\"]]|\\[\\d+])";
+  private static final Pattern BRACKET = Pattern.compile("\\[\\\\?['\"]?([^'\"\\\\\\]]+)\\\\?['\"]?]");
+  private static final String BUILT_IN_ACTIVITIES_PACKAGE = BaseActivity.class.getPackageName();
+
+  /**
+   * @param workflow       the workflow being translated.
+   * @param eventVariables the names of the variables holding events, i.e. <code>event</code> and the event ids.
+   * @param definitions    serialized activities and variables of the workflow, where expressions are looked up.
+   * @return the referenced paths (dot separated, relative to the event), empty if the whole event is needed.
+   */
+  public static Optional<Set<String>> of(Workflow workflow, Collection<String> eventVariables,
+      Collection<String> definitions) {
+    if (Boolean.TRUE.equals(workflow.getProperties().getFullEventPayload()) || hasCustomActivities(workflow)
+        || hasTemplates(workflow)) {
+      return Optional.empty();
+    }
+
+    List<String> sources = new ArrayList<>();
+    for (String definition : definitions) {
+      Matcher expressions = EXPRESSION.matcher(definition);
+      while (expressions.find()) {
+        sources.add(expressions.group());
+      }
+    }
+    // scripts read the variables directly, not through expressions
+    workflow.getActivities().stream()
+        .map(Activity::getActivity)
+        .filter(ExecuteScript.class::isInstance)
+        .map(activity -> ((ExecuteScript) activity).getScript())
+        .filter(Objects::nonNull)
+        .forEach(sources::add);
+
+    Pattern reference = Pattern.compile(String.format("(?<![\\w.-])(?:%s)(?![\\w-])(%s*)",
+        eventVariables.stream().map(Pattern::quote).collect(Collectors.joining("|")), SEGMENT));
+    Set<String> paths = new TreeSet<>();
+    for (String source : sources) {
+      Matcher matcher = reference.matcher(source);
+      while (matcher.find()) {
+        if (matcher.group(1).isEmpty()) {
+          // the event itself is referenced
+          return Optional.empty();
+        }
+        paths.add(BRACKET.matcher(matcher.group(1)).replaceAll(".$1").substring(1));
+      }
+    }
+    return Optional.of(paths);
+  }
+
+  private static boolean hasTemplates(Workflow workflow) {
+    return workflow.getActivities().stream()
+        .map(Activity::getActivity)
+        .anyMatch(activity -> {
+          if (activity instanceof SendMessage) {
+            SendMessage sendMessage = (SendMessage) activity;
+            return sendMessage.getTemplate() != null || sendMessage.getTemplatePath() != null;
+          } else if (activity instanceof UpdateMessage) {
+            UpdateMessage updateMessage = (UpdateMessage) activity;
+            return updateMessage.getTemplate() != null || updateMessage.getTemplatePath() != null;
+          }
+          return false;
+        });
+  }
+
+  private static boolean hasCustomActivities(Workflow workflow) {
+    return workflow.getActivities().stream()
+        .anyMatch(activity -> !activity.getActivity().getClass().getPackageName()
+            .startsWith(BUILT_IN_ACTIVITIES_PACKAGE));
+  }
+}
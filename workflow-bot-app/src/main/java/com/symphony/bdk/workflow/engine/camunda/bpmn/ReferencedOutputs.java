@@ -0,0 +1,61 @@
+package com.symphony.bdk.workflow.engine.camunda.bpmn;
+
+import com.symphony.bdk.workflow.engine.executor.ActivityExecutorContext;
+import com.symphony.bdk.workflow.engine.executor.message.SendMessageExecutor;
+import com.symphony.bdk.workflow.swadl.v1.Activity;
+import com.symphony.bdk.workflow.swadl.v1.Event;
+import com.symphony.bdk.workflow.swadl.v1.Workflow;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the output keys of each activity that are referenced by name, i.e. <code>ACTIVITY_ID.outputs.KEY</code>, by
+ * the expressions of a workflow or by the correlation of form replies (the sent message ids).
+ *
+ * <p>Only those outputs are also stored as flattened variables, the others are only available through the activity
+ * variable (that is what expressions are evaluated against anyway).</p>
+ */
+@UtilityClass
+public class ReferencedOutputs {
+  private static final Pattern OUTPUT_REFERENCE = Pattern.compile(
+      "([A-Za-z_][\\w-]*)\\." + ActivityExecutorContext.OUTPUTS + "(?:\\.|\\[\\\\?['\"])([A-Za-z_]\\w*)");
+
+  /**
+   * @param workflow    the workflow being translated.
+   * @param definitions serialized activities and variables of the workflow, where expressions are looked up.
+   * @return referenced output keys by activity id, every activity of the workflow has an entry.
+   */
+  public static Map<String, Set<String>> of(Workflow workflow, Collection<String> definitions) {
+    Map<String, Set<String>> referencedOutputs = new HashMap<>();
+    workflow.getActivities().forEach(a -> referencedOutputs.put(a.getActivity().getId(), new TreeSet<>()));
+
+    for (String definition : definitions) {
+      Matcher matcher = OUTPUT_REFERENCE.matcher(definition);
+      while (matcher.find()) {
+        Set<String> keys = referencedOutputs.get(matcher.group(1));
+        if (keys != null) {
+          keys.add(matcher.group(2));
+        }
+      }
+    }
+
+    // form replies are correlated on the ids of the messages sent by the form activity
+    workflow.getActivities().stream()
+        .map(Activity::getActivity)
+        .flatMap(activity -> activity.getEvents().getEvents().stream())
+        .map(Event::getFormReplied)
+        .filter(formReplied -> formReplied != null && referencedOutputs.containsKey(formReplied.getFormId()))
+        .forEach(formReplied -> referencedOutputs.get(formReplied.getFormId())
+            .add(SendMessageExecutor.OUTPUT_MESSAGE_IDS_KEY));
+
+    return referencedOutputs;
+  }
+}
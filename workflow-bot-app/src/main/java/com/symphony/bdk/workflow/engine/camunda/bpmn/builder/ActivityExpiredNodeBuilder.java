@@ -25,7 +25,7 @@ public class ActivityExpiredNodeBuilder extends ActivityNodeBuilder {
         builder = context.removeLastEventSubProcessBuilder().subProcessDone();
         builder = ((SubProcessBuilder) builder).boundaryEvent().error(ERROR_CODE);
       }
-      return addTask(builder, element.getActivity());
+      return addTask(builder, element.getActivity(), context);
     }
     String timeout = ((EventWithTimeout) element.getEvent()).getTimeout();
     if (builder instanceof AbstractCatchEventBuilder) {
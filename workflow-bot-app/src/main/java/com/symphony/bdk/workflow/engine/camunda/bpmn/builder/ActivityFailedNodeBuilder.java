@@ -20,7 +20,7 @@ public class ActivityFailedNodeBuilder extends ActivityNodeBuilder {
   public AbstractFlowNodeBuilder<?, ?> build(WorkflowNode element, String parentId,
       AbstractFlowNodeBuilder<?, ?> builder, BuildProcessContext context) {
     builder = ((AbstractActivityBuilder<?, ?>) builder).boundaryEvent().name("error_" + element.getId()).error();
-    return addTask(builder, element.getActivity());
+    return addTask(builder, element.getActivity(), context);
   }
 
   @Override
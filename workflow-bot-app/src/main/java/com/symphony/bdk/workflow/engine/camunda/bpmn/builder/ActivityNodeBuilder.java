@@ -19,7 +19,7 @@ public class ActivityNodeBuilder extends AbstractNodeBpmnBuilder {
   @Override
   public AbstractFlowNodeBuilder<?, ?> build(WorkflowNode element, String parentId,
       AbstractFlowNodeBuilder<?, ?> builder, BuildProcessContext context) {
-    return addTask(builder, element.getActivity());
+    return addTask(builder, element.getActivity(), context);
   }
 
   @Override
@@ -27,30 +27,32 @@ public class ActivityNodeBuilder extends AbstractNodeBpmnBuilder {
     return WorkflowNodeType.ACTIVITY;
   }
 
-  protected AbstractFlowNodeBuilder<?, ?> addTask(AbstractFlowNodeBuilder<?, ?> eventBuilder, BaseActivity activity) {
+  protected AbstractFlowNodeBuilder<?, ?> addTask(AbstractFlowNodeBuilder<?, ?> eventBuilder, BaseActivity activity,
+      BuildProcessContext context) {
     // hardcoded so we can rely on Camunda's script task instead of a service task
     if (activity instanceof ExecuteScript) {
-      return addScriptTask(eventBuilder, (ExecuteScript) activity);
+      return addScriptTask(eventBuilder, (ExecuteScript) activity, context.isAsyncAfter(activity.getId()));
     }
-    return addServiceTask(eventBuilder, activity);
+    return addServiceTask(eventBuilder, activity, context.isAsyncAfter(activity.getId()));
   }
 
   private AbstractFlowNodeBuilder<?, ?> addScriptTask(AbstractFlowNodeBuilder<?, ?> builder,
-      ExecuteScript scriptActivity) {
+      ExecuteScript scriptActivity, boolean asyncAfter) {
     return builder.scriptTask()
         .id(scriptActivity.getId())
         .name(scriptActivity.getId())
-        .camundaAsyncAfter()
+        .camundaAsyncAfter(asyncAfter)
         .scriptText(scriptActivity.getScript())
         .scriptFormat(ExecuteScript.SCRIPT_ENGINE)
         .camundaExecutionListenerClass(ExecutionListener.EVENTNAME_START, ScriptTaskAuditListener.class);
   }
 
-  private AbstractFlowNodeBuilder<?, ?> addServiceTask(AbstractFlowNodeBuilder<?, ?> builder, BaseActivity activity) {
+  private AbstractFlowNodeBuilder<?, ?> addServiceTask(AbstractFlowNodeBuilder<?, ?> builder, BaseActivity activity,
+      boolean asyncAfter) {
     return builder.serviceTask()
         .id(activity.getId())
         .name(activity.getId())
-        .camundaAsyncAfter()
+        .camundaAsyncAfter(asyncAfter)
         .camundaClass(CamundaExecutor.class)
         .camundaInputParameter(CamundaExecutor.EXECUTOR,
             ActivityRegistry.getActivityExecutors().get(activity.getClass()).getName())
@@ -71,7 +71,10 @@ public class ActivityCmdaApiQueryRepository extends CamundaAbstractQueryReposito
         historicVariableInstances.stream().collect(Collectors.toMap(HistoricVariableInstance::getName, e -> {
           Map<String, Object> objectMap = (Map<String, Object>) e.getValue();
           VariablesDomain domain = new VariablesDomain();
-          domain.setOutputs((Map<String, Object>) objectMap.get("outputs"));
+          // null once the process has ended if the outputs were stored in the blob store
+          if (objectMap != null) {
+            domain.setOutputs((Map<String, Object>) objectMap.get("outputs"));
+          }
           domain.setUpdateTime(e.getCreateTime().toInstant());
           return domain;
         }));
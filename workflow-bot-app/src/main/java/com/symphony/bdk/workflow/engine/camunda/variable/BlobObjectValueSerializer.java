@@ -0,0 +1,79 @@
+package com.symphony.bdk.workflow.engine.camunda.variable;
+
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.variable.value.ObjectValue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.util.Arrays;
+
+/**
+ * Serializes object variables with Jackson Smile (see {@link SmileObjectValueSerializer}), the serialized value being
+ * either stored inline in the Camunda database or, if large, in the {@link BlobStore} with only a reference to it in
+ * the database.
+ *
+ * <p>Values are not checked for implicit updates when the command completes: activity outputs are written once and
+ * re-serializing them would mean reading and hashing the blobs again. A value modified in place, such as a form
+ * variable merged with its reply (see {@link FormVariableListener}), must be set again explicitly.</p>
+ */
+@Slf4j
+public class BlobObjectValueSerializer extends SmileObjectValueSerializer {
+  public static final String SERIALIZATION_DATA_FORMAT = "application/x-wdk-blob";
+  public static final String NAME = "wdk://" + SERIALIZATION_DATA_FORMAT;
+
+  private static final byte INLINE = 0;
+  private static final byte REFERENCE = 1;
+
+  private final BlobStore blobStore;
+
+  public BlobObjectValueSerializer(BlobStore blobStore) {
+    super(SERIALIZATION_DATA_FORMAT);
+    this.blobStore = blobStore;
+  }
+
+  static byte[] inline(byte[] serialized) {
+    return prefix(INLINE, serialized);
+  }
+
+  static byte[] reference(String reference) {
+    return prefix(REFERENCE, reference.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static byte[] prefix(byte kind, byte[] content) {
+    byte[] value = new byte[content.length + 1];
+    value[0] = kind;
+    System.arraycopy(content, 0, value, 1, content.length);
+    return value;
+  }
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public boolean isMutableValue(ObjectValue typedValue) {
+    return false;
+  }
+
+  @Override
+  protected byte[] serializeToByteArray(Object deserializedObject) throws Exception {
+    return inline(super.serializeToByteArray(deserializedObject));
+  }
+
+  @Override
+  protected Object deserializeFromByteArray(byte[] object, String objectTypeName) throws Exception {
+    byte[] serialized = Arrays.copyOfRange(object, 1, object.length);
+    if (object[0] == REFERENCE) {
+      String reference = new String(serialized, StandardCharsets.UTF_8);
+      try {
+        serialized = blobStore.read(reference);
+      } catch (NoSuchFileException e) {
+        // the blob is removed once the process instance has ended, its history is kept without the value
+        log.debug("Blob {} does not exist anymore", reference);
+        return null;
+      }
+    }
+    return super.deserializeFromByteArray(serialized, objectTypeName);
+  }
+}
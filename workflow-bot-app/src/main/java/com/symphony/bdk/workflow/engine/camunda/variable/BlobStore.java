@@ -0,0 +1,133 @@
+package com.symphony.bdk.workflow.engine.camunda.variable;
+
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.value.ObjectValue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.stream.Stream;
+
+/**
+ * Stores the large variables of the process instances in the file system, so that the Camunda database only holds a
+ * reference to them (see {@link BlobObjectValueSerializer}). They are read when the variable is accessed, e.g. by an
+ * expression.
+ *
+ * <p>Blobs are content-addressed within the directory of their process instance: the same value stored twice (an
+ * activity output and its flattened variable for instance) is written once. The directory is removed when the process
+ * instance ends.</p>
+ */
+@Slf4j
+@Component
+public class BlobStore {
+  private static final String SEPARATOR = "/";
+
+  private final boolean enabled;
+  private final Path root;
+  private final long threshold;
+
+  public BlobStore(@Value("${wdk.properties.variables.blob-store.enabled:false}") boolean enabled,
+      @Value("${wdk.properties.variables.blob-store.path:./blobs}") String root,
+      @Value("${wdk.properties.variables.blob-store.threshold:64KB}") DataSize threshold) {
+    this.enabled = enabled;
+    this.root = Paths.get(root).toAbsolutePath().normalize();
+    this.threshold = threshold.toBytes();
+    if (enabled) {
+      log.info("Variables larger than {} bytes are stored in {}", this.threshold, this.root);
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * @return the variable value to set, referencing a blob if the serialized value exceeds the threshold.
+   */
+  public ObjectValue objectValue(String processInstanceId, Object value) {
+    if (value == null) {
+      return Variables.objectValue(null).serializationDataFormat(BlobObjectValueSerializer.SERIALIZATION_DATA_FORMAT)
+          .create();
+    }
+    try {
+      byte[] serialized = SmileObjectValueSerializer.mapper().writeValueAsBytes(value);
+      byte[] stored = serialized.length > threshold
+          ? BlobObjectValueSerializer.reference(write(processInstanceId, serialized))
+          : BlobObjectValueSerializer.inline(serialized);
+      return Variables.serializedObjectValue(Base64.getEncoder().encodeToString(stored))
+          .serializationDataFormat(BlobObjectValueSerializer.SERIALIZATION_DATA_FORMAT)
+          .objectTypeName(SmileObjectValueSerializer.typeName(value))
+          .create();
+    } catch (IOException e) {
+      log.warn("Failed to store a variable of process instance {} as a blob, it is stored inline",
+          processInstanceId, e);
+      return Variables.objectValue(value).serializationDataFormat(BlobObjectValueSerializer.SERIALIZATION_DATA_FORMAT)
+          .create();
+    }
+  }
+
+  String write(String processInstanceId, byte[] content) throws IOException {
+    String reference = processInstanceId + SEPARATOR + hash(content);
+    Path blob = resolve(reference);
+    if (Files.notExists(blob)) {
+      Files.createDirectories(blob.getParent());
+      // written aside and moved so that a blob is never read partially
+      Path temporary = Files.createTempFile(blob.getParent(), blob.getFileName().toString(), ".tmp");
+      try {
+        Files.write(temporary, content);
+        Files.move(temporary, blob, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } finally {
+        Files.deleteIfExists(temporary);
+      }
+    }
+    return reference;
+  }
+
+  byte[] read(String reference) throws IOException {
+    return Files.readAllBytes(resolve(reference));
+  }
+
+  /**
+   * Removes the blobs of a process instance.
+   */
+  public void remove(String processInstanceId) {
+    Path directory = root.resolve(processInstanceId).normalize();
+    if (!directory.startsWith(root) || Files.notExists(directory)) {
+      return;
+    }
+    try (Stream<Path> paths = Files.walk(directory)) {
+      for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+        Files.delete(path);
+      }
+    } catch (IOException e) {
+      log.warn("Failed to remove the blobs of process instance {}", processInstanceId, e);
+    }
+  }
+
+  private Path resolve(String reference) {
+    Path blob = root.resolve(reference).normalize();
+    if (!blob.startsWith(root)) {
+      throw new IllegalArgumentException(String.format("Invalid blob reference %s", reference));
+    }
+    return blob;
+  }
+
+  private static String hash(byte[] content) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
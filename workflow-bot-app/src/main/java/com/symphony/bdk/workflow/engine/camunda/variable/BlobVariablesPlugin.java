@@ -0,0 +1,34 @@
+package com.symphony.bdk.workflow.engine.camunda.variable;
+
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.variable.serializer.TypedValueSerializer;
+import org.camunda.bpm.spring.boot.starter.configuration.Ordering;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Registers the {@link BlobObjectValueSerializer}, even if the blob store is disabled, so that variables written while
+ * it was enabled can still be read.
+ */
+@Component
+@Order(Ordering.DEFAULT_ORDER + 1)
+public class BlobVariablesPlugin extends AbstractProcessEnginePlugin {
+  private final BlobStore blobStore;
+
+  public BlobVariablesPlugin(BlobStore blobStore) {
+    this.blobStore = blobStore;
+  }
+
+  @Override
+  public void preInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    List<TypedValueSerializer> serializers = new ArrayList<>();
+    Optional.ofNullable(processEngineConfiguration.getCustomPreVariableSerializers()).ifPresent(serializers::addAll);
+    serializers.add(new BlobObjectValueSerializer(blobStore));
+    processEngineConfiguration.setCustomPreVariableSerializers(serializers);
+  }
+}
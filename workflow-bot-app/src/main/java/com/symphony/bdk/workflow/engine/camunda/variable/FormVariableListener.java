@@ -39,6 +39,8 @@ public class FormVariableListener implements ExecutionListener {
           // in the end we have ACTIVITY_ID.outputs... and ACTIVITY_ID.FORM_REPLY_DATA in the same variable
           Map<String, Object> activity = (Map<String, Object>) activityVariable;
           activity.putAll(entry.getValue());
+          // set explicitly, activity variables are not checked for implicit updates (see BlobObjectValueSerializer)
+          execution.setVariable(entry.getKey(), activity);
         }
       }
       execution.removeVariable(FORM_VARIABLES);
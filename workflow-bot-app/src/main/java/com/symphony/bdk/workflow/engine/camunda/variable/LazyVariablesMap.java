@@ -0,0 +1,121 @@
+package com.symphony.bdk.workflow.engine.camunda.variable;
+
+import org.camunda.bpm.engine.delegate.VariableScope;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Read-only view of the variables of an execution, a variable is only fetched (and deserialized) from Camunda when its
+ * value is accessed.
+ *
+ * <p>Copying the variables would deserialize all of them, event holders and outputs of previous activities included,
+ * even though an executor or a template usually reads only a few of them. The view reads through the execution, so
+ * variables set after it was created are visible too.</p>
+ */
+public class LazyVariablesMap extends AbstractMap<String, Object> {
+  private final VariableScope variableScope;
+
+  public LazyVariablesMap(VariableScope variableScope) {
+    this.variableScope = variableScope;
+  }
+
+  @Override
+  public Object get(Object name) {
+    return name instanceof String ? variableScope.getVariable((String) name) : null;
+  }
+
+  @Override
+  public boolean containsKey(Object name) {
+    return name instanceof String && variableScope.hasVariable((String) name);
+  }
+
+  @Override
+  public Set<String> keySet() {
+    return Collections.unmodifiableSet(variableScope.getVariableNames());
+  }
+
+  @Override
+  public int size() {
+    return variableScope.getVariableNames().size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return !variableScope.hasVariables();
+  }
+
+  @Override
+  public Set<Entry<String, Object>> entrySet() {
+    Set<String> names = variableScope.getVariableNames();
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<Entry<String, Object>> iterator() {
+        Iterator<String> namesIterator = names.iterator();
+        return new Iterator<>() {
+          @Override
+          public boolean hasNext() {
+            return namesIterator.hasNext();
+          }
+
+          @Override
+          public Entry<String, Object> next() {
+            return new LazyEntry(namesIterator.next());
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return names.size();
+      }
+    };
+  }
+
+  private class LazyEntry implements Map.Entry<String, Object> {
+    private final String name;
+
+    LazyEntry(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public String getKey() {
+      return name;
+    }
+
+    @Override
+    public Object getValue() {
+      return variableScope.getVariable(name);
+    }
+
+    @Override
+    public Object setValue(Object value) {
+      throw new UnsupportedOperationException("Variables are read-only");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Map.Entry)) {
+        return false;
+      }
+      Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+      return name.equals(entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return name.hashCode() ^ Objects.hashCode(getValue());
+    }
+
+    @Override
+    public String toString() {
+      return name + "=" + getValue();
+    }
+  }
+}
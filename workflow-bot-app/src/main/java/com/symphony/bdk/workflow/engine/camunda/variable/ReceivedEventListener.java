@@ -0,0 +1,94 @@
+package com.symphony.bdk.workflow.engine.camunda.variable;
+
+import com.symphony.bdk.workflow.engine.executor.ActivityExecutorContext;
+import com.symphony.bdk.workflow.engine.executor.EventHolder;
+import com.symphony.bdk.workflow.event.RealTimeEventProcessor;
+
+import org.apache.commons.lang3.StringUtils;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.ExecutionListener;
+import org.camunda.bpm.engine.delegate.Expression;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.camunda.CamundaExecutionListener;
+import org.camunda.bpm.model.bpmn.instance.camunda.CamundaField;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Stores the event received by a signal or a message event under the id of the event, so that it is accessible by
+ * SWADL, e.g. <code>${message_received_abc.source.message}</code>. The received event itself is stored under
+ * {@link ActivityExecutorContext#EVENT} when it is dispatched, the id is only known by the receiving workflow.
+ *
+ * <p>It runs as the workflow leaves the receiving event, in the transaction where the event is received.</p>
+ *
+ * <p>The listener also declares the fields of the events referenced by the workflow (see
+ * {@link com.symphony.bdk.workflow.engine.camunda.bpmn.ReferencedEventPaths}): they are read from the deployed
+ * workflows by the {@link com.symphony.bdk.workflow.event.EventSubscriptionRegistry}, events are projected on them
+ * before being dispatched.</p>
+ */
+public class ReceivedEventListener implements ExecutionListener {
+  public static final String EVENT_PATHS_FIELD = "eventPaths";
+  private static final String SEPARATOR = ",";
+
+  // automatically injected by Camunda
+  private Expression eventId;
+  // not used while receiving the event, but declared by the deployed workflows
+  private Expression eventPaths;
+
+  /**
+   * @param eventId    the id of the received event, the event is stored under it if not blank.
+   * @param eventPaths the fields of the event to keep, the whole event is kept if empty.
+   */
+  public static CamundaExecutionListener create(BpmnModelInstance instance, String camundaEvent, String eventId,
+      Optional<? extends Collection<String>> eventPaths) {
+    CamundaExecutionListener listener = instance.newInstance(CamundaExecutionListener.class);
+    listener.setCamundaEvent(camundaEvent);
+    listener.setCamundaClass(ReceivedEventListener.class.getName());
+    listener.getCamundaFields().add(field(instance, "eventId", StringUtils.defaultString(eventId)));
+    eventPaths.ifPresent(paths -> listener.getCamundaFields()
+        .add(field(instance, EVENT_PATHS_FIELD, String.join(SEPARATOR, paths))));
+    return listener;
+  }
+
+  private static CamundaField field(BpmnModelInstance instance, String name, String value) {
+    CamundaField field = instance.newInstance(CamundaField.class);
+    field.setCamundaName(name);
+    field.setCamundaStringValue(value);
+    return field;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void notify(DelegateExecution execution) {
+    Object variable = execution.getVariable(ActivityExecutorContext.EVENT);
+    if (!(variable instanceof EventHolder)) {
+      return;
+    }
+
+    EventHolder<Object> event = (EventHolder<Object>) variable;
+    String id = eventId == null ? null : (String) eventId.getValue(execution);
+    if (StringUtils.isNotBlank(id)) {
+      // the event name is only needed by the engine while dispatching the event
+      EventHolder<Object> keyedEvent = new EventHolder<>(event.getInitiator(), event.getSource(),
+          new HashMap<>(Optional.ofNullable(event.getArgs()).orElseGet(HashMap::new)), event.getMessageAnalysis());
+      keyedEvent.getArgs().remove(RealTimeEventProcessor.EVENT_NAME_KEY);
+      execution.setVariable(id, keyedEvent);
+    }
+  }
+
+  /**
+   * @param eventPaths value of the {@value #EVENT_PATHS_FIELD} field of the listener.
+   * @return the fields of the event referenced by the workflow.
+   */
+  public static Set<String> split(String eventPaths) {
+    if (eventPaths == null || eventPaths.isEmpty()) {
+      return Set.of();
+    }
+    return Arrays.stream(eventPaths.split(SEPARATOR)).collect(Collectors.toSet());
+  }
+}
@@ -0,0 +1,45 @@
+package com.symphony.bdk.workflow.engine.camunda.variable;
+
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.variable.serializer.TypedValueSerializer;
+import org.camunda.bpm.spring.boot.starter.configuration.Ordering;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Registers the {@link SmileObjectValueSerializer} and, if enabled, makes it the default format of object variables.
+ *
+ * <p>The serializer is always registered so that variables written while the binary format was enabled can still be
+ * read once it is disabled. This plugin runs after the one of the Camunda Spring Boot starter that sets the default
+ * serialization format from its own configuration.</p>
+ */
+@Slf4j
+@Component
+@Order(Ordering.DEFAULT_ORDER + 1)
+public class SmileVariablesPlugin extends AbstractProcessEnginePlugin {
+  private final boolean binaryFormat;
+
+  public SmileVariablesPlugin(@Value("${wdk.properties.variables.binary-format:false}") boolean binaryFormat) {
+    this.binaryFormat = binaryFormat;
+  }
+
+  @Override
+  public void preInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    List<TypedValueSerializer> serializers = new ArrayList<>();
+    Optional.ofNullable(processEngineConfiguration.getCustomPreVariableSerializers()).ifPresent(serializers::addAll);
+    serializers.add(new SmileObjectValueSerializer());
+    processEngineConfiguration.setCustomPreVariableSerializers(serializers);
+
+    if (binaryFormat) {
+      processEngineConfiguration.setDefaultSerializationFormat(SmileObjectValueSerializer.SERIALIZATION_DATA_FORMAT);
+      log.info("Object variables are stored as {}", SmileObjectValueSerializer.SERIALIZATION_DATA_FORMAT);
+    }
+  }
+}
@@ -15,15 +15,20 @@ import com.symphony.bdk.http.api.ApiRuntimeException;
 import com.symphony.bdk.workflow.engine.executor.ActivityExecutor;
 import com.symphony.bdk.workflow.engine.executor.ActivityExecutorContext;
 import com.symphony.bdk.workflow.engine.executor.obo.OboExecutor;
+import com.symphony.bdk.workflow.event.FormMessageIndex;
 import com.symphony.bdk.workflow.swadl.v1.activity.message.SendMessage;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.springframework.stereotype.Component;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Base64;
@@ -31,6 +36,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import static java.util.Collections.singletonList;
 
@@ -45,6 +54,18 @@ public class SendMessageExecutor extends OboExecutor<SendMessage, V4Message> imp
   public static final String OUTPUT_MESSAGES_KEY = "messages";
   public static final String OUTPUT_FAILED_MESSAGES_KEY = "failedStreamIds";
 
+  private static final String FORM_TAG = "<form";
+  private static final String FORM_ELEMENT = "form";
+  private static final XMLInputFactory XML_INPUT_FACTORY = xmlInputFactory();
+
+  private final FormMessageIndex formMessageIndex;
+  private final TemplateContentExtractor templateContentExtractor;
+
+  public SendMessageExecutor(FormMessageIndex formMessageIndex, TemplateContentExtractor templateContentExtractor) {
+    this.formMessageIndex = formMessageIndex;
+    this.templateContentExtractor = templateContentExtractor;
+  }
+
   @Override
   public void execute(ActivityExecutorContext<SendMessage> execution) throws IOException {
     log.debug("Sending message...");
@@ -103,6 +124,58 @@ public class SendMessageExecutor extends OboExecutor<SendMessage, V4Message> imp
     outputs.put(OUTPUT_MESSAGE_IDS_KEY, msgIds);
     outputs.put(OUTPUT_FAILED_MESSAGES_KEY, failedStreamIds);
     execution.setOutputVariables(outputs);
+
+    // replies to the form are correlated to this process using the message ids
+    if (containsForm(messageToSend.getContent())) {
+      indexOnCommit(execution.getProcessInstanceId(), msgIds);
+    }
+  }
+
+  /**
+   * The messages are indexed once the process storing their ids is committed, replies received before that are
+   * correlated by looking up the message ids variables.
+   */
+  private void indexOnCommit(String processInstanceId, List<String> msgIds) {
+    CommandContext commandContext = Context.getCommandContext();
+    if (commandContext == null) {
+      formMessageIndex.index(processInstanceId, msgIds);
+    } else {
+      commandContext.getTransactionContext().addTransactionListener(TransactionState.COMMITTED,
+          context -> formMessageIndex.index(processInstanceId, msgIds));
+    }
+  }
+
+  /**
+   * Looks for a form element in the MessageML (built from a template or not), a form tag quoted in a CDATA section is
+   * not a form. Content that cannot be parsed as XML, with entities for instance, is considered to contain a form when
+   * it contains the tag.
+   */
+  static boolean containsForm(String content) {
+    if (content == null || !content.contains(FORM_TAG)) {
+      return false;
+    }
+    try {
+      XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(new StringReader(content));
+      try {
+        while (reader.hasNext()) {
+          if (reader.next() == XMLStreamConstants.START_ELEMENT && FORM_ELEMENT.equals(reader.getLocalName())) {
+            return true;
+          }
+        }
+        return false;
+      } finally {
+        reader.close();
+      }
+    } catch (XMLStreamException e) {
+      return true;
+    }
+  }
+
+  private static XMLInputFactory xmlInputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newFactory();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    return factory;
   }
 
   @Override
@@ -183,9 +256,9 @@ public class SendMessageExecutor extends OboExecutor<SendMessage, V4Message> imp
     return builder.build();
   }
 
-  private static String extractContent(ActivityExecutorContext<SendMessage> execution) throws IOException {
+  private String extractContent(ActivityExecutorContext<SendMessage> execution) throws IOException {
     SendMessage activity = execution.getActivity();
-    return TemplateContentExtractor.extractContent(execution, activity.getContent(), activity.getTemplatePath(),
+    return templateContentExtractor.extractContent(execution, activity.getContent(), activity.getTemplatePath(),
         activity.getTemplate());
   }
 
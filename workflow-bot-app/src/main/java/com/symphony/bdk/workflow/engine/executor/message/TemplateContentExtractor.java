@@ -1,41 +1,128 @@
 package com.symphony.bdk.workflow.engine.executor.message;
 
+import com.symphony.bdk.template.api.Template;
 import com.symphony.bdk.workflow.engine.camunda.UtilityFunctionsMapper;
 import com.symphony.bdk.workflow.engine.executor.ActivityExecutorContext;
+import com.symphony.bdk.workflow.engine.executor.BdkGateway;
+import com.symphony.bdk.workflow.engine.executor.SecretKeeper;
+import com.symphony.bdk.workflow.engine.executor.SharedDataStore;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
-import java.util.HashMap;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+/**
+ * Renders the content of a message from its template, either a file or inline in the workflow.
+ *
+ * <p>Compiled templates are cached: template files by path and modification time (so that an updated file is compiled
+ * again), inline templates by a digest of their content. Cache statistics are exposed as the
+ * <code>workflow.templates</code> cache metrics.</p>
+ */
+@Component
 public class TemplateContentExtractor {
+  private static final int COMPILED_TEMPLATES_CACHE_SIZE = 500;
+
+  private final Cache<String, Template> compiledTemplates =
+      Caffeine.newBuilder().maximumSize(COMPILED_TEMPLATES_CACHE_SIZE).recordStats().build();
+  private final UtilityFunctionsMapper utilityFunctions;
+
+  public TemplateContentExtractor(BdkGateway bdkGateway, SharedDataStore sharedDataStore, SecretKeeper secretKeeper) {
+    this.utilityFunctions = new UtilityFunctionsMapper(bdkGateway.session(), sharedDataStore, secretKeeper);
+  }
+
+  public Cache<String, Template> compiledTemplates() {
+    return compiledTemplates;
+  }
 
-  public static String extractContent(ActivityExecutorContext<?> execution, String content, String templatePath,
+  public String extractContent(ActivityExecutorContext<?> execution, String content, String templatePath,
       String template)
       throws IOException {
     if (content != null) {
       return content;
     } else {
-      Map<String, Object> templateVariables = new HashMap<>(execution.getVariables());
       // also bind our utility functions so they can be used inside templates
-      templateVariables.put(UtilityFunctionsMapper.WDK_PREFIX,
-          new UtilityFunctionsMapper(execution.bdk().session(), execution.sharedDataStore(), execution.secretKeeper()));
+      Map<String, Object> templateVariables = new TemplateVariables(execution.getVariables(), utilityFunctions);
 
       if (templatePath != null) {
         File file = execution.getResourceFile(Path.of(templatePath));
-        return execution.bdk()
-            .messages()
-            .templates()
-            .newTemplateFromFile(file.getPath())
+        String key = "file:" + file.getPath() + ":" + file.lastModified() + ":" + file.length();
+        return compiledTemplates.get(key,
+                k -> execution.bdk().messages().templates().newTemplateFromFile(file.getPath()))
             .process(templateVariables);
       } else {
-        return execution.bdk()
-            .messages()
-            .templates()
-            .newTemplateFromString(template)
+        return compiledTemplates.get("inline:" + digest(template),
+                k -> execution.bdk().messages().templates().newTemplateFromString(template))
             .process(templateVariables);
       }
     }
   }
+
+  // inline templates can be large, the whole content is not kept as a key
+  private static String digest(String template) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(template.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Process variables, as a lazy view so that only the ones used by the template are fetched, with the utility
+   * functions on top.
+   */
+  private static class TemplateVariables extends AbstractMap<String, Object> {
+    private final Map<String, Object> variables;
+    private final UtilityFunctionsMapper utilityFunctions;
+
+    TemplateVariables(Map<String, Object> variables, UtilityFunctionsMapper utilityFunctions) {
+      this.variables = variables;
+      this.utilityFunctions = utilityFunctions;
+    }
+
+    @Override
+    public Object get(Object name) {
+      return UtilityFunctionsMapper.WDK_PREFIX.equals(name) ? utilityFunctions : variables.get(name);
+    }
+
+    @Override
+    public boolean containsKey(Object name) {
+      return UtilityFunctionsMapper.WDK_PREFIX.equals(name) || variables.containsKey(name);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+      // entries are not hashed, values are only fetched when iterated over
+      List<Entry<String, Object>> entries = variables.entrySet().stream()
+          .filter(entry -> !UtilityFunctionsMapper.WDK_PREFIX.equals(entry.getKey()))
+          .collect(Collectors.toList());
+      entries.add(new SimpleImmutableEntry<>(UtilityFunctionsMapper.WDK_PREFIX, utilityFunctions));
+      return new AbstractSet<>() {
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+          return entries.iterator();
+        }
+
+        @Override
+        public int size() {
+          return entries.size();
+        }
+      };
+    }
+  }
 }
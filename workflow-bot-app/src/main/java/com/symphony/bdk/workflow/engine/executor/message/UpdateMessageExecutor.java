@@ -6,7 +6,9 @@ import com.symphony.bdk.workflow.engine.executor.ActivityExecutor;
 import com.symphony.bdk.workflow.engine.executor.ActivityExecutorContext;
 import com.symphony.bdk.workflow.swadl.v1.activity.message.UpdateMessage;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -20,7 +22,10 @@ import static com.symphony.bdk.workflow.engine.executor.message.SendMessageExecu
 import static com.symphony.bdk.workflow.engine.executor.message.SendMessageExecutor.OUTPUT_MESSAGE_KEY;
 
 @Slf4j
+@Component
+@RequiredArgsConstructor
 public class UpdateMessageExecutor implements ActivityExecutor<UpdateMessage> {
+  private final TemplateContentExtractor templateContentExtractor;
 
   @Override
   public void execute(ActivityExecutorContext<UpdateMessage> execution) throws IOException {
@@ -43,9 +48,9 @@ public class UpdateMessageExecutor implements ActivityExecutor<UpdateMessage> {
     execution.setOutputVariables(outputs);
   }
 
-  private static String extractContent(ActivityExecutorContext<UpdateMessage> execution) throws IOException {
+  private String extractContent(ActivityExecutorContext<UpdateMessage> execution) throws IOException {
     UpdateMessage activity = execution.getActivity();
-    return TemplateContentExtractor.extractContent(execution, activity.getContent(), activity.getTemplatePath(),
+    return templateContentExtractor.extractContent(execution, activity.getContent(), activity.getTemplatePath(),
         activity.getTemplate());
   }
 }
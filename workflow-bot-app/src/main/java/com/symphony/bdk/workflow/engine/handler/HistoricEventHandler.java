@@ -1,7 +1,8 @@
 package com.symphony.bdk.workflow.engine.handler;
 
 import com.symphony.bdk.workflow.engine.handler.audit.AuditTrailLogAction;
-import com.symphony.bdk.workflow.engine.handler.variable.WorkflowEventVariableAction;
+import com.symphony.bdk.workflow.engine.handler.form.FormMessageIndexCleanupAction;
+import com.symphony.bdk.workflow.engine.handler.variable.BlobCleanupAction;
 
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
@@ -13,19 +14,23 @@ import java.util.List;
 public class HistoricEventHandler implements HistoryEventHandler {
   final HistoricEventActionExecutor historicEventActionExecutor;
   final AuditTrailLogAction auditTrailLogAction;
-  final WorkflowEventVariableAction workflowEventVariableAction;
+  final FormMessageIndexCleanupAction formMessageIndexCleanupAction;
+  final BlobCleanupAction blobCleanupAction;
 
   public HistoricEventHandler(HistoricEventActionExecutor historicEventActionExecutor,
-      AuditTrailLogAction auditTrailLogAction, WorkflowEventVariableAction workflowEventVariableAction) {
+      AuditTrailLogAction auditTrailLogAction, FormMessageIndexCleanupAction formMessageIndexCleanupAction,
+      BlobCleanupAction blobCleanupAction) {
     this.historicEventActionExecutor = historicEventActionExecutor;
     this.auditTrailLogAction = auditTrailLogAction;
-    this.workflowEventVariableAction = workflowEventVariableAction;
+    this.formMessageIndexCleanupAction = formMessageIndexCleanupAction;
+    this.blobCleanupAction = blobCleanupAction;
   }
 
   @Override
   public void handleEvent(HistoryEvent historyEvent) {
     this.historicEventActionExecutor.executeAction(this.auditTrailLogAction, historyEvent);
-    this.historicEventActionExecutor.executeAction(this.workflowEventVariableAction, historyEvent);
+    this.historicEventActionExecutor.executeAction(this.formMessageIndexCleanupAction, historyEvent);
+    this.historicEventActionExecutor.executeAction(this.blobCleanupAction, historyEvent);
   }
 
   @Override
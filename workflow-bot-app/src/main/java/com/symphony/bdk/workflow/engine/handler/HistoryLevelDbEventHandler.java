@@ -0,0 +1,88 @@
+package com.symphony.bdk.workflow.engine.handler;
+
+import com.symphony.bdk.workflow.swadl.v1.History;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricIncidentEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.handler.DbHistoryEventHandler;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.Process;
+import org.camunda.bpm.model.bpmn.instance.camunda.CamundaProperties;
+import org.camunda.bpm.model.bpmn.instance.camunda.CamundaProperty;
+
+/**
+ * Replaces Camunda's default handler writing history events to the database, to honor the history level of each
+ * workflow (see {@link History}).
+ *
+ * <p>History events are still produced for all the workflows, so that the other handlers (audit trail, event
+ * variables, ...) are not affected, only the writes are skipped. The level is a property of the deployed process
+ * definition, an instance keeps the level of the version it was started with.</p>
+ */
+public class HistoryLevelDbEventHandler extends DbHistoryEventHandler {
+  public static final String HISTORY_PROPERTY = "history";
+  private static final int MAX_CACHED_DEFINITIONS = 1000;
+
+  private final ProcessEngineConfigurationImpl processEngineConfiguration;
+  // process definitions never change once deployed
+  private final Cache<String, History> historyByDefinitionId =
+      Caffeine.newBuilder().maximumSize(MAX_CACHED_DEFINITIONS).build();
+
+  public HistoryLevelDbEventHandler(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    this.processEngineConfiguration = processEngineConfiguration;
+  }
+
+  @Override
+  public void handleEvent(HistoryEvent historyEvent) {
+    if (isStored(historyEvent)) {
+      super.handleEvent(historyEvent);
+    }
+  }
+
+  boolean isStored(HistoryEvent historyEvent) {
+    if (historyEvent.getProcessDefinitionId() == null) {
+      // not related to a workflow
+      return true;
+    }
+    History history = historyByDefinitionId.get(historyEvent.getProcessDefinitionId(), this::readHistory);
+
+    switch (history) {
+      case NONE:
+        return false;
+      case INSTANCE:
+        return isInstanceEvent(historyEvent);
+      case ACTIVITY:
+        return isInstanceEvent(historyEvent) || historyEvent instanceof HistoricActivityInstanceEventEntity;
+      default:
+        return true;
+    }
+  }
+
+  // workflows deployed before the history level was introduced keep everything
+  private History readHistory(String processDefinitionId) {
+    BpmnModelInstance instance = processEngineConfiguration.getDeploymentCache()
+        .findBpmnModelInstanceForProcessDefinition(processDefinitionId);
+    if (instance == null) {
+      return History.FULL;
+    }
+    return instance.getModelElementsByType(Process.class).stream()
+        .filter(process -> process.getExtensionElements() != null)
+        .flatMap(process -> process.getExtensionElements().getChildElementsByType(CamundaProperties.class).stream())
+        .flatMap(properties -> properties.getCamundaProperties().stream())
+        .filter(property -> HISTORY_PROPERTY.equals(property.getCamundaName()))
+        .map(CamundaProperty::getCamundaValue)
+        .map(History::valueOf)
+        .findFirst()
+        .orElse(History.FULL);
+  }
+
+  // incidents are kept along with the instances, so failed executions can still be investigated
+  private static boolean isInstanceEvent(HistoryEvent historyEvent) {
+    return historyEvent instanceof HistoricProcessInstanceEventEntity
+        || historyEvent instanceof HistoricIncidentEventEntity;
+  }
+}
@@ -0,0 +1,51 @@
+package com.symphony.bdk.workflow.engine.handler.audit;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * A line of the audit trail: the time it was recorded at and its fields, in order. Values are captured when the record
+ * is created, as it is written later on by another thread.
+ */
+public class AuditRecord {
+  @Getter
+  private final Instant timestamp = Instant.now();
+  private final Map<String, Object> fields = new LinkedHashMap<>();
+
+  public static AuditRecord create() {
+    return new AuditRecord();
+  }
+
+  /**
+   * Adds a field, ignored if the value is null.
+   */
+  public AuditRecord with(String name, Object value) {
+    if (value != null) {
+      fields.put(name, value);
+    }
+    return this;
+  }
+
+  public Map<String, Object> getFields() {
+    return Collections.unmodifiableMap(fields);
+  }
+
+  public Object get(String name) {
+    return fields.get(name);
+  }
+
+  /**
+   * @return the fields formatted as <code>name=value, name=value</code>.
+   */
+  @Override
+  public String toString() {
+    return fields.entrySet().stream()
+        .map(field -> field.getKey() + "=" + field.getValue())
+        .collect(Collectors.joining(", "));
+  }
+}
@@ -0,0 +1,74 @@
+package com.symphony.bdk.workflow.engine.handler.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free buffer with many producers and a single consumer.
+ *
+ * <p>Producers claim a slot by moving the tail forward and then publish their record in it. The consumer takes
+ * records from the head, in order, until it reaches a slot that is not published yet. A slot is reused only once the
+ * consumer has released it, a producer finding the buffer full does not wait.</p>
+ */
+class AuditRecordRingBuffer {
+  private final AtomicReferenceArray<AuditRecord> slots;
+  private final int capacity;
+  private final AtomicLong head = new AtomicLong();
+  private final AtomicLong tail = new AtomicLong();
+
+  AuditRecordRingBuffer(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive, got " + capacity);
+    }
+    this.capacity = capacity;
+    this.slots = new AtomicReferenceArray<>(capacity);
+  }
+
+  /**
+   * @return false if the buffer is full, the record is not added then.
+   */
+  boolean offer(AuditRecord auditRecord) {
+    long claimed;
+    do {
+      claimed = tail.get();
+      if (claimed - head.get() >= capacity) {
+        return false;
+      }
+    } while (!tail.compareAndSet(claimed, claimed + 1));
+    slots.set(index(claimed), auditRecord);
+    return true;
+  }
+
+  /**
+   * Moves published records to the given list, must only be called by the consumer thread.
+   *
+   * @return the number of records moved.
+   */
+  int drainTo(List<AuditRecord> records, int maxRecords) {
+    long position = head.get();
+    int drained = 0;
+    while (drained < maxRecords) {
+      int index = index(position);
+      AuditRecord auditRecord = slots.get(index);
+      if (auditRecord == null) {
+        break;
+      }
+      slots.set(index, null);
+      records.add(auditRecord);
+      position++;
+      drained++;
+    }
+    // releases the slots to the producers
+    head.set(position);
+    return drained;
+  }
+
+  int size() {
+    return (int) Math.max(0, tail.get() - head.get());
+  }
+
+  private int index(long position) {
+    return (int) (position % capacity);
+  }
+}
@@ -3,6 +3,7 @@ package com.symphony.bdk.workflow.engine.handler.audit;
 import com.symphony.bdk.workflow.engine.executor.ActivityExecutorContext;
 import com.symphony.bdk.workflow.engine.handler.HistoricEventAction;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
@@ -18,11 +19,22 @@ import org.springframework.stereotype.Component;
 
 import java.util.List;
 
+/**
+ * Records the audit trail of workflow executions and deployments, written in the background by
+ * {@link AuditTrailWriter}.
+ */
 @Component
 @Slf4j(topic = "audit-trail")
+@RequiredArgsConstructor
 public class AuditTrailLogAction implements HistoricEventAction {
+  private final AuditTrailWriter auditTrailWriter;
+
   @Override
   public void execute(HistoryEvent historyEvent) {
+    if (!auditTrailWriter.isEnabled()) {
+      return;
+    }
+
     if (historyEvent instanceof HistoricJobLogEvent) {
       logJobEvent((HistoricJobLogEvent) historyEvent);
 
@@ -41,66 +53,70 @@ public class AuditTrailLogAction implements HistoricEventAction {
   }
 
   public void execute(DelegateExecution execution, String activityType) {
-    log.info("event={}, process={}, process_key={}, activity={}, activity_name={}, activity_type={}",
-        "execute_activity", execution.getProcessDefinitionId(),
-        ((ExecutionEntity) execution).getProcessDefinition().getKey(),
-        execution.getCurrentActivityId(), execution.getCurrentActivityName(),
-        activityType);
+    if (!auditTrailWriter.isEnabled()) {
+      return;
+    }
+    auditTrailWriter.write(AuditRecord.create()
+        .with("event", "execute_activity")
+        .with("process", execution.getProcessDefinitionId())
+        .with("process_key", ((ExecutionEntity) execution).getProcessDefinition().getKey())
+        .with("activity", execution.getCurrentActivityId())
+        .with("activity_name", execution.getCurrentActivityName())
+        .with("activity_type", activityType));
   }
 
   private void logJobEvent(HistoricJobLogEvent event) {
-    log.info("job={}, job_type={}, process={}, process_key={}, activity={}",
-        event.getJobId(), event.getJobDefinitionType(),
-        event.getProcessInstanceId(), event.getProcessDefinitionKey(),
-        event.getActivityId());
+    auditTrailWriter.write(AuditRecord.create()
+        .with("job", event.getJobId())
+        .with("job_type", event.getJobDefinitionType())
+        .with("process", event.getProcessInstanceId())
+        .with("process_key", event.getProcessDefinitionKey())
+        .with("activity", event.getActivityId()));
   }
 
   private void logProcessEvent(HistoricProcessInstanceEventEntity event) {
-    if (event.getDurationInMillis() == null) {
-      log.info("event={}_process, process={}, process_key={}",
-          event.getEventType(),
-          event.getProcessInstanceId(), event.getProcessDefinitionKey());
-    } else {
-      log.info("event={}_process, process={}, process_key={}, duration={}",
-          event.getEventType(),
-          event.getProcessInstanceId(), event.getProcessDefinitionKey(),
-          event.getDurationInMillis());
-    }
+    // the duration is only set once the process has ended
+    auditTrailWriter.write(AuditRecord.create()
+        .with("event", event.getEventType() + "_process")
+        .with("process", event.getProcessInstanceId())
+        .with("process_key", event.getProcessDefinitionKey())
+        .with("duration", event.getDurationInMillis()));
   }
 
   private void logActivityEvent(HistoricActivityInstanceEventEntity event) {
-    if (event.getDurationInMillis() == null) {
-      log.info("event={}_activity, process={}, process_key={}, activity={}, activity_name={}",
-          event.getEventType(),
-          event.getProcessInstanceId(), event.getProcessDefinitionKey(),
-          event.getActivityId(), event.getActivityName());
-    } else {
-      log.info("event={}_activity, process={}, process_key={}, activity={}, activity_name={}, duration={}",
-          event.getEventType(),
-          event.getProcessInstanceId(), event.getProcessDefinitionKey(),
-          event.getActivityId(), event.getActivityName(),
-          event.getDurationInMillis());
-    }
+    auditTrailWriter.write(AuditRecord.create()
+        .with("event", event.getEventType() + "_activity")
+        .with("process", event.getProcessInstanceId())
+        .with("process_key", event.getProcessDefinitionKey())
+        .with("activity", event.getActivityId())
+        .with("activity_name", event.getActivityName())
+        .with("duration", event.getDurationInMillis()));
   }
 
   private void logVariableEvent(HistoricVariableUpdateEventEntity event) {
     // for DF events the initiator variable is set to pass the user id that triggered the execution
     if (ActivityExecutorContext.INITIATOR.equals(event.getVariableName())
         && event.getLongValue() != null) {
-      log.info("initiator={}, process={}, process_key={}",
-          event.getLongValue(),
-          event.getProcessInstanceId(), event.getProcessDefinitionKey());
+      auditTrailWriter.write(AuditRecord.create()
+          .with("initiator", event.getLongValue())
+          .with("process", event.getProcessInstanceId())
+          .with("process_key", event.getProcessDefinitionKey()));
     }
   }
 
   public void deployed(Deployment deployment) {
-    log.info("event={}, deployment={}, deployment_name={}, process_key={}",
-        "deploy_workflow", deployment.getId(), deployment.getName(), getProcessKey(deployment));
+    auditTrailWriter.write(AuditRecord.create()
+        .with("event", "deploy_workflow")
+        .with("deployment", deployment.getId())
+        .with("deployment_name", deployment.getName())
+        .with("process_key", getProcessKey(deployment)));
   }
 
   public void undeployed(Deployment deployment) {
-    log.info("event={}, deployment={}, deployment_name={}",
-        "undeploy_workflow", deployment.getId(), deployment.getName());
+    auditTrailWriter.write(AuditRecord.create()
+        .with("event", "undeploy_workflow")
+        .with("deployment", deployment.getId())
+        .with("deployment_name", deployment.getName()));
   }
 
   @SuppressWarnings("rawtypes")
@@ -0,0 +1,59 @@
+package com.symphony.bdk.workflow.engine.handler.audit;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Audit trail line stored by {@link DatabaseAuditTrailSink}, the process and event are extracted to be queried.
+ */
+@Entity
+@Table(name = "AUDIT_TRAIL")
+@Data
+@NoArgsConstructor
+public class AuditTrailRecord {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "ID")
+  private Long id;
+
+  @Column(name = "TIMESTAMP", nullable = false)
+  private Instant timestamp;
+
+  @Column(name = "EVENT", length = 100)
+  private String event;
+
+  @Column(name = "PROCESS", length = 64)
+  private String process;
+
+  @Column(name = "PROCESS_KEY", length = 100)
+  private String processKey;
+
+  @JdbcTypeCode(SqlTypes.JSON)
+  @Column(name = "DETAILS", columnDefinition = "json")
+  private Map<String, Object> details = new HashMap<>();
+
+  public AuditTrailRecord(AuditRecord auditRecord) {
+    this.timestamp = auditRecord.getTimestamp();
+    this.event = stringOrNull(auditRecord.get("event"));
+    this.process = stringOrNull(auditRecord.get("process"));
+    this.processKey = stringOrNull(auditRecord.get("process_key"));
+    this.details = new HashMap<>(auditRecord.getFields());
+  }
+
+  private static String stringOrNull(Object value) {
+    return value == null ? null : value.toString();
+  }
+}
@@ -0,0 +1,10 @@
+package com.symphony.bdk.workflow.engine.handler.audit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@ConditionalOnProperty(name = "wdk.properties.audit-trail.sink", havingValue = "database")
+public interface AuditTrailRecordRepository extends JpaRepository<AuditTrailRecord, Long> {
+}
@@ -0,0 +1,24 @@
+package com.symphony.bdk.workflow.engine.handler.audit;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of the audit trail, records are written in batches from a single thread.
+ *
+ * <p>Selected with <code>wdk.properties.audit-trail.sink</code>.</p>
+ */
+public interface AuditTrailSink {
+
+  /**
+   * @return false if records would be discarded anyway, so they are not even created.
+   */
+  default boolean isEnabled() {
+    return true;
+  }
+
+  /**
+   * @param records records in the order they were recorded.
+   */
+  void write(List<AuditRecord> records) throws IOException;
+}
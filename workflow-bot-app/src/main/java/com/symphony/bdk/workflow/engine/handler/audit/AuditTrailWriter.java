@@ -0,0 +1,113 @@
+package com.symphony.bdk.workflow.engine.handler.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Writes the audit trail in the background so that workflow executions do not wait for it.
+ *
+ * <p>Records are buffered and written in batches to the configured {@link AuditTrailSink}, by a single thread. When
+ * the buffer is full, i.e. the sink cannot keep up, new records are dropped rather than slowing down the workflows.
+ * Dropped records are counted (<code>workflow.audit.dropped</code> metric) and reported in the logs. A batch that
+ * fails to be written is dropped too.</p>
+ */
+@Slf4j
+@Component
+public class AuditTrailWriter {
+  private final AuditTrailSink sink;
+  private final AuditRecordRingBuffer buffer;
+  private final int batchSize;
+  private final long flushIntervalNanos;
+  private final Counter droppedCounter;
+  private final AtomicLong droppedSinceLastReport = new AtomicLong();
+  private final Thread writer;
+  private volatile boolean running = true;
+
+  public AuditTrailWriter(AuditTrailSink sink, MeterRegistry registry,
+      @Value("${wdk.properties.audit-trail.buffer-size:8192}") int bufferSize,
+      @Value("${wdk.properties.audit-trail.batch-size:256}") int batchSize,
+      @Value("${wdk.properties.audit-trail.flush-interval-ms:200}") long flushIntervalMillis) {
+    this.sink = sink;
+    this.buffer = new AuditRecordRingBuffer(bufferSize);
+    this.batchSize = batchSize;
+    this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+    this.droppedCounter = registry.counter("workflow.audit.dropped");
+    registry.gauge("workflow.audit.buffer.size", Tags.empty(), (ToDoubleFunction<Tags>) value -> buffer.size());
+    this.writer = new Thread(this::writeLoop, "audit-trail-writer");
+    this.writer.setDaemon(true);
+  }
+
+  @PostConstruct
+  void start() {
+    writer.start();
+  }
+
+  @PreDestroy
+  void stop() throws InterruptedException {
+    running = false;
+    LockSupport.unpark(writer);
+    writer.join(TimeUnit.SECONDS.toMillis(5));
+  }
+
+  /**
+   * @return false if records are discarded by the sink, callers can skip creating them.
+   */
+  public boolean isEnabled() {
+    return sink.isEnabled();
+  }
+
+  /**
+   * Buffers the record, without waiting. It is dropped if the buffer is full.
+   */
+  public void write(AuditRecord auditRecord) {
+    if (!buffer.offer(auditRecord)) {
+      droppedCounter.increment();
+      droppedSinceLastReport.incrementAndGet();
+    }
+  }
+
+  private void writeLoop() {
+    List<AuditRecord> batch = new ArrayList<>(batchSize);
+    while (running) {
+      int written = flush(batch);
+      if (written < batchSize) {
+        LockSupport.parkNanos(flushIntervalNanos);
+      }
+    }
+    // pending records are written before stopping
+    while (flush(batch) > 0) {
+      log.trace("Flushing the audit trail before stopping");
+    }
+  }
+
+  private int flush(List<AuditRecord> batch) {
+    int drained = buffer.drainTo(batch, batchSize);
+    if (drained > 0) {
+      try {
+        sink.write(batch);
+      } catch (Exception e) {
+        log.error("Failed to write {} audit trail records, they are dropped", drained, e);
+      }
+      batch.clear();
+    }
+    long dropped = droppedSinceLastReport.getAndSet(0);
+    if (dropped > 0) {
+      log.warn("Audit trail buffer is full, {} records have been dropped", dropped);
+    }
+    return drained;
+  }
+}
@@ -0,0 +1,23 @@
+package com.symphony.bdk.workflow.engine.handler.audit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Stores records in the AUDIT_TRAIL table of the WDK database, a batch per transaction.
+ */
+@Component
+@ConditionalOnProperty(name = "wdk.properties.audit-trail.sink", havingValue = "database")
+@RequiredArgsConstructor
+public class DatabaseAuditTrailSink implements AuditTrailSink {
+  private final AuditTrailRecordRepository auditTrailRecordRepository;
+
+  @Override
+  public void write(List<AuditRecord> records) {
+    auditTrailRecordRepository.saveAll(records.stream().map(AuditTrailRecord::new).collect(Collectors.toList()));
+  }
+}
@@ -0,0 +1,81 @@
+package com.symphony.bdk.workflow.engine.handler.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends records to a file, as a JSON object per line (NDJSON). Once the file exceeds its maximum size, it is rotated:
+ * <code>audit.ndjson</code> is renamed to <code>audit.ndjson.1</code>, <code>audit.ndjson.1</code> to
+ * <code>audit.ndjson.2</code> and so on, the oldest file being deleted.
+ */
+@Component
+@ConditionalOnProperty(name = "wdk.properties.audit-trail.sink", havingValue = "file")
+@Slf4j
+public class FileAuditTrailSink implements AuditTrailSink {
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final byte[] LINE_SEPARATOR = "\n".getBytes(StandardCharsets.UTF_8);
+
+  private final Path file;
+  private final long maxSize;
+  private final int maxFiles;
+
+  public FileAuditTrailSink(@Value("${wdk.properties.audit-trail.file.path:./audit/audit.ndjson}") String file,
+      @Value("${wdk.properties.audit-trail.file.max-size:10MB}") DataSize maxSize,
+      @Value("${wdk.properties.audit-trail.file.max-files:5}") int maxFiles) throws IOException {
+    this.file = Paths.get(file).toAbsolutePath();
+    this.maxSize = maxSize.toBytes();
+    this.maxFiles = maxFiles;
+    Files.createDirectories(this.file.getParent());
+    log.info("Audit trail is written to {}", this.file);
+  }
+
+  @Override
+  public void write(List<AuditRecord> records) throws IOException {
+    if (Files.exists(file) && Files.size(file) >= maxSize) {
+      rotate();
+    }
+    try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+      for (AuditRecord auditRecord : records) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("timestamp", auditRecord.getTimestamp().toString());
+        line.putAll(auditRecord.getFields());
+        out.write(OBJECT_MAPPER.writeValueAsBytes(line));
+        out.write(LINE_SEPARATOR);
+      }
+    }
+  }
+
+  private void rotate() throws IOException {
+    Files.deleteIfExists(rotated(maxFiles));
+    for (int i = maxFiles - 1; i >= 1; i--) {
+      if (Files.exists(rotated(i))) {
+        Files.move(rotated(i), rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+      }
+    }
+    if (maxFiles > 0) {
+      Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+    } else {
+      Files.delete(file);
+    }
+  }
+
+  private Path rotated(int index) {
+    return file.resolveSibling(file.getFileName() + "." + index);
+  }
+}
@@ -0,0 +1,27 @@
+package com.symphony.bdk.workflow.engine.handler.audit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Default sink, logs a line per record. The audit trail can be disabled by setting the <code>audit-trail</code>
+ * logger level to WARN.
+ */
+@Component
+@ConditionalOnProperty(name = "wdk.properties.audit-trail.sink", havingValue = "log", matchIfMissing = true)
+@Slf4j(topic = "audit-trail")
+public class LogAuditTrailSink implements AuditTrailSink {
+
+  @Override
+  public boolean isEnabled() {
+    return log.isInfoEnabled();
+  }
+
+  @Override
+  public void write(List<AuditRecord> records) {
+    records.forEach(auditRecord -> log.info("{}", auditRecord));
+  }
+}
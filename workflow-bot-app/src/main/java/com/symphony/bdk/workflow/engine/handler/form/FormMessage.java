@@ -0,0 +1,29 @@
+package com.symphony.bdk.workflow.engine.handler.form;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * A message containing a form with the process instance that sent it, stored so that replies to forms are correlated
+ * after a restart too.
+ */
+@Entity
+@Table(name = "FORM_MESSAGE_INDEX", indexes = @Index(columnList = "PROCESS_INSTANCE_ID"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FormMessage {
+  @Id
+  @Column(name = "MESSAGE_ID", length = 100)
+  private String messageId;
+
+  @Column(name = "PROCESS_INSTANCE_ID", length = 64, nullable = false)
+  private String processInstanceId;
+}
@@ -0,0 +1,27 @@
+package com.symphony.bdk.workflow.engine.handler.form;
+
+import com.symphony.bdk.workflow.engine.handler.HistoricEventAction;
+import com.symphony.bdk.workflow.event.FormMessageIndex;
+
+import lombok.RequiredArgsConstructor;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.springframework.stereotype.Component;
+
+/**
+ * Forms sent by a process cannot be replied to once it has ended, their message ids are removed from the index.
+ */
+@Component
+@RequiredArgsConstructor
+public class FormMessageIndexCleanupAction implements HistoricEventAction {
+  private final FormMessageIndex formMessageIndex;
+
+  @Override
+  public void execute(HistoryEvent historyEvent) {
+    if (historyEvent instanceof HistoricProcessInstanceEventEntity
+        && HistoryEventTypes.PROCESS_INSTANCE_END.getEventName().equals(historyEvent.getEventType())) {
+      formMessageIndex.remove(historyEvent.getProcessInstanceId());
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package com.symphony.bdk.workflow.engine.handler.form;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FormMessageRepository extends JpaRepository<FormMessage, String> {
+  @Modifying
+  @Query("delete from FormMessage m where m.processInstanceId = :processInstanceId")
+  int deleteByProcessInstanceId(@Param("processInstanceId") String processInstanceId);
+}
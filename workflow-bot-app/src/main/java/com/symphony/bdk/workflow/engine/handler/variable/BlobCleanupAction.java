@@ -0,0 +1,37 @@
+package com.symphony.bdk.workflow.engine.handler.variable;
+
+import com.symphony.bdk.workflow.engine.camunda.variable.BlobStore;
+import com.symphony.bdk.workflow.engine.handler.HistoricEventAction;
+
+import lombok.RequiredArgsConstructor;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * The blobs of a process are removed once it has ended, when the transaction ending it is committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class BlobCleanupAction implements HistoricEventAction {
+  private final BlobStore blobStore;
+
+  @Override
+  public void execute(HistoryEvent historyEvent) {
+    if (historyEvent instanceof HistoricProcessInstanceEventEntity
+        && HistoryEventTypes.PROCESS_INSTANCE_END.getEventName().equals(historyEvent.getEventType())) {
+      String processInstanceId = historyEvent.getProcessInstanceId();
+      CommandContext commandContext = Context.getCommandContext();
+      if (commandContext == null) {
+        blobStore.remove(processInstanceId);
+      } else {
+        commandContext.getTransactionContext().addTransactionListener(TransactionState.COMMITTED,
+            context -> blobStore.remove(processInstanceId));
+      }
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package com.symphony.bdk.workflow.engine.secret;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A decrypted secret kept in memory, its bytes are overwritten once it is evicted.
+ */
+class DecryptedSecret {
+  private byte[] value;
+
+  DecryptedSecret(byte[] value) {
+    this.value = value;
+  }
+
+  /**
+   * @return the secret, null if it has been wiped.
+   */
+  synchronized String asString() {
+    return value == null ? null : new String(value, StandardCharsets.UTF_8);
+  }
+
+  synchronized void wipe() {
+    if (value != null) {
+      Arrays.fill(value, (byte) 0);
+      value = null;
+    }
+  }
+}
@@ -3,17 +3,29 @@ package com.symphony.bdk.workflow.engine.secret;
 import com.symphony.bdk.workflow.engine.executor.SecretKeeper;
 import com.symphony.bdk.workflow.exception.DuplicateException;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+/**
+ * Stores the secrets encrypted in the database.
+ *
+ * <p>Decrypted secrets are cached for a limited time, their bytes being overwritten once evicted. A secret saved or
+ * removed is evicted from the cache of this instance only, other instances see the change once their cached secret
+ * has expired.</p>
+ */
 @Service
 @Transactional
 @Slf4j
@@ -22,9 +34,26 @@ public class DefaultSecretKeeper implements SecretKeeper {
 
   private final SecretCryptVault vault;
 
-  public DefaultSecretKeeper(SecretRepository repository, SecretCryptVault vault) {
+  private final Cache<String, DecryptedSecret> cache;
+
+  public DefaultSecretKeeper(SecretRepository repository, SecretCryptVault vault,
+      @Value("${wdk.properties.secrets.cache.ttl-ms:300000}") long cacheTtlMs,
+      @Value("${wdk.properties.secrets.cache.max-size:1000}") long cacheMaxSize) {
     this.repository = repository;
     this.vault = vault;
+    if (cacheTtlMs > 0 && cacheMaxSize > 0) {
+      this.cache = Caffeine.newBuilder()
+          .expireAfterWrite(Duration.ofMillis(cacheTtlMs))
+          .maximumSize(cacheMaxSize)
+          .<String, DecryptedSecret>removalListener((key, secret, cause) -> {
+            if (secret != null) {
+              secret.wipe();
+            }
+          })
+          .build();
+    } else {
+      this.cache = null;
+    }
   }
 
   @Override
@@ -35,25 +64,68 @@ public class DefaultSecretKeeper implements SecretKeeper {
       throw new DuplicateException("Secret reference key exists already.");
     }
     repository.save(new SecretDomain(key, Base64.getEncoder().encodeToString(vault.encrypt(secret))));
+    invalidate(key);
   }
 
   @Override
   public String get(String key) {
-    String secret = repository.findByRef(key).orElse(new SecretDomain()).getSecret();
-    return secret == null ? null
-        : new String(vault.decrypt(Base64.getDecoder().decode(secret)), StandardCharsets.UTF_8);
+    if (cache == null) {
+      return uncached(key);
+    }
+    DecryptedSecret cached = cache.get(key, k -> load(k).orElse(null));
+    String secret = cached == null ? null : cached.asString();
+    if (cached != null && secret == null) {
+      // wiped by an eviction while being read
+      return uncached(key);
+    }
+    return secret;
+  }
+
+  private String uncached(String key) {
+    DecryptedSecret secret = load(key).orElse(null);
+    if (secret == null) {
+      return null;
+    }
+    try {
+      return secret.asString();
+    } finally {
+      secret.wipe();
+    }
+  }
+
+  private Optional<DecryptedSecret> load(String key) {
+    return repository.findByRef(key)
+        .map(SecretDomain::getSecret)
+        .map(secret -> new DecryptedSecret(vault.decrypt(Base64.getDecoder().decode(secret))));
   }
 
   @Override
   public void remove(String key) {
     repository.deleteByRef(key);
+    invalidate(key);
+  }
+
+  // evicted right away and once committed, a concurrent read could cache the secret in between
+  private void invalidate(String key) {
+    if (cache == null) {
+      return;
+    }
+    cache.invalidate(key);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          cache.invalidate(key);
+        }
+      });
+    }
   }
 
   @Override
   public List<SecretMetadata> getSecretsMetadata() {
-    return repository.findAll()
+    return repository.findAllProjectedBy()
         .stream()
-        .map(domain -> new SecretMetadata(domain.getRef(), Instant.ofEpochMilli(domain.getCreatedAt())))
+        .map(secret -> new SecretMetadata(secret.getRef(), Instant.ofEpochMilli(secret.getCreatedAt())))
         .collect(
             Collectors.toList());
   }
@@ -24,6 +24,8 @@ public class SecretCryptVault {
   private SecureRandom secureRandom = new SecureRandom();
   private final CryptVersion[] cryptVersions = new CryptVersion[256];
   private int defaultVersion = -1;
+  // creating a cipher looks up the security providers, it is reused by each thread and initialized for each operation
+  private final ThreadLocal<Cipher> ciphers = new ThreadLocal<>();
 
   /**
    * AES simply pads to 128 bits
@@ -73,8 +75,8 @@ public class SecretCryptVault {
       byte[] nonce = new byte[ALGORITHM_NONCE_SIZE];
       secureRandom.nextBytes(nonce);
 
-      // Create the cipher instance and initialize.
-      Cipher cipher = Cipher.getInstance(DEFAULT_CIPHER);
+      // Get the cipher instance and initialize.
+      Cipher cipher = cipher();
       cipher.init(Cipher.ENCRYPT_MODE, cryptVersion.key, new GCMParameterSpec(ALGORITHM_TAG_SIZE, nonce));
 
       // Encrypt and prepend nonce.
@@ -101,8 +103,8 @@ public class SecretCryptVault {
       System.arraycopy(ciphertextAndNonce, 1, nonce, 0, nonce.length);
       System.arraycopy(ciphertextAndNonce, nonce.length + 1, ciphertext, 0, ciphertext.length);
 
-      // Create the cipher instance and initialize.
-      Cipher cipher = Cipher.getInstance(DEFAULT_CIPHER);
+      // Get the cipher instance and initialize.
+      Cipher cipher = cipher();
       cipher.init(Cipher.DECRYPT_MODE, cryptVersion.key, new GCMParameterSpec(ALGORITHM_TAG_SIZE, nonce));
 
       // Decrypt and return result.
@@ -113,6 +115,15 @@ public class SecretCryptVault {
     }
   }
 
+  private Cipher cipher() throws NoSuchAlgorithmException, NoSuchPaddingException {
+    Cipher cipher = ciphers.get();
+    if (cipher == null) {
+      cipher = Cipher.getInstance(DEFAULT_CIPHER);
+      ciphers.set(cipher);
+    }
+    return cipher;
+  }
+
   private CryptVersion cryptVersion(int version) {
     try {
       CryptVersion result = cryptVersions[version];
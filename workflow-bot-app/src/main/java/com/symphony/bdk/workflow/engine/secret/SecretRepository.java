@@ -3,6 +3,7 @@ package com.symphony.bdk.workflow.engine.secret;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -10,4 +11,15 @@ public interface SecretRepository extends JpaRepository<SecretDomain, String> {
   Optional<SecretDomain> findByRef(String ref);
 
   void deleteByRef(String ref);
+
+  /**
+   * @return the secrets without their encrypted value.
+   */
+  List<SecretRef> findAllProjectedBy();
+
+  interface SecretRef {
+    String getRef();
+
+    Long getCreatedAt();
+  }
 }
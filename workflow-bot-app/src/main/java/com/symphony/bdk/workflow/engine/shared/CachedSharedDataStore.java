@@ -0,0 +1,244 @@
+package com.symphony.bdk.workflow.engine.shared;
+
+import com.symphony.bdk.workflow.engine.executor.SharedDataStore;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Keeps the shared data namespaces in memory, so that reading shared data does not query the database.
+ *
+ * <p>Writes to a namespace are serialized by a lock, striped by namespace, and visible to the next reads on this node
+ * as soon as they return (read-your-writes). Atomic operations are a single critical section under that lock. Writes
+ * are stored in the database before returning or, with write-behind enabled, in batches by a background thread: writes
+ * pending when the application stops are flushed then but the ones of a crashed node are lost.</p>
+ *
+ * <p>The cache is local to a node, writes from other nodes are only seen once the namespace is evicted. It should only
+ * be enabled if a single node writes shared data.</p>
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(name = "wdk.properties.shared-data.cache.enabled", havingValue = "true")
+public class CachedSharedDataStore implements SharedDataStore {
+  private final DefaultSharedDataStore delegate;
+  private final Lock[] locks;
+  // read without locking, a namespace is replaced by a new copy on each write
+  private final Cache<String, Map<String, SharedValue>> namespaces;
+  // write-behind only, written keys by namespace, guarded by the lock of their namespace
+  private final Map<String, Map<String, SharedValue>> pendingWrites = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService flusher;
+
+  public CachedSharedDataStore(DefaultSharedDataStore delegate,
+      @Value("${wdk.properties.shared-data.cache.stripes:0}") int stripes,
+      @Value("${wdk.properties.shared-data.cache.max-namespaces:1000}") long maxNamespaces,
+      @Value("${wdk.properties.shared-data.cache.write-behind-ms:0}") long writeBehindMs) {
+    this.delegate = delegate;
+    int stripeCount = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors() * 4;
+    this.locks = new Lock[stripeCount];
+    for (int i = 0; i < stripeCount; i++) {
+      locks[i] = new ReentrantLock();
+    }
+    this.namespaces = Caffeine.newBuilder().maximumSize(maxNamespaces).build();
+
+    if (writeBehindMs > 0) {
+      this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "shared-data-flusher");
+        thread.setDaemon(true);
+        return thread;
+      });
+      flusher.scheduleWithFixedDelay(this::flush, writeBehindMs, writeBehindMs, TimeUnit.MILLISECONDS);
+      log.info("Shared data is written every {}ms", writeBehindMs);
+    } else {
+      this.flusher = null;
+    }
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (flusher != null) {
+      flusher.shutdown();
+      flush();
+    }
+  }
+
+  @Override
+  public Map<String, Object> getNamespaceData(String namespace) {
+    long now = Instant.now().toEpochMilli();
+    Map<String, Object> data = new HashMap<>();
+    values(namespace).forEach((key, value) -> {
+      if (!value.isExpired(now)) {
+        data.put(key, value.getData());
+      }
+    });
+    return data;
+  }
+
+  @Override
+  public Object get(String namespace, String key) {
+    SharedValue value = values(namespace).get(key);
+    return value == null || value.isExpired(Instant.now().toEpochMilli()) ? null : value.getData();
+  }
+
+  @Override
+  public Map<String, Object> getAll(String namespace, Collection<String> keys) {
+    long now = Instant.now().toEpochMilli();
+    Map<String, SharedValue> values = values(namespace);
+    Map<String, Object> data = new HashMap<>();
+    for (String key : keys) {
+      SharedValue value = values.get(key);
+      if (value != null && !value.isExpired(now)) {
+        data.put(key, value.getData());
+      }
+    }
+    return data;
+  }
+
+  @Override
+  public void putNamespaceData(String namespace, String key, Object data) {
+    update(namespace, current -> Map.of(key, SharedValue.of(data)));
+  }
+
+  @Override
+  public void putNamespaceData(String namespace, String key, Object data, Duration ttl) {
+    update(namespace, current -> Map.of(key, SharedValue.of(data, ttl)));
+  }
+
+  @Override
+  public void putAll(String namespace, Map<String, Object> data) {
+    Map<String, SharedValue> values = new HashMap<>();
+    data.forEach((key, value) -> values.put(key, SharedValue.of(value)));
+    update(namespace, current -> values);
+  }
+
+  @Override
+  public long increment(String namespace, String key, long delta) {
+    long[] result = new long[1];
+    update(namespace, current -> {
+      SharedValue value = current(current, key);
+      result[0] = SharedValue.toLong(namespace, key, value.getData()) + delta;
+      // the expiration is kept, a counter can be reset periodically that way
+      return Map.of(key, new SharedValue(result[0], value.getExpiresAt()));
+    });
+    return result[0];
+  }
+
+  @Override
+  public boolean compareAndSet(String namespace, String key, Object expected, Object data) {
+    boolean[] result = new boolean[1];
+    update(namespace, current -> {
+      result[0] = SharedValue.sameData(current(current, key).getData(), expected);
+      return result[0] ? Map.of(key, SharedValue.of(data)) : Map.of();
+    });
+    return result[0];
+  }
+
+  @Override
+  public Object putIfAbsent(String namespace, String key, Object data) {
+    Object[] result = new Object[1];
+    update(namespace, current -> {
+      result[0] = current(current, key).getData();
+      return result[0] == null ? Map.of(key, SharedValue.of(data)) : Map.of();
+    });
+    return result[0];
+  }
+
+  private Map<String, SharedValue> values(String namespace) {
+    Map<String, SharedValue> values = namespaces.getIfPresent(namespace);
+    if (values != null) {
+      return values;
+    }
+    // loaded under the lock so that a write being flushed is not missed
+    Lock lock = lock(namespace);
+    lock.lock();
+    try {
+      return namespaces.get(namespace, this::load);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static SharedValue current(Map<String, SharedValue> values, String key) {
+    SharedValue value = values.get(key);
+    return value == null || value.isExpired(Instant.now().toEpochMilli()) ? SharedValue.of(null) : value;
+  }
+
+  /**
+   * Applies the writes computed from the current values of the namespace, in a single critical section.
+   */
+  private void update(String namespace, Function<Map<String, SharedValue>, Map<String, SharedValue>> writes) {
+    Lock lock = lock(namespace);
+    lock.lock();
+    try {
+      Map<String, SharedValue> current = namespaces.get(namespace, this::load);
+      Map<String, SharedValue> written = writes.apply(current);
+      if (written.isEmpty()) {
+        return;
+      }
+      if (flusher == null) {
+        delegate.putValues(namespace, written);
+      } else {
+        pendingWrites.computeIfAbsent(namespace, n -> new HashMap<>()).putAll(written);
+      }
+      Map<String, SharedValue> updated = new HashMap<>(current);
+      updated.putAll(written);
+      namespaces.put(namespace, Collections.unmodifiableMap(updated));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private Map<String, SharedValue> load(String namespace) {
+    Map<String, SharedValue> values = delegate.getNamespaceValues(namespace);
+    // the cached namespace might have been evicted before its writes are flushed
+    values.putAll(pendingWrites.getOrDefault(namespace, Map.of()));
+    return Collections.unmodifiableMap(values);
+  }
+
+  /**
+   * Writes the pending writes, a transaction per namespace. The writes of a namespace failing to be written are kept
+   * for the next flush.
+   */
+  void flush() {
+    for (String namespace : pendingWrites.keySet()) {
+      Lock lock = lock(namespace);
+      lock.lock();
+      try {
+        Map<String, SharedValue> writes = pendingWrites.get(namespace);
+        if (writes != null) {
+          delegate.putValues(namespace, writes);
+          pendingWrites.remove(namespace);
+        }
+      } catch (RuntimeException e) {
+        log.error("Failed to write shared data of namespace {}, it will be retried", namespace, e);
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  private Lock lock(String namespace) {
+    return locks[Math.floorMod(namespace.hashCode(), locks.length)];
+  }
+}
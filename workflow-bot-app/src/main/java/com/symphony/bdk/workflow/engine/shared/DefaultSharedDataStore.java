@@ -3,29 +3,176 @@ package com.symphony.bdk.workflow.engine.shared;
 import com.symphony.bdk.workflow.engine.executor.SharedDataStore;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * Stores shared data in the database, a row per key: writing a key only updates its own row.
+ *
+ * <p>Atomic operations lock the row of their key for the duration of their transaction. Values being stored as JSON,
+ * they are read, updated and written back rather than updated by a single statement, which would depend on the JSON
+ * functions of each database. A key that does not exist yet has no row to lock: an empty row is inserted first, in its
+ * own transaction, the insertion failing on the unique constraint of the key if a concurrent transaction inserted it
+ * first, and is then locked.</p>
+ *
+ * <p>Expired keys are ignored when read and deleted periodically.</p>
+ */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 @Transactional(propagation = Propagation.REQUIRES_NEW)
 public class DefaultSharedDataStore implements SharedDataStore {
-  private final SharedDataRepository repository;
+  private final SharedDataEntryRepository repository;
 
   @Override
   public Map<String, Object> getNamespaceData(String namespace) {
-    return repository.findByNamespace(namespace).orElse(new SharedData()).getProperties();
+    Map<String, Object> data = new HashMap<>();
+    getNamespaceValues(namespace).forEach((key, value) -> data.put(key, value.getData()));
+    return data;
+  }
+
+  /**
+   * @return the keys of the namespace that are not expired, with their expiration time.
+   */
+  Map<String, SharedValue> getNamespaceValues(String namespace) {
+    long now = Instant.now().toEpochMilli();
+    // values can be null, Collectors.toMap does not support them
+    Map<String, SharedValue> values = new HashMap<>();
+    repository.findByNamespace(namespace).stream()
+        .filter(entry -> !entry.isExpired(now))
+        .forEach(entry -> values.put(entry.getKey(), new SharedValue(entry.getValue(), entry.getExpiresAt())));
+    return values;
   }
 
   @Override
   public void putNamespaceData(String namespace, String key, Object data) {
-    SharedData sharedData = repository.findByNamespace(namespace).orElse(new SharedData().namespace(namespace));
-    sharedData.getProperties().put(key, data);
-    sharedData.setLastUpdated(Instant.now().toEpochMilli());
-    repository.save(sharedData);
+    putValues(namespace, Map.of(key, SharedValue.of(data)));
+  }
+
+  @Override
+  public void putNamespaceData(String namespace, String key, Object data, Duration ttl) {
+    putValues(namespace, Map.of(key, SharedValue.of(data, ttl)));
+  }
+
+  @Override
+  public Object get(String namespace, String key) {
+    long now = Instant.now().toEpochMilli();
+    return repository.findByNamespaceAndKey(namespace, key)
+        .filter(entry -> !entry.isExpired(now))
+        .map(SharedDataEntry::getValue)
+        .orElse(null);
+  }
+
+  @Override
+  public Map<String, Object> getAll(String namespace, Collection<String> keys) {
+    long now = Instant.now().toEpochMilli();
+    Map<String, Object> data = new HashMap<>();
+    repository.findByNamespaceAndKeyIn(namespace, keys).stream()
+        .filter(entry -> !entry.isExpired(now))
+        .forEach(entry -> data.put(entry.getKey(), entry.getValue()));
+    return data;
+  }
+
+  @Override
+  public void putAll(String namespace, Map<String, Object> data) {
+    Map<String, SharedValue> values = new HashMap<>();
+    data.forEach((key, value) -> values.put(key, SharedValue.of(value)));
+    putValues(namespace, values);
+  }
+
+  /**
+   * Writes several keys of a namespace in a single transaction.
+   */
+  void putValues(String namespace, Map<String, SharedValue> values) {
+    Map<String, SharedDataEntry> entries = repository.findByNamespaceAndKeyIn(namespace, values.keySet()).stream()
+        .collect(Collectors.toMap(SharedDataEntry::getKey, Function.identity()));
+    long lastUpdated = Instant.now().toEpochMilli();
+    values.forEach((key, value) -> {
+      SharedDataEntry entry = entries.computeIfAbsent(key, k -> new SharedDataEntry().namespace(namespace).key(k));
+      write(entry, value, lastUpdated);
+    });
+    repository.saveAll(entries.values());
+  }
+
+  @Override
+  public long increment(String namespace, String key, long delta) {
+    SharedDataEntry entry = lockEntry(namespace, key);
+    long value = SharedValue.toLong(namespace, key, entry.getValue()) + delta;
+    // the expiration is kept, a counter can be reset periodically that way
+    write(entry, new SharedValue(value, entry.getExpiresAt()), Instant.now().toEpochMilli());
+    repository.save(entry);
+    return value;
+  }
+
+  @Override
+  public boolean compareAndSet(String namespace, String key, Object expected, Object data) {
+    // no empty row is left behind for a key that is not set and cannot be set
+    if (expected != null && !repository.existsByNamespaceAndKey(namespace, key)) {
+      return false;
+    }
+    SharedDataEntry entry = lockEntry(namespace, key);
+    if (!SharedValue.sameData(entry.getValue(), expected)) {
+      return false;
+    }
+    write(entry, SharedValue.of(data), Instant.now().toEpochMilli());
+    repository.save(entry);
+    return true;
+  }
+
+  @Override
+  public Object putIfAbsent(String namespace, String key, Object data) {
+    SharedDataEntry entry = lockEntry(namespace, key);
+    if (entry.getValue() != null) {
+      return entry.getValue();
+    }
+    write(entry, SharedValue.of(data), Instant.now().toEpochMilli());
+    repository.save(entry);
+    return null;
+  }
+
+  @Scheduled(initialDelay = 60_000, fixedDelay = 60_000)
+  public void deleteExpired() {
+    int deleted = repository.deleteExpired(Instant.now().toEpochMilli());
+    if (deleted > 0) {
+      log.debug("Deleted {} expired shared data keys", deleted);
+    }
+  }
+
+  // the entry of the key, locked until the transaction ends, without value if the key is not set or has expired
+  private SharedDataEntry lockEntry(String namespace, String key) {
+    // checked without loading the entry, which the locking query would not refresh, and without locking, as some
+    // databases lock the gap where the row would be inserted, blocking the insertion
+    if (!repository.existsByNamespaceAndKey(namespace, key)) {
+      try {
+        repository.insert(new SharedDataEntry().namespace(namespace).key(key));
+      } catch (DataIntegrityViolationException e) {
+        log.debug("Shared data {} of namespace {} inserted concurrently", key, namespace);
+      }
+    }
+    SharedDataEntry entry = repository.findForUpdate(namespace, key).orElseThrow(() -> new IllegalStateException(
+        String.format("Shared data %s of namespace %s could not be locked", key, namespace)));
+    if (entry.isExpired(Instant.now().toEpochMilli())) {
+      entry.setValue(null);
+      entry.setExpiresAt(null);
+    }
+    return entry;
+  }
+
+  private static void write(SharedDataEntry entry, SharedValue value, long lastUpdated) {
+    entry.setValue(value.getData());
+    entry.setExpiresAt(value.getExpiresAt());
+    entry.setLastUpdated(lastUpdated);
   }
 }
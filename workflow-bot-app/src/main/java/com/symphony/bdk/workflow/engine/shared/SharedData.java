@@ -17,6 +17,10 @@ import jakarta.persistence.Table;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * A whole shared data namespace stored as a single JSON row, as it was before each key was stored in its own row (see
+ * {@link SharedDataEntry}). Only read to migrate the existing namespaces, see {@link SharedDataMigration}.
+ */
 @Entity
 @Table(name = "SHARED_STATE_DATA")
 @Convert(attributeName = "entityAttrName", converter = JsonType.class)
@@ -0,0 +1,58 @@
+package com.symphony.bdk.workflow.engine.shared;
+
+import lombok.Data;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * A key of a shared data namespace, stored in its own row so that writing a key does not rewrite the whole namespace.
+ */
+@Entity
+@Table(name = "SHARED_STATE_ENTRY", uniqueConstraints = @UniqueConstraint(columnNames = {"NAMESPACE", "ENTRY_KEY"}))
+@Data
+public class SharedDataEntry {
+  @Id
+  @GeneratedValue(generator = "system-uuid")
+  @GenericGenerator(name = "system-uuid", strategy = "uuid2")
+  @Column(name = "ID")
+  private String id;
+
+  @Column(name = "NAMESPACE", length = 15, nullable = false)
+  private String namespace;
+
+  @Column(name = "ENTRY_KEY", nullable = false)
+  private String key;
+
+  @JdbcTypeCode(SqlTypes.JSON)
+  @Column(name = "ENTRY_VALUE", columnDefinition = "json")
+  private Object value;
+
+  @Column(name = "LAST_UPDATED", length = 50)
+  private Long lastUpdated;
+
+  // epoch millis, null if the key does not expire
+  @Column(name = "EXPIRES_AT")
+  private Long expiresAt;
+
+  public SharedDataEntry namespace(String namespace) {
+    this.setNamespace(namespace);
+    return this;
+  }
+
+  public SharedDataEntry key(String key) {
+    this.setKey(key);
+    return this;
+  }
+
+  public boolean isExpired(long now) {
+    return expiresAt != null && expiresAt <= now;
+  }
+}
@@ -0,0 +1,44 @@
+package com.symphony.bdk.workflow.engine.shared;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.LockModeType;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SharedDataEntryRepository extends JpaRepository<SharedDataEntry, String> {
+  List<SharedDataEntry> findByNamespace(String namespace);
+
+  Optional<SharedDataEntry> findByNamespaceAndKey(String namespace, String key);
+
+  boolean existsByNamespaceAndKey(String namespace, String key);
+
+  List<SharedDataEntry> findByNamespaceAndKeyIn(String namespace, Collection<String> keys);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select e from SharedDataEntry e where e.namespace = :namespace and e.key = :key")
+  Optional<SharedDataEntry> findForUpdate(@Param("namespace") String namespace, @Param("key") String key);
+
+  /**
+   * Inserts an entry in its own transaction, so that failing on the unique constraint of its key, if a concurrent
+   * transaction inserted it first, does not roll back the calling transaction.
+   */
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  default void insert(SharedDataEntry entry) {
+    saveAndFlush(entry);
+  }
+
+  @Modifying
+  @Query("delete from SharedDataEntry e where e.expiresAt <= :now")
+  int deleteExpired(@Param("now") long now);
+}
@@ -0,0 +1,44 @@
+package com.symphony.bdk.workflow.engine.shared;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves the namespaces stored as a single row to key-level rows, once at startup. Keys already stored in their own row
+ * are more recent and kept as is.
+ *
+ * <p>It runs while the process engine is built (see
+ * {@link com.symphony.bdk.workflow.engine.camunda.CamundaEngineConfiguration}), before the job executor and the
+ * datafeed start, so that no workflow reads or writes shared data in the meantime.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SharedDataMigration {
+  private final SharedDataRepository namespaceRepository;
+  private final SharedDataEntryRepository entryRepository;
+
+  @Transactional
+  public void migrate() {
+    List<SharedData> namespaces = namespaceRepository.findAll();
+    for (SharedData namespace : namespaces) {
+      for (Map.Entry<String, Object> property : namespace.getProperties().entrySet()) {
+        if (entryRepository.findByNamespaceAndKey(namespace.getNamespace(), property.getKey()).isEmpty()) {
+          SharedDataEntry entry = new SharedDataEntry().namespace(namespace.getNamespace()).key(property.getKey());
+          entry.setValue(property.getValue());
+          entry.setLastUpdated(namespace.getLastUpdated());
+          entryRepository.save(entry);
+        }
+      }
+      namespaceRepository.delete(namespace);
+    }
+    if (!namespaces.isEmpty()) {
+      log.info("Migrated {} shared data namespaces to key-level rows", namespaces.size());
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package com.symphony.bdk.workflow.engine.shared;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A shared data value with its expiration time, epoch millis or null if it does not expire.
+ */
+@Value
+class SharedValue {
+  Object data;
+  Long expiresAt;
+
+  static SharedValue of(Object data) {
+    return new SharedValue(data, null);
+  }
+
+  static SharedValue of(Object data, Duration ttl) {
+    return new SharedValue(data, ttl == null ? null : Instant.now().plus(ttl).toEpochMilli());
+  }
+
+  boolean isExpired(long now) {
+    return expiresAt != null && expiresAt <= now;
+  }
+
+  /**
+   * Values read back from JSON do not keep their Java type, numbers are compared by value.
+   */
+  static boolean sameData(Object data, Object other) {
+    if (data instanceof Number && other instanceof Number) {
+      return new BigDecimal(data.toString()).compareTo(new BigDecimal(other.toString())) == 0;
+    }
+    return Objects.equals(data, other);
+  }
+
+  static long toLong(String namespace, String key, Object data) {
+    if (data == null) {
+      return 0;
+    }
+    if (!(data instanceof Number)) {
+      throw new IllegalArgumentException(
+          String.format("Shared data %s of namespace %s is not a number: %s", key, namespace, data));
+    }
+    return ((Number) data).longValue();
+  }
+}
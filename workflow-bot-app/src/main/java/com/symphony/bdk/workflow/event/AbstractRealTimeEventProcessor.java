@@ -6,6 +6,7 @@ import com.symphony.bdk.workflow.engine.executor.EventHolder;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.OptimisticLockingException;
 import org.camunda.bpm.engine.RuntimeService;
 import org.springframework.stereotype.Service;
 
@@ -16,15 +17,17 @@ import java.util.Map;
 @RequiredArgsConstructor
 @Slf4j
 public abstract class AbstractRealTimeEventProcessor<T> implements RealTimeEventProcessor<T> {
+  private static final int MAX_SEND_ATTEMPTS = 3;
 
   protected final RuntimeService runtimeService;
   protected final String eventName;
+  protected final EventSubscriptionRegistry eventSubscriptionRegistry;
 
   @Override
   public void process(RealTimeEvent<T> event) throws Exception {
     Map<String, Object> processVariables = new HashMap<>();
     processVariables.put(ActivityExecutorContext.EVENT,
-            new EventHolder<>(event.getInitiator(), event.getSource(), new HashMap<>()));
+            project(new EventHolder<>(event.getInitiator(), event.getSource(), new HashMap<>())));
 
     if (event.getInitiator() != null
             && event.getInitiator().getUser() != null
@@ -36,9 +39,44 @@ public abstract class AbstractRealTimeEventProcessor<T> implements RealTimeEvent
     processEventSource(event.getSource(), processVariables);
   }
 
+  /**
+   * The event is projected once, before being stored by the receiving workflows, on the fields they reference.
+   */
+  private EventHolder<?> project(EventHolder<T> event) {
+    return eventSubscriptionRegistry.eventPaths(eventName)
+        .<EventHolder<?>>map(paths -> {
+          log.trace("Keeping {} of the {} event", paths, eventName);
+          return EventProjection.project(event, paths);
+        })
+        .orElse(event);
+  }
+
   @SuppressWarnings({"unchecked", "rawtypes"})
   protected void processEventSource(T eventSource, Map<String, Object> variables) throws Exception {
     ((EventHolder) variables.get(ActivityExecutorContext.EVENT)).getArgs().put(EVENT_NAME_KEY, eventName);
-    runtimeService.createSignalEvent(eventName).setVariables(variables).send();
+    send(() -> runtimeService.createSignalEvent(eventName).setVariables(variables).send());
+  }
+
+  /**
+   * Sends a signal or correlates a message. Events from different streams are dispatched in parallel and might update
+   * the same waiting instances, a command failing on a concurrent update is retried a few times before giving up.
+   * Each command runs in its own transaction, only the failed one is retried so that the instances already reached by
+   * the event do not receive it twice.
+   */
+  protected void send(Runnable command) {
+    int attempt = 1;
+    while (true) {
+      try {
+        command.run();
+        return;
+      } catch (OptimisticLockingException e) {
+        if (attempt >= MAX_SEND_ATTEMPTS) {
+          throw e;
+        }
+        log.debug("Concurrent update while dispatching the {} event, attempt {}/{}", eventName, attempt,
+            MAX_SEND_ATTEMPTS);
+        attempt++;
+      }
+    }
   }
 }
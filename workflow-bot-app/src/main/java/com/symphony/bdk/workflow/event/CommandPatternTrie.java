@@ -0,0 +1,81 @@
+package com.symphony.bdk.workflow.event;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prefix tree over the literal part of message-received content patterns (e.g. <code>/hello {name}</code>).
+ * Walking a received message through the tree returns the only patterns that can possibly match it, so that the
+ * expensive Ant matching is not run against every deployed pattern.
+ *
+ * <p>Consecutive path separators are collapsed on both sides as {@link org.springframework.util.AntPathMatcher}
+ * ignores empty tokens.</p>
+ */
+class CommandPatternTrie {
+  private static final char PATH_SEPARATOR = '/';
+
+  private final Node root = new Node();
+
+  CommandPatternTrie(Collection<String> patterns) {
+    patterns.forEach(this::insert);
+  }
+
+  /**
+   * @param content received message text content.
+   * @return patterns whose literal prefix is a prefix of the content, in insertion order per trie level.
+   */
+  List<String> candidates(String content) {
+    List<String> candidates = new ArrayList<>(root.patterns);
+    String normalized = normalize(content);
+    Node node = root;
+    for (int i = 0; i < normalized.length(); i++) {
+      node = node.children.get(normalized.charAt(i));
+      if (node == null) {
+        break;
+      }
+      candidates.addAll(node.patterns);
+    }
+    return candidates;
+  }
+
+  private void insert(String pattern) {
+    String prefix = normalize(literalPrefix(pattern));
+    Node node = root;
+    for (int i = 0; i < prefix.length(); i++) {
+      node = node.children.computeIfAbsent(prefix.charAt(i), k -> new Node());
+    }
+    node.patterns.add(pattern);
+  }
+
+  private static String literalPrefix(String pattern) {
+    for (int i = 0; i < pattern.length(); i++) {
+      char c = pattern.charAt(i);
+      if (c == '*' || c == '?' || c == '{') {
+        return pattern.substring(0, i);
+      }
+    }
+    return pattern;
+  }
+
+  private static String normalize(String value) {
+    if (value.indexOf(PATH_SEPARATOR) < 0) {
+      return value;
+    }
+    StringBuilder builder = new StringBuilder(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c != PATH_SEPARATOR || builder.length() == 0 || builder.charAt(builder.length() - 1) != PATH_SEPARATOR) {
+        builder.append(c);
+      }
+    }
+    return builder.toString();
+  }
+
+  private static class Node {
+    private final Map<Character, Node> children = new HashMap<>();
+    private final List<String> patterns = new ArrayList<>();
+  }
+}
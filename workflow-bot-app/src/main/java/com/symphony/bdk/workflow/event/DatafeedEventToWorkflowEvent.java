@@ -12,6 +12,7 @@ import com.symphony.bdk.gen.api.model.V4RoomMemberPromotedToOwner;
 import com.symphony.bdk.gen.api.model.V4RoomReactivated;
 import com.symphony.bdk.gen.api.model.V4RoomUpdated;
 import com.symphony.bdk.gen.api.model.V4SharedPost;
+import com.symphony.bdk.gen.api.model.V4Stream;
 import com.symphony.bdk.gen.api.model.V4SymphonyElementsAction;
 import com.symphony.bdk.gen.api.model.V4UserJoinedRoom;
 import com.symphony.bdk.gen.api.model.V4UserLeftRoom;
@@ -20,100 +21,134 @@ import com.symphony.bdk.spring.events.RealTimeEvent;
 import com.symphony.bdk.workflow.engine.WorkflowEngine;
 
 import lombok.Generated;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 /**
- * Entry points for Datafeed events, they are dispatched to the workflow engine from there.
+ * Entry points for Datafeed events, they are dispatched to the workflow engine from there through the
+ * {@link EventIngestionPipeline}.
  */
 @Component
+@Slf4j
 @Generated // not interesting to test
 @SuppressWarnings("unchecked")
 public class DatafeedEventToWorkflowEvent {
 
   private final WorkflowEngine workflowEngine;
+  private final EventSubscriptionRegistry subscriptionRegistry;
+  private final EventIngestionPipeline ingestionPipeline;
 
-  public DatafeedEventToWorkflowEvent(WorkflowEngine workflowEngine) {
+  public DatafeedEventToWorkflowEvent(WorkflowEngine workflowEngine, EventSubscriptionRegistry subscriptionRegistry,
+      EventIngestionPipeline ingestionPipeline) {
     this.workflowEngine = workflowEngine;
+    this.subscriptionRegistry = subscriptionRegistry;
+    this.ingestionPipeline = ingestionPipeline;
+  }
+
+  // events no deployed workflow is waiting for are dropped before reaching the engine,
+  // others are dispatched in order per stream, the initiator is used for events without stream
+  private <T> void dispatch(WorkflowEventType eventType, RealTimeEvent<T> event, V4Stream stream) {
+    if (!subscriptionRegistry.hasSubscribers(eventType)) {
+      log.trace("No workflow is listening to {} events, event dropped", eventType.getEventName());
+      return;
+    }
+    String key = stream != null && stream.getStreamId() != null ? stream.getStreamId() : initiatorKey(event);
+    try {
+      ingestionPipeline.submit(key, () -> workflowEngine.onEvent(event));
+    } catch (InterruptedException e) {
+      log.warn("Interrupted while waiting to dispatch {} event", eventType.getEventName());
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static String initiatorKey(RealTimeEvent<?> event) {
+    if (event.getInitiator() != null && event.getInitiator().getUser() != null
+        && event.getInitiator().getUser().getUserId() != null) {
+      return String.valueOf(event.getInitiator().getUser().getUserId());
+    }
+    return null;
   }
 
   @EventListener
   public void onMessageSent(RealTimeEvent<? extends V4MessageSent> event) {
-    workflowEngine.onEvent(event);
+    dispatch(WorkflowEventType.MESSAGE_RECEIVED, event,
+        event.getSource().getMessage() == null ? null : event.getSource().getMessage().getStream());
   }
 
   @EventListener
   public void onSymphonyElementsAction(RealTimeEvent<? extends V4SymphonyElementsAction> event) {
-    workflowEngine.onEvent(event);
+    dispatch(WorkflowEventType.FORM_REPLIED, event, event.getSource().getStream());
   }
 
   @EventListener
   public void onConnectionRequested(RealTimeEvent<? extends V4ConnectionRequested> event) {
-    workflowEngine.onEvent(event);
+    dispatch(WorkflowEventType.CONNECTION_REQUESTED, event, null);
   }
 
   @EventListener
   public void onConnectionAccepted(RealTimeEvent<? extends V4ConnectionAccepted> event) {
-    workflowEngine.onEvent(event);
+    dispatch(WorkflowEventType.CONNECTION_ACCEPTED, event, null);
   }
 
   @EventListener
   public void onMessageSuppressed(RealTimeEvent<? extends V4MessageSuppressed> event) {
-    workflowEngine.onEvent(event);
+    dispatch(WorkflowEventType.MESSAGE_SUPPRESSED, event, event.getSource().getStream());
   }
 
   @EventListener
   public void onSharedPost(RealTimeEvent<? extends V4SharedPost> event) {
-    workflowEngine.onEvent(event);
+    dispatch(WorkflowEventType.POST_SHARED, event,
+        event.getSource().getMessage() == null ? null : event.getSource().getMessage().getStream());
   }
 
   @EventListener
   public void onInstantMessageCreated(RealTimeEvent<? extends V4InstantMessageCreated> event) {
-    workflowEngine.onEvent(event);
+    dispatch(WorkflowEventType.IM_CREATED, event, event.getSource().getStream());
   }
 
   @EventListener
   public void onRoomCreated(RealTimeEvent<? extends V4RoomCreated> event) {
-    workflowEngine.onEvent(event);
+    dispatch(WorkflowEventType.ROOM_CREATED, event, event.getSource().getStream());
   }
 
   @EventListener
   public void onRoomUpdated(RealTimeEvent<? extends V4RoomUpdated> event) {
-    workflowEngine.onEvent(event);
+    dispatch(WorkflowEventType.ROOM_UPDATED, event, event.getSource().getStream());
   }
 
   @EventListener
   public void onRoomDeactivated(RealTimeEvent<? extends V4RoomDeactivated> event) {
-    workflowEngine.onEvent(event);
+    dispatch(WorkflowEventType.ROOM_DEACTIVATED, event, event.getSource().getStream());
   }
 
   @EventListener
   public void onRoomReactivated(RealTimeEvent<? extends V4RoomReactivated> event) {
-    workflowEngine.onEvent(event);
+    dispatch(WorkflowEventType.ROOM_REACTIVATED, event, event.getSource().getStream());
   }
 
   @EventListener
   public void onUserRequestedToJoinRoom(RealTimeEvent<? extends V4UserRequestedToJoinRoom> event) {
-    workflowEngine.onEvent(event);
+    dispatch(WorkflowEventType.USER_REQUESTED_JOIN_ROOM, event, event.getSource().getStream());
   }
 
   @EventListener
   public void onUserJoinedRoom(RealTimeEvent<? extends V4UserJoinedRoom> event) {
-    workflowEngine.onEvent(event);
+    dispatch(WorkflowEventType.USER_JOINED_ROOM, event, event.getSource().getStream());
   }
 
   @EventListener
   public void onUserLeftRoom(RealTimeEvent<? extends V4UserLeftRoom> event) {
-    workflowEngine.onEvent(event);
+    dispatch(WorkflowEventType.USER_LEFT_ROOM, event, event.getSource().getStream());
   }
 
   @EventListener
   public void onRoomMemberPromotedToOwner(RealTimeEvent<? extends V4RoomMemberPromotedToOwner> event) {
-    workflowEngine.onEvent(event);
+    dispatch(WorkflowEventType.ROOM_MEMBER_PROMOTED_TO_OWNER, event, event.getSource().getStream());
   }
 
   @EventListener
   public void onRoomMemberDemotedFromOwner(RealTimeEvent<? extends V4RoomMemberDemotedFromOwner> event) {
-    workflowEngine.onEvent(event);
+    dispatch(WorkflowEventType.ROOM_MEMBER_DEMOTED_FROM_OWNER, event, event.getSource().getStream());
   }
 }
@@ -0,0 +1,155 @@
+package com.symphony.bdk.workflow.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Hands datafeed events over to the workflow engine on dedicated threads so that a slow dispatch does not stall the
+ * datafeed loop.
+ *
+ * <p>Events are striped by key (the stream id): events of the same conversation always go through the same bounded
+ * queue and are dispatched in order, while different conversations are dispatched in parallel. When a queue is full,
+ * {@link #submit(String, Runnable)} blocks, applying back pressure to the datafeed reader. Events without key are
+ * spread over the stripes in turn.</p>
+ *
+ * <p>When stopping, new events are rejected and the queued ones are dispatched for a bounded time, the events still
+ * queued after that are dropped. Dropped events, including the ones failing to be dispatched, are counted in the
+ * {@code workflow.event.dropped} metric.</p>
+ */
+@Slf4j
+@Component
+public class EventIngestionPipeline {
+
+  private final List<BlockingQueue<IngestionTask>> queues;
+  private final List<Thread> workers;
+  private final Timer lagTimer;
+  private final Counter droppedCounter;
+  private final AtomicInteger nextStripe = new AtomicInteger();
+  private final long shutdownTimeoutMs;
+  private volatile boolean stopping;
+
+  public EventIngestionPipeline(MeterRegistry registry,
+      @Value("${wdk.properties.event-ingestion.stripes:0}") int stripes,
+      @Value("${wdk.properties.event-ingestion.queue-capacity:1000}") int queueCapacity,
+      @Value("${wdk.properties.event-ingestion.shutdown-timeout-ms:10000}") long shutdownTimeoutMs) {
+    this.shutdownTimeoutMs = shutdownTimeoutMs;
+    int stripeCount = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+    this.queues = new ArrayList<>(stripeCount);
+    this.workers = new ArrayList<>(stripeCount);
+    for (int i = 0; i < stripeCount; i++) {
+      BlockingQueue<IngestionTask> queue = new ArrayBlockingQueue<>(queueCapacity);
+      queues.add(queue);
+      workers.add(new Thread(() -> consume(queue), "event-ingestion-" + i));
+    }
+
+    this.lagTimer = registry.timer("workflow.event.lag");
+    this.droppedCounter = registry.counter("workflow.event.dropped");
+    registry.gauge("workflow.event.queue.depth", Tags.empty(),
+        (ToDoubleFunction<Tags>) value -> (double) queueDepth());
+  }
+
+  @PostConstruct
+  void start() {
+    workers.forEach(worker -> {
+      worker.setDaemon(true);
+      worker.start();
+    });
+    log.debug("Event ingestion pipeline started with [{}] stripes", workers.size());
+  }
+
+  @PreDestroy
+  void stop() {
+    stopping = true;
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMs);
+    try {
+      for (Thread worker : workers) {
+        long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (remainingMs > 0) {
+          worker.join(remainingMs);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (workers.stream().anyMatch(Thread::isAlive)) {
+      workers.forEach(Thread::interrupt);
+      int dropped = queueDepth();
+      droppedCounter.increment(dropped);
+      log.warn("Event ingestion pipeline stopped after {}ms, [{}] queued events are dropped", shutdownTimeoutMs,
+          dropped);
+    } else {
+      log.debug("Event ingestion pipeline stopped, all queued events were dispatched");
+    }
+  }
+
+  /**
+   * Enqueue a task, blocking while the queue of its stripe is full. Tasks submitted once the pipeline is stopping are
+   * dropped.
+   *
+   * @param key  ordering key, tasks sharing the same key run sequentially in submission order. Tasks without key are
+   *             not ordered.
+   * @param task task to run.
+   * @throws InterruptedException if interrupted while waiting for space in the queue.
+   */
+  public void submit(String key, Runnable task) throws InterruptedException {
+    if (stopping) {
+      log.warn("Event ingestion pipeline is stopping, event dropped");
+      droppedCounter.increment();
+      return;
+    }
+    int stripe = Math.floorMod(key == null ? nextStripe.getAndIncrement() : key.hashCode(), queues.size());
+    queues.get(stripe).put(new IngestionTask(task, System.nanoTime()));
+  }
+
+  public int queueDepth() {
+    return queues.stream().mapToInt(BlockingQueue::size).sum();
+  }
+
+  private void consume(BlockingQueue<IngestionTask> queue) {
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        IngestionTask task = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (task == null) {
+          if (stopping) {
+            // drained
+            return;
+          }
+          continue;
+        }
+        lagTimer.record(System.nanoTime() - task.enqueuedAt, TimeUnit.NANOSECONDS);
+        try {
+          task.runnable.run();
+        } catch (Exception e) {
+          droppedCounter.increment();
+          log.error("Failed to dispatch event, event dropped", e);
+        }
+      }
+    } catch (InterruptedException e) {
+      // stop timeout elapsed
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @RequiredArgsConstructor
+  private static class IngestionTask {
+    private final Runnable runnable;
+    private final long enqueuedAt;
+  }
+}
@@ -0,0 +1,55 @@
+package com.symphony.bdk.workflow.event;
+
+import com.symphony.bdk.workflow.engine.executor.EventHolder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.experimental.UtilityClass;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps only some fields of a received event, the ones referenced by the workflows receiving it (see
+ * {@link com.symphony.bdk.workflow.engine.camunda.bpmn.ReferencedEventPaths}), to reduce what is stored and read back
+ * for each instance. The initiator, the arguments and the stream of the event are always kept, they are used by the
+ * engine and the built-in activities.
+ */
+@UtilityClass
+public class EventProjection {
+  // same mapping as the one used by Spin to serialize the events
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final List<String> ALWAYS_KEPT =
+      List.of("initiator", "args", "source.@eventImpl", "source.message.stream", "source.stream");
+
+  /**
+   * @return a copy of the event with only the given paths (dot separated) and the ones always kept.
+   */
+  public static EventHolder<?> project(EventHolder<?> event, Collection<String> paths) {
+    ObjectNode tree = MAPPER.valueToTree(event);
+    ObjectNode projection = MAPPER.createObjectNode();
+    for (String path : paths) {
+      copy(tree, projection, path.split("\\."), 0);
+    }
+    for (String path : ALWAYS_KEPT) {
+      copy(tree, projection, path.split("\\."), 0);
+    }
+    return MAPPER.convertValue(projection, EventHolder.class);
+  }
+
+  private static void copy(ObjectNode from, ObjectNode to, String[] segments, int index) {
+    JsonNode value = from.get(segments[index]);
+    if (value == null || value.isNull()) {
+      return;
+    }
+    // the path might continue with a method call or an index, the whole value is kept then
+    if (index == segments.length - 1 || !value.isObject()) {
+      to.set(segments[index], value);
+      return;
+    }
+    JsonNode copied = to.get(segments[index]);
+    ObjectNode target = copied instanceof ObjectNode ? (ObjectNode) copied : to.putObject(segments[index]);
+    copy((ObjectNode) value, target, segments, index + 1);
+  }
+}
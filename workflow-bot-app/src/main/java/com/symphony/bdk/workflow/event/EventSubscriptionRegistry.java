@@ -0,0 +1,225 @@
+package com.symphony.bdk.workflow.event;
+
+import com.symphony.bdk.workflow.engine.camunda.variable.ReceivedEventListener;
+
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.Message;
+import org.camunda.bpm.model.bpmn.instance.Signal;
+import org.camunda.bpm.model.bpmn.instance.camunda.CamundaExecutionListener;
+import org.camunda.bpm.model.bpmn.instance.camunda.CamundaField;
+import org.camunda.bpm.model.xml.instance.ModelElementInstance;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory registry of the event names (signals and messages) the deployed workflows are subscribed to.
+ * It is maintained on deploy/undeploy so that dispatching an event does not need to query Camunda's event
+ * subscriptions: events nobody listens to are dropped and received messages are routed through a
+ * {@link MessageRoutingIndex}.
+ *
+ * <p>It also keeps the fields of the events referenced by the deployed workflows (declared by their
+ * {@link ReceivedEventListener}), so that an event is projected on the ones referenced by any of the workflows
+ * receiving it before being dispatched.</p>
+ */
+@Slf4j
+@Component
+public class EventSubscriptionRegistry {
+
+  private final RepositoryService repositoryService;
+
+  /**
+   * Deployment id as key, signal names declared by the deployment as value.
+   */
+  private final Map<String, Set<String>> signalsByDeployment = new ConcurrentHashMap<>();
+
+  /**
+   * Deployment id as key, message names declared by the deployment as value.
+   */
+  private final Map<String, Set<String>> messagesByDeployment = new ConcurrentHashMap<>();
+
+  /**
+   * Deployment id as key, fields of the events referenced by the deployment as value, empty if it needs whole events.
+   */
+  private final Map<String, Optional<Set<String>>> eventPathsByDeployment = new ConcurrentHashMap<>();
+
+  private volatile Map<WorkflowEventType, Optional<Set<String>>> eventPathsByType = Map.of();
+  private volatile Set<WorkflowEventType> subscribedEventTypes = EnumSet.noneOf(WorkflowEventType.class);
+  private volatile MessageRoutingIndex messageRoutingIndex = new MessageRoutingIndex(Set.of());
+  private volatile boolean loaded;
+
+  public EventSubscriptionRegistry(RepositoryService repositoryService) {
+    this.repositoryService = repositoryService;
+  }
+
+  public void register(String deploymentId, BpmnModelInstance instance) {
+    signalsByDeployment.put(deploymentId, extractNames(instance, Signal.class, Signal::getName));
+    messagesByDeployment.put(deploymentId, extractNames(instance, Message.class, Message::getName));
+    eventPathsByDeployment.put(deploymentId, extractEventPaths(instance));
+    rebuild();
+  }
+
+  public void unregister(String deploymentId) {
+    boolean removed = signalsByDeployment.remove(deploymentId) != null;
+    removed |= messagesByDeployment.remove(deploymentId) != null;
+    removed |= eventPathsByDeployment.remove(deploymentId) != null;
+    if (removed) {
+      rebuild();
+    }
+  }
+
+  /**
+   * @param eventType datafeed event type.
+   * @return true if at least one deployed workflow is waiting for events of this type.
+   */
+  public boolean hasSubscribers(WorkflowEventType eventType) {
+    loadDeployedWorkflowsIfNeeded();
+    return subscribedEventTypes.contains(eventType);
+  }
+
+  /**
+   * @param eventName name of the dispatched event, or its prefix.
+   * @return the fields of the event referenced by the workflows receiving it, empty if one of them needs the whole
+   *     event.
+   */
+  public Optional<Set<String>> eventPaths(String eventName) {
+    loadDeployedWorkflowsIfNeeded();
+    return eventTypeOf(eventName)
+        .map(type -> eventPathsByType.getOrDefault(type, Optional.empty()))
+        .orElse(Optional.empty());
+  }
+
+  /**
+   * @see MessageRoutingIndex#route(String)
+   */
+  public Map<String, Map<String, String>> routeMessage(String receivedContent) {
+    loadDeployedWorkflowsIfNeeded();
+    return messageRoutingIndex.route(receivedContent);
+  }
+
+  /**
+   * Workflows might have been deployed by a previous run when a persistent database is used, read them once from
+   * the engine's repository.
+   */
+  private void loadDeployedWorkflowsIfNeeded() {
+    if (loaded) {
+      return;
+    }
+    synchronized (this) {
+      if (!loaded) {
+        for (ProcessDefinition definition : repositoryService.createProcessDefinitionQuery().list()) {
+          BpmnModelInstance instance = repositoryService.getBpmnModelInstance(definition.getId());
+          signalsByDeployment.computeIfAbsent(definition.getDeploymentId(), k -> ConcurrentHashMap.newKeySet())
+              .addAll(extractNames(instance, Signal.class, Signal::getName));
+          messagesByDeployment.computeIfAbsent(definition.getDeploymentId(), k -> ConcurrentHashMap.newKeySet())
+              .addAll(extractNames(instance, Message.class, Message::getName));
+          eventPathsByDeployment.merge(definition.getDeploymentId(), extractEventPaths(instance),
+              EventSubscriptionRegistry::union);
+        }
+        rebuild();
+        loaded = true;
+        log.debug("Event subscription registry loaded with [{}] deployments", signalsByDeployment.size());
+      }
+    }
+  }
+
+  private synchronized void rebuild() {
+    Set<String> signals = flatten(signalsByDeployment);
+    Set<String> names = new LinkedHashSet<>(signals);
+    names.addAll(flatten(messagesByDeployment));
+
+    Set<WorkflowEventType> eventTypes = EnumSet.noneOf(WorkflowEventType.class);
+    names.forEach(name -> eventTypeOf(name).ifPresent(eventTypes::add));
+
+    Map<WorkflowEventType, Optional<Set<String>>> eventPaths = new EnumMap<>(WorkflowEventType.class);
+    for (Map.Entry<String, Optional<Set<String>>> deployment : eventPathsByDeployment.entrySet()) {
+      Set<String> deploymentNames =
+          new LinkedHashSet<>(signalsByDeployment.getOrDefault(deployment.getKey(), Set.of()));
+      deploymentNames.addAll(messagesByDeployment.getOrDefault(deployment.getKey(), Set.of()));
+      deploymentNames.forEach(name -> eventTypeOf(name).ifPresent(
+          type -> eventPaths.merge(type, deployment.getValue(), EventSubscriptionRegistry::union)));
+    }
+
+    messageRoutingIndex = new MessageRoutingIndex(signals);
+    subscribedEventTypes = eventTypes;
+    eventPathsByType = eventPaths;
+  }
+
+  private static Optional<Set<String>> union(Optional<Set<String>> paths, Optional<Set<String>> otherPaths) {
+    if (paths.isEmpty() || otherPaths.isEmpty()) {
+      return Optional.empty();
+    }
+    Set<String> union = new TreeSet<>(paths.get());
+    union.addAll(otherPaths.get());
+    return Optional.of(union);
+  }
+
+  /**
+   * Workflows deployed before the event fields were declared, or without a field declared, need whole events.
+   */
+  private static Optional<Set<String>> extractEventPaths(BpmnModelInstance instance) {
+    List<CamundaExecutionListener> listeners = instance.getModelElementsByType(CamundaExecutionListener.class)
+        .stream()
+        .filter(listener -> ReceivedEventListener.class.getName().equals(listener.getCamundaClass()))
+        .collect(Collectors.toList());
+    if (listeners.isEmpty()) {
+      return Optional.empty();
+    }
+    Set<String> paths = new TreeSet<>();
+    for (CamundaExecutionListener listener : listeners) {
+      Optional<String> declared = listener.getCamundaFields().stream()
+          .filter(field -> ReceivedEventListener.EVENT_PATHS_FIELD.equals(field.getCamundaName()))
+          .map(CamundaField::getCamundaStringValue)
+          .findFirst();
+      if (declared.isEmpty()) {
+        return Optional.empty();
+      }
+      paths.addAll(ReceivedEventListener.split(declared.get()));
+    }
+    return Optional.of(paths);
+  }
+
+  private static Set<String> flatten(Map<String, Set<String>> namesByDeployment) {
+    return namesByDeployment.values()
+        .stream()
+        .flatMap(Collection::stream)
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
+  /**
+   * Event names ending with an underscore are prefixes (e.g. message-received_/command), others are exact names.
+   */
+  private static Optional<WorkflowEventType> eventTypeOf(String name) {
+    return Arrays.stream(WorkflowEventType.values())
+        .filter(type -> !type.getEventName().isEmpty())
+        .filter(type -> type.getEventName().endsWith("_")
+            ? name.startsWith(type.getEventName())
+            : name.equals(type.getEventName()))
+        .findFirst();
+  }
+
+  private static <T extends ModelElementInstance> Set<String> extractNames(BpmnModelInstance instance, Class<T> type,
+      Function<T, String> nameGetter) {
+    return instance.getModelElementsByType(type)
+        .stream()
+        .map(nameGetter)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toCollection(ConcurrentHashMap::newKeySet));
+  }
+}
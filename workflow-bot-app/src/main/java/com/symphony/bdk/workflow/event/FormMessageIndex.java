@@ -0,0 +1,51 @@
+package com.symphony.bdk.workflow.event;
+
+import com.symphony.bdk.workflow.engine.handler.form.FormMessage;
+import com.symphony.bdk.workflow.engine.handler.form.FormMessageRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Index of the messages containing a form, by message id, to the process instance that sent them.
+ *
+ * <p>When a form is actioned, the process to resume is looked up directly instead of scanning the message ids
+ * variables of every running process. Entries are stored in the database once the transaction sending a form is
+ * committed, so that they are kept across restarts, and removed once the process instance that sent it ends.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.REQUIRES_NEW)
+public class FormMessageIndex {
+  private final FormMessageRepository repository;
+
+  public void index(String processInstanceId, Collection<String> messageIds) {
+    if (processInstanceId == null || messageIds.isEmpty()) {
+      return;
+    }
+    repository.saveAll(messageIds.stream()
+        .map(messageId -> new FormMessage(messageId, processInstanceId))
+        .collect(Collectors.toList()));
+    log.trace("Indexed form messages {} for process [{}]", messageIds, processInstanceId);
+  }
+
+  @Transactional(readOnly = true)
+  public Optional<String> processInstanceOf(String messageId) {
+    return messageId == null ? Optional.empty() : repository.findById(messageId).map(FormMessage::getProcessInstanceId);
+  }
+
+  public void remove(String processInstanceId) {
+    int removed = repository.deleteByProcessInstanceId(processInstanceId);
+    if (removed > 0) {
+      log.trace("Removed {} form messages of process [{}]", removed, processInstanceId);
+    }
+  }
+}
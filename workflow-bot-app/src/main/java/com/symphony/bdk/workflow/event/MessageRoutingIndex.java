@@ -0,0 +1,50 @@
+package com.symphony.bdk.workflow.event;
+
+import org.springframework.util.AntPathMatcher;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable index of the message-received content patterns (e.g. <code>/hello {name}</code>) declared by the deployed
+ * workflows. Routing a message only walks a {@link CommandPatternTrie} along its content, the Ant matching is run on
+ * the patterns sharing its prefix only.
+ */
+public class MessageRoutingIndex {
+  private static final AntPathMatcher MESSAGE_RECEIVED_CONTENT_MATCHER = new AntPathMatcher();
+  private static final String MESSAGE_RECEIVED_PREFIX = WorkflowEventType.MESSAGE_RECEIVED.getEventName();
+
+  private final CommandPatternTrie trie;
+
+  /**
+   * @param signalNames message-received signal names, the event name prefix is removed to get the content patterns.
+   */
+  public MessageRoutingIndex(Collection<String> signalNames) {
+    this.trie = new CommandPatternTrie(signalNames.stream()
+        .filter(name -> name.startsWith(MESSAGE_RECEIVED_PREFIX))
+        .map(name -> name.substring(MESSAGE_RECEIVED_PREFIX.length()))
+        // workflows listening to any message are signaled separately
+        .filter(pattern -> !pattern.isEmpty())
+        .distinct()
+        .collect(Collectors.toList()));
+  }
+
+  /**
+   * Find the message-received signals matching the received content.
+   *
+   * @param receivedContent text content of the received message.
+   * @return signal names as keys, with their extracted content arguments as values.
+   */
+  public Map<String, Map<String, String>> route(String receivedContent) {
+    Map<String, Map<String, String>> routes = new LinkedHashMap<>();
+    for (String pattern : trie.candidates(receivedContent)) {
+      if (MESSAGE_RECEIVED_CONTENT_MATCHER.match(pattern, receivedContent)) {
+        routes.putIfAbsent(MESSAGE_RECEIVED_PREFIX + pattern,
+            MESSAGE_RECEIVED_CONTENT_MATCHER.extractUriTemplateVariables(pattern, receivedContent));
+      }
+    }
+    return routes;
+  }
+}
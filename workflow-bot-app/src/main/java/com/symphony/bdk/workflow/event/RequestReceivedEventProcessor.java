@@ -16,8 +16,8 @@ import java.util.Optional;
 @Slf4j
 public class RequestReceivedEventProcessor extends AbstractRealTimeEventProcessor<RequestReceivedEvent> {
 
-  public RequestReceivedEventProcessor(RuntimeService runtimeService) {
-    super(runtimeService, WorkflowEventType.REQUEST_RECEIVED.getEventName());
+  public RequestReceivedEventProcessor(RuntimeService runtimeService, EventSubscriptionRegistry subscriptionRegistry) {
+    super(runtimeService, WorkflowEventType.REQUEST_RECEIVED.getEventName(), subscriptionRegistry);
   }
 
   @SuppressWarnings({"unchecked", "rawtypes"})
@@ -26,6 +26,6 @@ public class RequestReceivedEventProcessor extends AbstractRealTimeEventProcesso
     Map<String, Object> args = new HashMap<>(Optional.ofNullable(eventSource.getArguments()).orElseGet(HashMap::new));
     args.put(EVENT_NAME_KEY, finaName);
     ((EventHolder) variables.get(ActivityExecutorContext.EVENT)).setArgs(args);
-    runtimeService.createSignalEvent(finaName).setVariables(variables).send();
+    send(() -> runtimeService.createSignalEvent(finaName).setVariables(variables).send());
   }
 }
@@ -8,8 +8,8 @@ import org.springframework.stereotype.Service;
 @Service
 public class V4ConnectionAcceptedProcessor extends AbstractRealTimeEventProcessor<V4ConnectionAccepted> {
 
-  public V4ConnectionAcceptedProcessor(RuntimeService runtimeService) {
-    super(runtimeService, WorkflowEventType.CONNECTION_ACCEPTED.getEventName());
+  public V4ConnectionAcceptedProcessor(RuntimeService runtimeService, EventSubscriptionRegistry subscriptionRegistry) {
+    super(runtimeService, WorkflowEventType.CONNECTION_ACCEPTED.getEventName(), subscriptionRegistry);
   }
 
 }
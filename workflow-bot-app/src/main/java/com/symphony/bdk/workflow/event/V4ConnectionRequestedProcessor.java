@@ -8,7 +8,7 @@ import org.springframework.stereotype.Service;
 @Service
 public class V4ConnectionRequestedProcessor extends AbstractRealTimeEventProcessor<V4ConnectionRequested> {
 
-  public V4ConnectionRequestedProcessor(RuntimeService runtimeService) {
-    super(runtimeService, WorkflowEventType.CONNECTION_REQUESTED.getEventName());
+  public V4ConnectionRequestedProcessor(RuntimeService runtimeService, EventSubscriptionRegistry subscriptionRegistry) {
+    super(runtimeService, WorkflowEventType.CONNECTION_REQUESTED.getEventName(), subscriptionRegistry);
   }
 }
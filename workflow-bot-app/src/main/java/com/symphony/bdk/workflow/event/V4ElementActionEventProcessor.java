@@ -23,8 +23,12 @@ import static java.util.Collections.singletonMap;
 @Slf4j
 public class V4ElementActionEventProcessor extends AbstractRealTimeEventProcessor<V4SymphonyElementsAction> {
 
-  public V4ElementActionEventProcessor(RuntimeService runtimeService) {
-    super(runtimeService, WorkflowEventType.FORM_REPLIED.getEventName());
+  private final FormMessageIndex formMessageIndex;
+
+  public V4ElementActionEventProcessor(RuntimeService runtimeService, EventSubscriptionRegistry subscriptionRegistry,
+      FormMessageIndex formMessageIndex) {
+    super(runtimeService, WorkflowEventType.FORM_REPLIED.getEventName(), subscriptionRegistry);
+    this.formMessageIndex = formMessageIndex;
   }
 
   @Override
@@ -43,11 +47,11 @@ public class V4ElementActionEventProcessor extends AbstractRealTimeEventProcesso
     Optional<String> processId = getProcessToExecute(formId, eventSource.getFormMessageId());
 
     if (processId.isPresent()) {
-      correlationBuilder.processInstanceId(processId.get()).correlateAll();
+      send(() -> correlationBuilder.processInstanceId(processId.get()).correlateAll());
     } else {
       // In case the form is in the starting activity, there will be no ongoing process
       try {
-        correlationBuilder.startMessageOnly().correlateAll();
+        send(() -> correlationBuilder.startMessageOnly().correlateAll());
       } catch (MismatchingMessageCorrelationException correlationException) {
         log.debug("This happens when no ongoing process is waiting the form {} reply event. {}",
             formId, correlationException.getMessage());
@@ -61,12 +65,18 @@ public class V4ElementActionEventProcessor extends AbstractRealTimeEventProcesso
    * Given 2 forms with the same formId have been sent in 2 different processes, when one of them is actioned,
    * we want to resume only the process in which context this form has been sent, hence the filter done with the formId
    * and messageId, since both forms have the same formId but different messageIds.
+   * The process is looked up in the {@link FormMessageIndex} first, the variables are only scanned for forms that
+   * were not indexed, sent by a previous version of the bot.
    *
    * @param formId    on which the action is applied.
    * @param messageId of the form.
    * @return process instance id to be resumed.
    */
   private Optional<String> getProcessToExecute(String formId, String messageId) {
+    Optional<String> indexedProcessId = formMessageIndex.processInstanceOf(messageId);
+    if (indexedProcessId.isPresent()) {
+      return indexedProcessId;
+    }
     return runtimeService.createVariableInstanceQuery()
         .variableName(String.format("%s.%s.%s", formId, ActivityExecutorContext.OUTPUTS,
             SendMessageExecutor.OUTPUT_MESSAGE_IDS_KEY))
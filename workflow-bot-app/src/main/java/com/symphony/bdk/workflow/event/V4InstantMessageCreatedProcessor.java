@@ -8,7 +8,8 @@ import org.springframework.stereotype.Service;
 @Service
 public class V4InstantMessageCreatedProcessor extends AbstractRealTimeEventProcessor<V4InstantMessageCreated> {
 
-  public V4InstantMessageCreatedProcessor(RuntimeService runtimeService) {
-    super(runtimeService, WorkflowEventType.IM_CREATED.getEventName());
+  public V4InstantMessageCreatedProcessor(RuntimeService runtimeService,
+      EventSubscriptionRegistry subscriptionRegistry) {
+    super(runtimeService, WorkflowEventType.IM_CREATED.getEventName(), subscriptionRegistry);
   }
 }
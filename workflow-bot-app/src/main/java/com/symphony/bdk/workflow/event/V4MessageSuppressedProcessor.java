@@ -8,7 +8,7 @@ import org.springframework.stereotype.Service;
 @Service
 public class V4MessageSuppressedProcessor extends AbstractRealTimeEventProcessor<V4MessageSuppressed> {
 
-  public V4MessageSuppressedProcessor(RuntimeService runtimeService) {
-    super(runtimeService, WorkflowEventType.MESSAGE_SUPPRESSED.getEventName());
+  public V4MessageSuppressedProcessor(RuntimeService runtimeService, EventSubscriptionRegistry subscriptionRegistry) {
+    super(runtimeService, WorkflowEventType.MESSAGE_SUPPRESSED.getEventName(), subscriptionRegistry);
   }
 }
@@ -8,7 +8,7 @@ import org.springframework.stereotype.Service;
 @Service
 public class V4RoomCreatedProcessor extends AbstractRealTimeEventProcessor<V4RoomCreated> {
 
-  public V4RoomCreatedProcessor(RuntimeService runtimeService) {
-    super(runtimeService, WorkflowEventType.ROOM_CREATED.getEventName());
+  public V4RoomCreatedProcessor(RuntimeService runtimeService, EventSubscriptionRegistry subscriptionRegistry) {
+    super(runtimeService, WorkflowEventType.ROOM_CREATED.getEventName(), subscriptionRegistry);
   }
 }
@@ -8,7 +8,7 @@ import org.springframework.stereotype.Service;
 @Service
 public class V4RoomDeactivatedProcessor extends AbstractRealTimeEventProcessor<V4RoomDeactivated> {
 
-  public V4RoomDeactivatedProcessor(RuntimeService runtimeService) {
-    super(runtimeService, WorkflowEventType.ROOM_DEACTIVATED.getEventName());
+  public V4RoomDeactivatedProcessor(RuntimeService runtimeService, EventSubscriptionRegistry subscriptionRegistry) {
+    super(runtimeService, WorkflowEventType.ROOM_DEACTIVATED.getEventName(), subscriptionRegistry);
   }
 }
@@ -9,7 +9,8 @@ import org.springframework.stereotype.Service;
 public class V4RoomMemberDemotedFromOwnerProcessor
     extends AbstractRealTimeEventProcessor<V4RoomMemberDemotedFromOwner> {
 
-  public V4RoomMemberDemotedFromOwnerProcessor(RuntimeService runtimeService) {
-    super(runtimeService, WorkflowEventType.ROOM_MEMBER_DEMOTED_FROM_OWNER.getEventName());
+  public V4RoomMemberDemotedFromOwnerProcessor(RuntimeService runtimeService,
+      EventSubscriptionRegistry subscriptionRegistry) {
+    super(runtimeService, WorkflowEventType.ROOM_MEMBER_DEMOTED_FROM_OWNER.getEventName(), subscriptionRegistry);
   }
 }
@@ -8,7 +8,8 @@ import org.springframework.stereotype.Service;
 @Service
 public class V4RoomMemberPromotedToOwnerProcessor extends AbstractRealTimeEventProcessor<V4RoomMemberPromotedToOwner> {
 
-  public V4RoomMemberPromotedToOwnerProcessor(RuntimeService runtimeService) {
-    super(runtimeService, WorkflowEventType.ROOM_MEMBER_PROMOTED_TO_OWNER.getEventName());
+  public V4RoomMemberPromotedToOwnerProcessor(RuntimeService runtimeService,
+      EventSubscriptionRegistry subscriptionRegistry) {
+    super(runtimeService, WorkflowEventType.ROOM_MEMBER_PROMOTED_TO_OWNER.getEventName(), subscriptionRegistry);
   }
 }
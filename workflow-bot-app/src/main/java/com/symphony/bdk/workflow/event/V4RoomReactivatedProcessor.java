@@ -8,7 +8,7 @@ import org.springframework.stereotype.Service;
 @Service
 public class V4RoomReactivatedProcessor extends AbstractRealTimeEventProcessor<V4RoomReactivated> {
 
-  public V4RoomReactivatedProcessor(RuntimeService runtimeService) {
-    super(runtimeService, WorkflowEventType.ROOM_REACTIVATED.getEventName());
+  public V4RoomReactivatedProcessor(RuntimeService runtimeService, EventSubscriptionRegistry subscriptionRegistry) {
+    super(runtimeService, WorkflowEventType.ROOM_REACTIVATED.getEventName(), subscriptionRegistry);
   }
 }
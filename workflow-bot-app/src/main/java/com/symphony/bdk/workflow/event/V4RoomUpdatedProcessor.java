@@ -8,7 +8,7 @@ import org.springframework.stereotype.Service;
 @Service
 public class V4RoomUpdatedProcessor extends AbstractRealTimeEventProcessor<V4RoomUpdated> {
 
-  public V4RoomUpdatedProcessor(RuntimeService runtimeService) {
-    super(runtimeService, WorkflowEventType.ROOM_UPDATED.getEventName());
+  public V4RoomUpdatedProcessor(RuntimeService runtimeService, EventSubscriptionRegistry subscriptionRegistry) {
+    super(runtimeService, WorkflowEventType.ROOM_UPDATED.getEventName(), subscriptionRegistry);
   }
 }
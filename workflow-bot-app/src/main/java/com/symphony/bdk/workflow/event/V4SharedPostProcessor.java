@@ -8,7 +8,7 @@ import org.springframework.stereotype.Service;
 @Service
 public class V4SharedPostProcessor extends AbstractRealTimeEventProcessor<V4SharedPost> {
 
-  public V4SharedPostProcessor(RuntimeService runtimeService) {
-    super(runtimeService, WorkflowEventType.POST_SHARED.getEventName());
+  public V4SharedPostProcessor(RuntimeService runtimeService, EventSubscriptionRegistry subscriptionRegistry) {
+    super(runtimeService, WorkflowEventType.POST_SHARED.getEventName(), subscriptionRegistry);
   }
 }
@@ -8,7 +8,7 @@ import org.springframework.stereotype.Service;
 @Service
 public class V4UserJoinedRoomProcessor extends AbstractRealTimeEventProcessor<V4UserJoinedRoom> {
 
-  public V4UserJoinedRoomProcessor(RuntimeService runtimeService) {
-    super(runtimeService, WorkflowEventType.USER_JOINED_ROOM.getEventName());
+  public V4UserJoinedRoomProcessor(RuntimeService runtimeService, EventSubscriptionRegistry subscriptionRegistry) {
+    super(runtimeService, WorkflowEventType.USER_JOINED_ROOM.getEventName(), subscriptionRegistry);
   }
 }
@@ -8,7 +8,7 @@ import org.springframework.stereotype.Service;
 @Service
 public class V4UserLeftRoomProcessor extends AbstractRealTimeEventProcessor<V4UserLeftRoom> {
 
-  public V4UserLeftRoomProcessor(RuntimeService runtimeService) {
-    super(runtimeService, WorkflowEventType.USER_LEFT_ROOM.getEventName());
+  public V4UserLeftRoomProcessor(RuntimeService runtimeService, EventSubscriptionRegistry subscriptionRegistry) {
+    super(runtimeService, WorkflowEventType.USER_LEFT_ROOM.getEventName(), subscriptionRegistry);
   }
 }
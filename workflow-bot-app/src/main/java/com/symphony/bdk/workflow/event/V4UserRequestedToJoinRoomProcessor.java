@@ -8,7 +8,8 @@ import org.springframework.stereotype.Service;
 @Service
 public class V4UserRequestedToJoinRoomProcessor extends AbstractRealTimeEventProcessor<V4UserRequestedToJoinRoom> {
 
-  public V4UserRequestedToJoinRoomProcessor(RuntimeService runtimeService) {
-    super(runtimeService, WorkflowEventType.USER_REQUESTED_JOIN_ROOM.getEventName());
+  public V4UserRequestedToJoinRoomProcessor(RuntimeService runtimeService,
+      EventSubscriptionRegistry subscriptionRegistry) {
+    super(runtimeService, WorkflowEventType.USER_REQUESTED_JOIN_ROOM.getEventName(), subscriptionRegistry);
   }
 }
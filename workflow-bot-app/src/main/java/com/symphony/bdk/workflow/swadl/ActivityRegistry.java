@@ -44,6 +44,8 @@ public final class ActivityRegistry {
     activityTypes = reflections.getSubTypesOf(BaseActivity.class);
 
     activityExecutors = reflections.getSubTypesOf(ActivityExecutor.class).stream()
+        // skip executor interfaces such as AsyncActivityExecutor, they are not bound to an activity
+        .filter(executor -> !executor.isInterface())
         .map(Class.class::cast)
         .collect(Collectors.toMap(ActivityRegistry::findMatchingActivity, Function.identity()));
 
@@ -1,22 +1,32 @@
 package com.symphony.bdk.workflow;
 
+import com.symphony.bdk.workflow.custom.assertion.WorkflowAssert;
+import com.symphony.bdk.workflow.engine.camunda.AsyncActivityRecovery;
+import com.symphony.bdk.workflow.engine.camunda.CamundaExecutor;
 import com.symphony.bdk.workflow.swadl.SwadlParser;
 import com.symphony.bdk.workflow.swadl.v1.Workflow;
 
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
+import org.camunda.bpm.engine.runtime.Execution;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 
 class CustomActivityIntegrationTest extends IntegrationTest {
 
+  @Autowired AsyncActivityRecovery asyncActivityRecovery;
+
   @Test
   void customActivity() throws Exception {
     Workflow workflow = SwadlParser.fromYaml(getClass().getResourceAsStream("/custom-activity.swadl.yaml"));
@@ -40,4 +50,60 @@ class CustomActivityIntegrationTest extends IntegrationTest {
     assertThat(((LinkedHashMap) flowNodes.get(0)).get("group")).isEqualTo("ACTIVITY");
   }
 
+  @Test
+  void customAsyncActivity() throws Exception {
+    Workflow workflow = SwadlParser.fromYaml(getClass().getResourceAsStream("/custom-async-activity.swadl.yaml"));
+    engine.deploy(workflow);
+
+    engine.onEvent(messageReceived("/execute-async"));
+
+    // the output set on completion is available to the next activity
+    verify(messageService, timeout(5000)).send("123", "ABC");
+    WorkflowAssert.assertThat(workflow).executed("doItAsync", "sendResult");
+  }
+
+  @Test
+  void customAsyncActivity_failed() throws Exception {
+    Workflow workflow =
+        SwadlParser.fromYaml(getClass().getResourceAsStream("/custom-async-activity-failed.swadl.yaml"));
+    engine.deploy(workflow);
+
+    engine.onEvent(messageReceived("/execute-async-failed"));
+
+    verify(messageService, timeout(5000)).send("123", "failed");
+    verify(messageService, never()).send("123", "succeeded");
+  }
+
+  @Test
+  void customAsyncActivity_timeout() throws Exception {
+    Workflow workflow =
+        SwadlParser.fromYaml(getClass().getResourceAsStream("/custom-async-activity-timeout.swadl.yaml"));
+    engine.deploy(workflow);
+
+    engine.onEvent(messageReceived("/execute-async-timeout"));
+
+    // the activity never completes, it fails once the timeout configured for tests is reached
+    verify(messageService, timeout(10_000)).send("123", "failed");
+    verify(messageService, never()).send("123", "succeeded");
+  }
+
+  @Test
+  void customAsyncActivity_completionLost_recovered() throws Exception {
+    Workflow workflow =
+        SwadlParser.fromYaml(getClass().getResourceAsStream("/custom-async-activity-timeout.swadl.yaml"));
+    engine.deploy(workflow);
+
+    engine.onEvent(messageReceived("/execute-async-timeout"));
+
+    Execution parked = await().atMost(5, TimeUnit.SECONDS).until(() -> runtimeService.createExecutionQuery()
+        .variableValueLessThan(CamundaExecutor.ASYNC_ACTIVITY_DEADLINE, Long.MAX_VALUE)
+        .singleResult(), execution -> execution != null);
+    // as if the node awaiting the completion had stopped, the deadline it waits for does not match anymore
+    runtimeService.setVariableLocal(parked.getId(), CamundaExecutor.ASYNC_ACTIVITY_DEADLINE, 0L);
+
+    asyncActivityRecovery.failTimedOutActivities();
+
+    verify(messageService, timeout(5000)).send("123", "failed");
+    verify(messageService, never()).send("123", "succeeded");
+  }
 }
@@ -0,0 +1,12 @@
+package com.symphony.bdk.workflow;
+
+import com.symphony.bdk.workflow.swadl.v1.activity.BaseActivity;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@EqualsAndHashCode(callSuper = true)
+@Data
+public class DoSomethingAsync extends BaseActivity {
+  private String myParameter;
+}
@@ -0,0 +1,27 @@
+package com.symphony.bdk.workflow;
+
+import com.symphony.bdk.workflow.engine.executor.ActivityExecutorContext;
+import com.symphony.bdk.workflow.engine.executor.AsyncActivityExecutor;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+@Slf4j
+public class DoSomethingAsyncExecutor implements AsyncActivityExecutor<DoSomethingAsync> {
+
+  @Override
+  public CompletionStage<Void> executeAsync(ActivityExecutorContext<DoSomethingAsync> context) {
+    String parameter = context.getActivity().getMyParameter();
+    if ("never".equals(parameter)) {
+      return new CompletableFuture<>();
+    }
+    return CompletableFuture.runAsync(() -> {
+      if ("fail".equals(parameter)) {
+        throw new IllegalStateException("Failed on purpose");
+      }
+      context.setOutputVariable("result", parameter.toUpperCase());
+    });
+  }
+}
@@ -82,6 +82,21 @@ class EngineIntegrationTest extends IntegrationTest {
     Assertions.assertThat(workflowTwo).isExecuted();
   }
 
+  @Test
+  void deploySameWorkflowTwice_deployedOnce() throws IOException, ProcessingException {
+    final Workflow workflowOne = SwadlParser.fromYaml(getClass().getResourceAsStream(
+        "/deployment/deployment-different-workflow-same-id-1.swadl.yaml"));
+    final Workflow workflowTwo = SwadlParser.fromYaml(getClass().getResourceAsStream(
+        "/deployment/deployment-different-workflow-same-id-2.swadl.yaml"));
+
+    String deploymentId = engine.deploy(workflowOne);
+    assertThat(engine.deploy(workflowOne)).isEqualTo(deploymentId);
+    assertThat(repositoryService.createDeploymentQuery().deploymentName(workflowOne.getId()).count()).isEqualTo(1);
+
+    assertThat(engine.deploy(workflowTwo)).isNotEqualTo(deploymentId);
+    assertThat(repositoryService.createDeploymentQuery().deploymentName(workflowOne.getId()).count()).isEqualTo(2);
+  }
+
   @Test
   void validateOnlyWorkflow() throws IOException, ProcessingException {
     final Workflow workflow = SwadlParser.fromYaml(getClass().getResourceAsStream(
@@ -7,6 +7,7 @@ import com.symphony.bdk.gen.api.model.V4ConnectionRequested;
 import com.symphony.bdk.gen.api.model.V4Initiator;
 import com.symphony.bdk.gen.api.model.V4InstantMessageCreated;
 import com.symphony.bdk.gen.api.model.V4Message;
+import com.symphony.bdk.gen.api.model.V4MessageSent;
 import com.symphony.bdk.gen.api.model.V4MessageSuppressed;
 import com.symphony.bdk.gen.api.model.V4RoomCreated;
 import com.symphony.bdk.gen.api.model.V4RoomDeactivated;
@@ -22,6 +23,8 @@ import com.symphony.bdk.gen.api.model.V4UserLeftRoom;
 import com.symphony.bdk.gen.api.model.V4UserRequestedToJoinRoom;
 import com.symphony.bdk.spring.events.RealTimeEvent;
 import com.symphony.bdk.workflow.engine.ExecutionParameters;
+import com.symphony.bdk.workflow.engine.executor.ActivityExecutorContext;
+import com.symphony.bdk.workflow.engine.executor.EventHolder;
 import com.symphony.bdk.workflow.swadl.SwadlParser;
 import com.symphony.bdk.workflow.swadl.exception.InvalidActivityException;
 import com.symphony.bdk.workflow.swadl.v1.Workflow;
@@ -67,6 +70,27 @@ class EventIntegrationTest extends IntegrationTest {
     verify(messageService, timeout(5000)).send(eq("123"), content("/execute"));
   }
 
+  @Test
+  void onMessageReceived_referencedFieldsStored() throws IOException, ProcessingException {
+    final Workflow workflow = SwadlParser.fromYaml(getClass().getResourceAsStream(
+        "/event/types/on-message-received.swadl.yaml"));
+
+    engine.deploy(workflow);
+    engine.onEvent(messageReceived("123", "/execute", "MSG_ID"));
+
+    verify(messageService, timeout(5000)).send(eq("123"), content("/execute"));
+    EventHolder<?> event = (EventHolder<?>) historyService.createHistoricVariableInstanceQuery()
+        .processInstanceId(lastProcess().orElseThrow())
+        .variableName(ActivityExecutorContext.EVENT)
+        .singleResult()
+        .getValue();
+    V4Message message = ((V4MessageSent) event.getSource()).getMessage();
+    assertThat(message.getMessage()).isNotNull();
+    assertThat(message.getStream().getStreamId()).isEqualTo("123");
+    // the message id is not referenced by the workflow
+    assertThat(message.getMessageId()).isNull();
+  }
+
   @Test
   void onMessageReceived_botMention() throws IOException, ProcessingException {
     final Workflow workflow = SwadlParser.fromYaml(getClass().getResourceAsStream(
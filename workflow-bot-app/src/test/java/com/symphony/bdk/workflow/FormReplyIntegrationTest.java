@@ -4,6 +4,9 @@ import com.symphony.bdk.core.service.message.model.Message;
 import com.symphony.bdk.gen.api.model.V4Message;
 import com.symphony.bdk.gen.api.model.V4MessageBlastResponse;
 import com.symphony.bdk.gen.api.model.V4Stream;
+import com.symphony.bdk.workflow.engine.camunda.variable.BlobStore;
+import com.symphony.bdk.workflow.engine.handler.form.FormMessageRepository;
+import com.symphony.bdk.workflow.event.FormMessageIndex;
 import com.symphony.bdk.workflow.exception.NotFoundException;
 import com.symphony.bdk.workflow.swadl.SwadlParser;
 import com.symphony.bdk.workflow.swadl.v1.Workflow;
@@ -13,6 +16,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Collections;
 import java.util.List;
@@ -36,6 +41,38 @@ import static org.mockito.Mockito.when;
 @SuppressWarnings("unchecked")
 class FormReplyIntegrationTest extends IntegrationTest {
 
+  @Autowired FormMessageRepository formMessageRepository;
+  @Autowired BlobStore blobStore;
+
+  @Test
+  void sendFormSendMessageOnReply_afterRestart() throws Exception {
+    Workflow workflow = SwadlParser.fromYaml(getClass().getResourceAsStream("/form/send-form-reply.swadl.yaml"));
+
+    when(messageService.send(anyString(), any(Message.class))).thenReturn(message("msgIdRestart"));
+
+    engine.deploy(workflow);
+    engine.onEvent(messageReceived("/message"));
+    verify(messageService, timeout(5000)).send(eq("123"), contains("form"));
+
+    // the index of a restarted bot starts without anything in memory
+    FormMessageIndex restartedIndex = new FormMessageIndex(formMessageRepository);
+    await().atMost(5, TimeUnit.SECONDS)
+        .until(() -> restartedIndex.processInstanceOf("msgIdRestart").isPresent());
+    assertThat(restartedIndex.processInstanceOf("msgIdRestart")).hasValue(
+        runtimeService.createProcessInstanceQuery().processDefinitionKey("send-form-reply").singleResult().getId());
+
+    await().atMost(5, TimeUnit.SECONDS).ignoreExceptions().until(() -> {
+      engine.onEvent(form("msgIdRestart", "sendForm", Collections.singletonMap("aField", "My message")));
+      verify(messageService, atLeast(1)).send(eq("123"), contains("My message"));
+      return true;
+    });
+
+    // once the process has ended, its forms cannot be replied to anymore
+    engine.undeployAll();
+    await().atMost(5, TimeUnit.SECONDS)
+        .until(() -> restartedIndex.processInstanceOf("msgIdRestart").isEmpty());
+  }
+
   @Test
   void sendFormSendMessageOnReply() throws Exception {
     Workflow workflow = SwadlParser.fromYaml(getClass().getResourceAsStream("/form/send-form-reply.swadl.yaml"));
@@ -133,6 +170,35 @@ class FormReplyIntegrationTest extends IntegrationTest {
     });
   }
 
+  @Test
+  void sendFormSendMessageOnReply_followUpActivity_blobStore() throws Exception {
+    Workflow workflow = SwadlParser.fromYaml(getClass()
+        .getResourceAsStream("/form/send-form-reply-followup-activity.swadl.yaml"));
+    when(messageService.send(anyString(), any(Message.class))).thenReturn(message("msgId"));
+    // every activity variable is stored as a blob
+    Object threshold = ReflectionTestUtils.getField(blobStore, "threshold");
+    ReflectionTestUtils.setField(blobStore, "enabled", true);
+    ReflectionTestUtils.setField(blobStore, "threshold", 0L);
+
+    try {
+      engine.deploy(workflow);
+      engine.onEvent(messageReceived("/message"));
+      verify(messageService, timeout(5000)).send(eq("123"), contains("form"));
+
+      await().atMost(5, TimeUnit.SECONDS).ignoreExceptions().until(() -> {
+        engine.onEvent(form("msgId", "sendForm", Collections.singletonMap("aField", "My message")));
+
+        // the second reply runs in another transaction, it reads the reply merged into the stored form variable
+        verify(messageService, timeout(5000)).send(eq("123"), contains("First reply: My message"));
+        verify(messageService, timeout(5000)).send(eq("123"), contains("Second reply: My message"));
+        return true;
+      });
+    } finally {
+      ReflectionTestUtils.setField(blobStore, "enabled", false);
+      ReflectionTestUtils.setField(blobStore, "threshold", threshold);
+    }
+  }
+
   @Test
   void sendFormSendMessageOnReply_followUpActivity_exclusive() throws Exception {
     Workflow workflow = SwadlParser.fromYaml(getClass()
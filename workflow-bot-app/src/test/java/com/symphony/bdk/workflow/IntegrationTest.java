@@ -41,6 +41,7 @@ import com.symphony.bdk.spring.events.RealTimeEvent;
 import com.symphony.bdk.workflow.engine.ResourceProvider;
 import com.symphony.bdk.workflow.engine.WorkflowEngine;
 import com.symphony.bdk.workflow.engine.executor.BdkGateway;
+import com.symphony.bdk.workflow.engine.executor.message.TemplateContentExtractor;
 import com.symphony.bdk.workflow.swadl.v1.Activity;
 import com.symphony.bdk.workflow.swadl.v1.Workflow;
 import com.symphony.bdk.workflow.swadl.v1.activity.BaseActivity;
@@ -96,6 +97,9 @@ public abstract class IntegrationTest {
   @Autowired
   ResourceProvider resourceProvider;
 
+  @Autowired
+  TemplateContentExtractor templateContentExtractor;
+
   @SuppressFBWarnings
   public static HistoryService historyService;
 
@@ -216,6 +220,8 @@ public abstract class IntegrationTest {
   // make sure we start the test with a clean engine to avoid the same /command to be registered
   @AfterEach
   void removeAllWorkflows() throws InterruptedException {
+    // templates are mocked per test
+    templateContentExtractor.compiledTemplates().invalidateAll();
     for (int i = 0; i < 5; i++) {
       try {
         engine.undeployAll();
@@ -172,6 +172,24 @@ class SendMessageIntegrationTest extends IntegrationTest {
         .hasOutput(String.format(OUTPUTS_FAILED_MESSAGES_KEY, "sendMessageTemplateWithParams"), Collections.EMPTY_LIST);
   }
 
+  @Test
+  void sendMessageWithTemplateReadingEvent() throws IOException, ProcessingException {
+    final Workflow workflow =
+        SwadlParser.fromYaml(getClass().getResourceAsStream("/message/send-message-with-event-template.swadl.yaml"));
+
+    when(messageService.templates()).thenReturn(TemplateEngine.getDefaultImplementation());
+    when(messageService.send(eq("123"), any(Message.class))).thenReturn(message("MSG_ID"));
+
+    engine.deploy(workflow);
+    // the event fields read by the template are not referenced by the workflow, the whole event is kept
+    engine.onEvent(messageReceived("streamId", "/send-with-event-template", "RECEIVED_ID"));
+
+    ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+    verify(messageService, timeout(5000).times(1)).send(eq("123"), captor.capture());
+
+    assertThat(captor.getValue().getContent()).isEqualTo("<messageML>Received RECEIVED_ID\n</messageML>");
+  }
+
   @Test
   @DisplayName(
       "Given a message with attachments, "
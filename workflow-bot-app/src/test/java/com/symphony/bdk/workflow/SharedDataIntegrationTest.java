@@ -2,7 +2,8 @@ package com.symphony.bdk.workflow;
 
 import com.symphony.bdk.core.service.message.model.Message;
 import com.symphony.bdk.gen.api.model.V4Message;
-import com.symphony.bdk.workflow.engine.shared.SharedDataRepository;
+import com.symphony.bdk.workflow.engine.shared.DefaultSharedDataStore;
+import com.symphony.bdk.workflow.engine.shared.SharedDataEntryRepository;
 import com.symphony.bdk.workflow.swadl.SwadlParser;
 import com.symphony.bdk.workflow.swadl.v1.Workflow;
 
@@ -11,6 +12,18 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -20,7 +33,10 @@ import static org.mockito.Mockito.when;
 
 public class SharedDataIntegrationTest extends IntegrationTest {
 
-  @Autowired SharedDataRepository sharedDataRepository;
+  private static final int THREADS = 8;
+
+  @Autowired SharedDataEntryRepository sharedDataRepository;
+  @Autowired DefaultSharedDataStore sharedDataStore;
 
   @Test
   @DisplayName("Share counter between process instances")
@@ -67,4 +83,61 @@ public class SharedDataIntegrationTest extends IntegrationTest {
     sharedDataRepository.deleteAll();
   }
 
+  @Test
+  @DisplayName("Increment a key that is not set from concurrent transactions")
+  void increment_newKey_concurrently() throws Exception {
+    List<Long> results = concurrently(() -> sharedDataStore.increment("concurrent", "counter", 1));
+
+    assertThat(results).containsExactlyInAnyOrder(LongStream.rangeClosed(1, THREADS).boxed().toArray(Long[]::new));
+    assertThat(((Number) sharedDataStore.get("concurrent", "counter")).longValue()).isEqualTo(THREADS);
+    sharedDataRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("Put a key that is not set from concurrent transactions")
+  void putIfAbsent_newKey_concurrently() throws Exception {
+    AtomicInteger thread = new AtomicInteger();
+    List<Object> results = concurrently(
+        () -> sharedDataStore.putIfAbsent("concurrent", "winner", "thread" + thread.incrementAndGet()));
+
+    Object winner = sharedDataStore.get("concurrent", "winner");
+    assertThat(winner).isNotNull();
+    // a single transaction sets the key, the others get its value
+    assertThat(results).containsOnlyOnce((Object) null);
+    assertThat(results.stream().filter(Objects::nonNull)).hasSize(THREADS - 1).containsOnly(winner);
+    sharedDataRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("Compare and set a key that is not set")
+  void compareAndSet_newKey() {
+    assertThat(sharedDataStore.compareAndSet("concurrent", "key", "expected", "value")).isFalse();
+    assertThat(sharedDataRepository.findByNamespaceAndKey("concurrent", "key")).isEmpty();
+
+    assertThat(sharedDataStore.compareAndSet("concurrent", "key", null, "value")).isTrue();
+    assertThat(sharedDataStore.get("concurrent", "key")).isEqualTo("value");
+    sharedDataRepository.deleteAll();
+  }
+
+  private static <T> List<T> concurrently(Callable<T> operation) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<T>> futures = new ArrayList<>();
+      for (int i = 0; i < THREADS; i++) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          return operation.call();
+        }));
+      }
+      start.countDown();
+      List<T> results = new ArrayList<>();
+      for (Future<T> future : futures) {
+        results.add(future.get(30, TimeUnit.SECONDS));
+      }
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
 }
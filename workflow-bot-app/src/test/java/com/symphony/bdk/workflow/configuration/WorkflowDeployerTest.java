@@ -9,11 +9,13 @@ import com.symphony.bdk.workflow.swadl.v1.Workflow;
 import com.github.fge.jsonschema.core.exceptions.ProcessingException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardWatchEventKinds;
 
@@ -25,6 +27,7 @@ import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -46,13 +49,36 @@ public class WorkflowDeployerTest {
     String swadlFolderPath = "src/test/resources/basic/publish/";
     String deploymentId = "ABC";
 
-    when(workflowEngine.translate(any(Workflow.class))).thenReturn(context);
+    when(workflowEngine.translate(any(Workflow.class), any())).thenReturn(context);
     when(workflowEngine.deploy(any(CamundaTranslatedWorkflowContext.class))).thenReturn(deploymentId);
 
     workflowDeployer.addAllWorkflowsFromFolder(Path.of(swadlFolderPath));
     verify(workflowEngine).deploy(any(CamundaTranslatedWorkflowContext.class));
   }
 
+  @Test
+  void testAddAllWorkflowsFromFolder_invalidFileSkipped(@TempDir Path folder) throws IOException {
+    Path workflow = Path.of("src/test/resources/basic/publish/basic-workflow.swadl.yaml");
+    for (int i = 0; i < 5; i++) {
+      Files.copy(workflow, folder.resolve("workflow" + i + ".swadl.yaml"));
+    }
+    Files.writeString(folder.resolve("invalid.swadl.yaml"), "id: invalid\nactivities: none");
+    Files.writeString(folder.resolve("empty.swadl.yaml"), "");
+    Files.writeString(folder.resolve("ignored.txt"), "not a workflow");
+    CamundaTranslatedWorkflowContext context = mock(CamundaTranslatedWorkflowContext.class);
+    when(workflowEngine.translate(any(Workflow.class), any())).thenReturn(context);
+    when(workflowEngine.deploy(any(CamundaTranslatedWorkflowContext.class))).thenReturn("ABC");
+
+    when(workflowEngine.botName()).thenReturn("bot");
+
+    workflowDeployer.addAllWorkflowsFromFolder(folder);
+
+    // the bot name is resolved once for all the workflows
+    verify(workflowEngine, times(1)).botName();
+    verify(workflowEngine, times(5)).translate(any(Workflow.class), eq("bot"));
+    verify(workflowEngine, times(5)).deploy(context);
+  }
+
   @Test
   void testAddAllWorkflowsFromFolderException() {
     String file = "src/test/resources/basic/publish/basic-workflow.swadl.yaml";
@@ -69,7 +95,7 @@ public class WorkflowDeployerTest {
     String deploymentId = "ABC";
 
     CamundaTranslatedWorkflowContext context = mock(CamundaTranslatedWorkflowContext.class);
-    when(workflowEngine.translate(any(Workflow.class))).thenReturn(context);
+    when(workflowEngine.translate(any(Workflow.class), any())).thenReturn(context);
     when(workflowEngine.deploy(any(CamundaTranslatedWorkflowContext.class))).thenReturn(deploymentId);
     when(directedGraphService.putDirectedGraph(any())).thenReturn(mock(WorkflowDirectedGraph.class));
 
@@ -83,7 +109,7 @@ public class WorkflowDeployerTest {
   void testUpdateWorkflowDraft_workflowAlreadyExists() throws IOException, ProcessingException {
     String workflowFile = "src/test/resources/basic/draft/basic-draft-workflow.swadl.yaml";
     CamundaTranslatedWorkflowContext context = mock(CamundaTranslatedWorkflowContext.class);
-    when(workflowEngine.translate(any(Workflow.class))).thenReturn(context);
+    when(workflowEngine.translate(any(Workflow.class), any())).thenReturn(context);
 
     workflowDeployer.handleFileEvent(Path.of(workflowFile), new WatchEvent(StandardWatchEventKinds.ENTRY_MODIFY));
     verify(workflowEngine, never()).deploy(any(CamundaTranslatedWorkflowContext.class));
@@ -95,7 +121,7 @@ public class WorkflowDeployerTest {
     final String deploymentId = "ABC";
 
     CamundaTranslatedWorkflowContext context = mock(CamundaTranslatedWorkflowContext.class);
-    when(workflowEngine.translate(any(Workflow.class))).thenReturn(context);
+    when(workflowEngine.translate(any(Workflow.class), any())).thenReturn(context);
     when(workflowEngine.deploy(any(CamundaTranslatedWorkflowContext.class))).thenReturn(deploymentId);
     when(directedGraphService.putDirectedGraph(any())).thenReturn(mock(WorkflowDirectedGraph.class));
 
@@ -108,7 +134,7 @@ public class WorkflowDeployerTest {
     final String workflowFile = "src/test/resources/basic/publish/basic-workflow.swadl.yaml";
     final String deploymentId = "ABC";
     CamundaTranslatedWorkflowContext context = mock(CamundaTranslatedWorkflowContext.class);
-    when(workflowEngine.translate(any(Workflow.class))).thenReturn(context);
+    when(workflowEngine.translate(any(Workflow.class), any())).thenReturn(context);
     when(workflowEngine.deploy(any(CamundaTranslatedWorkflowContext.class))).thenReturn(deploymentId);
     when(directedGraphService.putDirectedGraph(any())).thenReturn(mock(WorkflowDirectedGraph.class));
 
@@ -123,7 +149,7 @@ public class WorkflowDeployerTest {
     Path path = Path.of(workflowFile);
     final String deploymentId = "ABC";
     CamundaTranslatedWorkflowContext context = mock(CamundaTranslatedWorkflowContext.class);
-    when(workflowEngine.translate(any(Workflow.class))).thenReturn(context);
+    when(workflowEngine.translate(any(Workflow.class), any())).thenReturn(context);
     when(workflowEngine.deploy(any(CamundaTranslatedWorkflowContext.class))).thenReturn(deploymentId);
     doNothing().when(workflowEngine).undeployByWorkflowId(eq("basic-workflow"));
     when(directedGraphService.putDirectedGraph(any())).thenReturn(mock(WorkflowDirectedGraph.class));
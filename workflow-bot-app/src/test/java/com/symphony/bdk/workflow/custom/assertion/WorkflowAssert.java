@@ -3,11 +3,14 @@ package com.symphony.bdk.workflow.custom.assertion;
 import com.symphony.bdk.core.service.message.model.Attachment;
 import com.symphony.bdk.core.service.message.model.Message;
 import com.symphony.bdk.workflow.IntegrationTest;
+import com.symphony.bdk.workflow.engine.executor.ActivityExecutorContext;
 import com.symphony.bdk.workflow.event.WorkflowEventType;
 import com.symphony.bdk.workflow.swadl.v1.Activity;
 import com.symphony.bdk.workflow.swadl.v1.Workflow;
 import com.symphony.bdk.workflow.swadl.v1.activity.BaseActivity;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.io.IOUtils;
 import org.assertj.core.api.AbstractAssert;
 import org.assertj.core.api.Assertions;
@@ -19,7 +22,9 @@ import org.mockito.ArgumentMatcher;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -33,6 +38,11 @@ public class WorkflowAssert extends AbstractAssert<WorkflowAssert, Workflow> {
 
   private static final List<String> ACTIVITY_TYPES_TO_IGNORE =
       Arrays.asList("signalStartEvent", "exclusiveGateway", "boundaryError", "intermediateSignalCatch");
+  private static final String OUTPUTS_SEPARATOR = "." + ActivityExecutorContext.OUTPUTS + ".";
+  private static final ObjectMapper JSON_MAPPER = new ObjectMapper().findAndRegisterModules();
+  private static final Comparator<JsonNode> NUMBERS_BY_VALUE = (actual, expected) -> actual.equals(expected)
+      || actual.isNumber() && expected.isNumber() && actual.decimalValue().compareTo(expected.decimalValue()) == 0
+      ? 0 : 1;
 
   public WorkflowAssert(Workflow workflow) {
     super(workflow, WorkflowAssert.class);
@@ -222,18 +232,21 @@ public class WorkflowAssert extends AbstractAssert<WorkflowAssert, Workflow> {
   }
 
 
+  @SuppressWarnings("unchecked")
   private void assertOutputs(String key, Object value) {
     String process = lastProcess().orElseThrow();
     await().atMost(5, SECONDS).until(() -> processIsCompleted(process));
 
+    // only the outputs referenced by name in the workflow are flattened, the others are read from the activity
+    int outputsIndex = key.indexOf(OUTPUTS_SEPARATOR);
+    String activityId = outputsIndex < 0 ? key : key.substring(0, outputsIndex);
+
     Optional<HistoricDetail> historicalDetailOptional = await().atMost(5, SECONDS).until(()
         -> {
       final List<HistoricDetail> details = IntegrationTest.historyService.createHistoricDetailQuery()
           .processInstanceId(process).list();
-      Optional<HistoricDetail> detail = details.stream()
-          .filter(x -> ((HistoricDetailVariableInstanceUpdateEntity) x).getVariableName().equals(key))
-          .reduce((first, second) -> second);
-      return detail;
+      Optional<HistoricDetail> detail = lastDetail(details, key);
+      return detail.isPresent() ? detail : lastDetail(details, activityId);
     }, Optional::isPresent);
 
     if (historicalDetailOptional.isEmpty()) {
@@ -243,19 +256,38 @@ public class WorkflowAssert extends AbstractAssert<WorkflowAssert, Workflow> {
       String actualVariableName = ((HistoricDetailVariableInstanceUpdateEntity) historicalDetail).getVariableName();
       Object actualVariableValue = ((HistoricDetailVariableInstanceUpdateEntity) historicalDetail).getValue();
 
-      if (!actualVariableName.equals(key)) {
-        failWithMessage("Expected variable key to be %s but was %s", key, actualVariableName);
+      if (actualVariableName.equals(key)) {
+        assertOutputValue(actualVariableValue, value,
+            actualVariableValue != null && actualVariableValue.equals(value));
+      } else {
+        Object actualOutput = ((Map<String, Map<String, Object>>) actualVariableValue)
+            .get(ActivityExecutorContext.OUTPUTS)
+            .get(key.substring(outputsIndex + OUTPUTS_SEPARATOR.length()));
+        assertOutputValue(actualOutput, value, actualOutput != null && isSameJson(actualOutput, value));
       }
+    }
+  }
 
-      if ((actualVariableValue == null || value == null) && actualVariableValue != value) {
-        fail("Expected variable value to be %s but was %s", value, actualVariableValue);
-      } else if (actualVariableValue != null && !actualVariableValue.equals(value)) {
-        failWithMessage("Actual variable value [%s] was different from the expected one [%s]",
-            actualVariableValue, value);
-      }
+  private static Optional<HistoricDetail> lastDetail(List<HistoricDetail> details, String variableName) {
+    return details.stream()
+        .filter(x -> ((HistoricDetailVariableInstanceUpdateEntity) x).getVariableName().equals(variableName))
+        .reduce((first, second) -> second);
+  }
+
+  private void assertOutputValue(Object actualValue, Object expectedValue, boolean equal) {
+    if ((actualValue == null || expectedValue == null) && actualValue != expectedValue) {
+      fail("Expected variable value to be %s but was %s", expectedValue, actualValue);
+    } else if (actualValue != null && !equal) {
+      failWithMessage("Actual variable value [%s] was different from the expected one [%s]",
+          actualValue, expectedValue);
     }
   }
 
+  // outputs read from the activity variable are deserialized as maps and lists, without their numeric types
+  private static boolean isSameJson(Object actualValue, Object expectedValue) {
+    return JSON_MAPPER.valueToTree(actualValue).equals(NUMBERS_BY_VALUE, JSON_MAPPER.valueToTree(expectedValue));
+  }
+
   private static void assertAttachments(List<Attachment> actual, List<Attachment> expected) throws IOException {
     if (actual == null || actual.isEmpty() || expected == null || expected.isEmpty()) {
       org.assertj.core.api.Assertions.assertThat(actual).isEqualTo(expected);
@@ -0,0 +1,51 @@
+package com.symphony.bdk.workflow.engine.camunda;
+
+import com.symphony.bdk.workflow.DoSomething;
+import com.symphony.bdk.workflow.DoSomethingExecutor;
+import com.symphony.bdk.workflow.engine.camunda.ActivityExecutorRegistry.ActivityExecutorHandle;
+import com.symphony.bdk.workflow.engine.executor.message.PinMessageExecutor;
+import com.symphony.bdk.workflow.swadl.v1.activity.message.PinMessage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ActivityExecutorRegistryTest {
+
+  private final StaticApplicationContext applicationContext = new StaticApplicationContext();
+  private ActivityExecutorRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    applicationContext.registerSingleton("pinMessageExecutor", PinMessageExecutor.class);
+    applicationContext.refresh();
+    registry = new ActivityExecutorRegistry(applicationContext);
+    registry.afterSingletonsInstantiated();
+  }
+
+  @Test
+  void get_executorBean() {
+    ActivityExecutorHandle handle = registry.get(PinMessageExecutor.class.getName());
+
+    assertThat(handle.getExecutor()).isSameAs(applicationContext.getBean(PinMessageExecutor.class));
+    assertThat(handle.getActivityType()).isEqualTo(PinMessage.class);
+  }
+
+  @Test
+  void get_executorNotABean_singleInstance() {
+    ActivityExecutorHandle handle = registry.get(DoSomethingExecutor.class.getName());
+
+    assertThat(handle.getExecutor()).isInstanceOf(DoSomethingExecutor.class);
+    assertThat(handle.getActivityType()).isEqualTo(DoSomething.class);
+    assertThat(registry.get(DoSomethingExecutor.class.getName()).getExecutor()).isSameAs(handle.getExecutor());
+  }
+
+  @Test
+  void get_unknownExecutor() {
+    assertThatThrownBy(() -> registry.get("com.symphony.UnknownExecutor"))
+        .isInstanceOf(IllegalStateException.class);
+  }
+}
@@ -0,0 +1,54 @@
+package com.symphony.bdk.workflow.engine.camunda;
+
+import com.symphony.bdk.workflow.engine.camunda.ActivityExecutorRegistry.ActivityExecutorHandle;
+import com.symphony.bdk.workflow.engine.executor.room.AddRoomMemberExecutor;
+import com.symphony.bdk.workflow.swadl.v1.activity.room.AddRoomMember;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ActivityTemplateCacheTest {
+
+  private final ActivityTemplateCache cache = new ActivityTemplateCache(10);
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @Test
+  void get_sameActivity_parsedOnce() throws Exception {
+    ActivityTemplate template = cache.get("process:1", "activity", this::load);
+
+    assertThat(cache.get("process:1", "activity", this::load)).isSameAs(template);
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void get_otherActivityOrProcessDefinition_parsedAgain() throws Exception {
+    ActivityTemplate template = cache.get("process:1", "activity", this::load);
+
+    assertThat(cache.get("process:1", "other", this::load)).isNotSameAs(template);
+    assertThat(cache.get("process:2", "activity", this::load)).isNotSameAs(template);
+    assertThat(loads).hasValue(3);
+  }
+
+  @Test
+  void invalidate_onlyTemplatesOfProcessDefinitionRemoved() throws Exception {
+    ActivityTemplate kept = cache.get("process:1", "activity", this::load);
+    cache.get("process:2", "activity", this::load);
+    cache.get("process:2", "other", this::load);
+
+    cache.invalidate("process:2");
+
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(cache.get("process:1", "activity", this::load)).isSameAs(kept);
+    cache.get("process:2", "activity", this::load);
+    assertThat(loads).hasValue(4);
+  }
+
+  private ActivityTemplate load() {
+    loads.incrementAndGet();
+    return ActivityTemplate.resolvedByCamunda(
+        new ActivityExecutorHandle(new AddRoomMemberExecutor(), AddRoomMember.class));
+  }
+}
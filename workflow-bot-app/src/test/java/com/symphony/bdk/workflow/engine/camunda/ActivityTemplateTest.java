@@ -0,0 +1,151 @@
+package com.symphony.bdk.workflow.engine.camunda;
+
+import com.symphony.bdk.workflow.engine.camunda.ActivityExecutorRegistry.ActivityExecutorHandle;
+import com.symphony.bdk.workflow.engine.executor.DebugExecutor;
+import com.symphony.bdk.workflow.engine.executor.request.ExecuteRequestExecutor;
+import com.symphony.bdk.workflow.engine.executor.request.client.HttpClient;
+import com.symphony.bdk.workflow.engine.executor.room.AddRoomMemberExecutor;
+import com.symphony.bdk.workflow.swadl.v1.activity.Debug;
+import com.symphony.bdk.workflow.swadl.v1.activity.request.ExecuteRequest;
+import com.symphony.bdk.workflow.swadl.v1.activity.room.AddRoomMember;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.Expression;
+import org.camunda.bpm.engine.impl.el.ExpressionManager;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ActivityTemplateTest {
+
+  private final ExpressionManager expressionManager = mock(ExpressionManager.class);
+  private final DelegateExecution execution = mock(DelegateExecution.class);
+
+  @Test
+  void bind_singleExpression_typedValue() throws JsonProcessingException {
+    expression("${ids}", List.of(123, 456));
+    ActivityTemplate template = ActivityTemplate.parse(
+        new ActivityExecutorHandle(new AddRoomMemberExecutor(), AddRoomMember.class),
+        "{\"id\": \"add\", \"stream-id\": \"abc\", \"user-ids\": \"${ids}\"}", null, expressionManager);
+
+    AddRoomMember activity = (AddRoomMember) template.bind(execution);
+
+    assertThat(activity.getUserIds()).containsExactly(123L, 456L);
+  }
+
+  @Test
+  void bind_singleExpression_escapedJsonValue() throws JsonProcessingException {
+    expression("${ids}", "[123, 456]");
+    ActivityTemplate template = ActivityTemplate.parse(
+        new ActivityExecutorHandle(new AddRoomMemberExecutor(), AddRoomMember.class),
+        "{\"id\": \"add\", \"stream-id\": \"abc\", \"user-ids\": \"${ids}\"}", null, expressionManager);
+
+    AddRoomMember activity = (AddRoomMember) template.bind(execution);
+
+    assertThat(activity.getUserIds()).containsExactly(123L, 456L);
+  }
+
+  @Test
+  void bind_listElementExpression_typedValue() throws JsonProcessingException {
+    expression("${id}", 123);
+    ActivityTemplate template = ActivityTemplate.parse(
+        new ActivityExecutorHandle(new AddRoomMemberExecutor(), AddRoomMember.class),
+        "{\"id\": \"add\", \"stream-id\": \"abc\", \"user-ids\": [\"${id}\", 456]}", null, expressionManager);
+
+    AddRoomMember activity = (AddRoomMember) template.bind(execution);
+
+    assertThat(activity.getUserIds()).containsExactly(123L, 456L);
+  }
+
+  @Test
+  void bind_mixedTemplate_interpolated() throws JsonProcessingException {
+    expression("room-${id}", "room-abc");
+    ActivityTemplate template = ActivityTemplate.parse(
+        new ActivityExecutorHandle(new AddRoomMemberExecutor(), AddRoomMember.class),
+        "{\"id\": \"add\", \"stream-id\": \"room-${id}\"}", null, expressionManager);
+
+    AddRoomMember activity = (AddRoomMember) template.bind(execution);
+
+    assertThat(activity.getStreamId()).isEqualTo("room-abc");
+  }
+
+  @Test
+  void bind_objectField_escapedJson() throws JsonProcessingException {
+    expression("${variables}", Map.of("key", "value"));
+    ActivityTemplate template = ActivityTemplate.parse(
+        new ActivityExecutorHandle(new DebugExecutor(), Debug.class),
+        "{\"id\": \"debug\", \"object\": \"${variables}\"}", null, expressionManager);
+
+    Debug activity = (Debug) template.bind(execution);
+
+    assertThat(activity.getObject()).isEqualTo("{\"key\":\"value\"}");
+  }
+
+  @Test
+  void bind_fieldNameExpression_renamed() throws JsonProcessingException {
+    expression("${header}", "X-Trace-Id");
+    expression("${traceId}", "abc");
+    expression("${key}", "user");
+    expression("${name}", "John");
+    ActivityTemplate template = ActivityTemplate.parse(
+        new ActivityExecutorHandle(new ExecuteRequestExecutor(mock(HttpClient.class)), ExecuteRequest.class),
+        "{\"id\": \"request\", \"url\": \"https://localhost\", "
+            + "\"headers\": {\"Accept\": \"*/*\", \"${header}\": \"${traceId}\"}, "
+            + "\"body\": {\"${key}\": {\"name\": \"${name}\"}}}", null, expressionManager);
+
+    ExecuteRequest activity = (ExecuteRequest) template.bind(execution);
+
+    assertThat(activity.getHeaders()).containsExactly(Map.entry("Accept", "*/*"), Map.entry("X-Trace-Id", "abc"));
+    assertThat(activity.getBody()).isEqualTo(Map.of("user", Map.of("name", "John")));
+  }
+
+  @Test
+  void bind_sameActivityAsResolvedByCamunda() throws JsonProcessingException {
+    expression("room-${id}", "room-abc");
+    expression("${user}", "123");
+    ActivityExecutorHandle executorHandle =
+        new ActivityExecutorHandle(new AddRoomMemberExecutor(), AddRoomMember.class);
+    ActivityTemplate template = ActivityTemplate.parse(executorHandle,
+        "{\"id\": \"add\", \"stream-id\": \"room-${id}\", \"user-ids\": [\"${user}\", 456]}", null,
+        expressionManager);
+
+    // the whole definition resolved by Camunda, for workflows deployed with it as an input parameter
+    when(execution.getVariable(CamundaExecutor.ACTIVITY)).thenReturn("add");
+    when(execution.getVariable(CamundaExecutor.SERIALISED_ACTIVITY)).thenReturn(
+        Map.of("add", "{\"id\": \"add\", \"stream-id\": \"room-abc\", \"user-ids\": [\"123\", 456]}"));
+    ActivityTemplate resolvedByCamunda = ActivityTemplate.resolvedByCamunda(executorHandle);
+
+    assertThat(template.bind(execution)).isEqualTo(resolvedByCamunda.bind(execution));
+  }
+
+  @Test
+  void bind_definitionSharedByExecutions() throws JsonProcessingException {
+    Expression expression = mock(Expression.class);
+    when(expression.getValue(any())).thenReturn("room-abc", "room-def");
+    when(expressionManager.createExpression("room-${id}")).thenReturn(expression);
+    ActivityTemplate template = ActivityTemplate.parse(
+        new ActivityExecutorHandle(new AddRoomMemberExecutor(), AddRoomMember.class),
+        "{\"id\": \"add\", \"stream-id\": \"room-${id}\", \"user-ids\": [123]}", null, expressionManager);
+
+    AddRoomMember first = (AddRoomMember) template.bind(execution);
+    AddRoomMember second = (AddRoomMember) template.bind(execution);
+
+    // expressions are evaluated for each execution, against a copy of the parsed definition
+    assertThat(first.getStreamId()).isEqualTo("room-abc");
+    assertThat(second.getStreamId()).isEqualTo("room-def");
+    assertThat(second.getUserIds()).containsExactly(123L);
+  }
+
+  private void expression(String text, Object value) {
+    Expression expression = mock(Expression.class);
+    when(expression.getValue(any())).thenReturn(value);
+    when(expressionManager.createExpression(text)).thenReturn(expression);
+  }
+}
@@ -0,0 +1,66 @@
+package com.symphony.bdk.workflow.engine.camunda;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares the default Camunda job executor pool with the virtual thread per job executor, for jobs waiting on I/O (as
+ * activities calling Symphony APIs do). Run with WDK_BENCHMARK=true, on Java 21+.
+ */
+@Slf4j
+@EnabledIfEnvironmentVariable(named = "WDK_BENCHMARK", matches = "true")
+class JobExecutorBenchmarkTest {
+  private static final int JOBS = 2_000;
+  private static final Duration IO_WAIT = Duration.ofMillis(50);
+
+  @Test
+  void ioBoundJobs() throws InterruptedException {
+    assumeTrue(Runtime.version().feature() >= 21, "virtual threads require Java 21");
+    // defaults of the Camunda Spring Boot starter, with jobs run by the acquisition thread once the pool is full
+    ThreadPoolTaskExecutor platformThreads = new ThreadPoolTaskExecutor();
+    platformThreads.setCorePoolSize(3);
+    platformThreads.setMaxPoolSize(10);
+    platformThreads.setQueueCapacity(3);
+    platformThreads.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    platformThreads.initialize();
+
+    TaskExecutor threadPerJob = new JobExecutorConfiguration().camundaTaskExecutor(200);
+
+    Duration platformThreadsTime = run(platformThreads);
+    Duration threadPerJobTime = run(threadPerJob);
+    platformThreads.shutdown();
+
+    log.info("{} jobs waiting {}ms: thread pool {}ms, thread per job {}ms", JOBS, IO_WAIT.toMillis(),
+        platformThreadsTime.toMillis(), threadPerJobTime.toMillis());
+    assertThat(threadPerJobTime).isLessThan(platformThreadsTime);
+  }
+
+  private static Duration run(TaskExecutor taskExecutor) throws InterruptedException {
+    CountDownLatch done = new CountDownLatch(JOBS);
+    long start = System.nanoTime();
+    for (int i = 0; i < JOBS; i++) {
+      taskExecutor.execute(() -> {
+        try {
+          Thread.sleep(IO_WAIT.toMillis());
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } finally {
+          done.countDown();
+        }
+      });
+    }
+    assertThat(done.await(5, TimeUnit.MINUTES)).isTrue();
+    return Duration.ofNanos(System.nanoTime() - start);
+  }
+}
@@ -0,0 +1,18 @@
+package com.symphony.bdk.workflow.engine.camunda;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class JobExecutorConfigurationTest {
+
+  @Test
+  void camundaTaskExecutor_beforeJava21_fails() {
+    assumeTrue(Runtime.version().feature() < 21);
+
+    assertThatThrownBy(() -> new JobExecutorConfiguration().camundaTaskExecutor(200))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("requires Java 21");
+  }
+}
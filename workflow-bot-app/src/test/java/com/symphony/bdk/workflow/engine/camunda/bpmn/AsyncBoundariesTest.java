@@ -0,0 +1,50 @@
+package com.symphony.bdk.workflow.engine.camunda.bpmn;
+
+import com.symphony.bdk.core.service.session.SessionService;
+import com.symphony.bdk.gen.api.model.UserV2;
+import com.symphony.bdk.workflow.engine.WorkflowDirectGraphBuilder;
+import com.symphony.bdk.workflow.engine.WorkflowDirectedGraph;
+import com.symphony.bdk.workflow.swadl.SwadlParser;
+import com.symphony.bdk.workflow.swadl.v1.Workflow;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncBoundariesTest {
+  @Mock
+  SessionService sessionService;
+
+  @Test
+  void asyncBoundaries() throws Exception {
+    when(sessionService.getSession()).thenReturn(new UserV2().displayName("bot"));
+    Workflow workflow =
+        SwadlParser.fromYaml(getClass().getResourceAsStream("/graph/synchronous-chaining.swadl.yaml"));
+    WorkflowDirectedGraph graph = new WorkflowDirectGraphBuilder(workflow, sessionService).build();
+
+    assertThat(AsyncBoundaries.isRequiredAfter(graph, "first")).isFalse();
+    assertThat(AsyncBoundaries.isRequiredAfter(graph, "second")).isFalse();
+    assertThat(AsyncBoundaries.isRequiredAfter(graph, "checkpointed")).isTrue();
+    assertThat(AsyncBoundaries.isRequiredAfter(graph, "beforeScript")).isFalse();
+    assertThat(AsyncBoundaries.isRequiredAfter(graph, "script")).isFalse();
+    assertThat(AsyncBoundaries.isRequiredAfter(graph, "beforeWait")).isTrue();
+    assertThat(AsyncBoundaries.isRequiredAfter(graph, "afterWait")).isFalse();
+    assertThat(AsyncBoundaries.isRequiredAfter(graph, "failing")).isTrue();
+    assertThat(AsyncBoundaries.isRequiredAfter(graph, "onFailure")).isFalse();
+  }
+
+  @Test
+  void asyncBoundaries_joinAndParallelBranches() throws Exception {
+    when(sessionService.getSession()).thenReturn(new UserV2().displayName("bot"));
+    Workflow workflow = SwadlParser.fromYaml(getClass().getResourceAsStream("/graph/all-of.swadl.yaml"));
+    WorkflowDirectedGraph graph = new WorkflowDirectGraphBuilder(workflow, sessionService).build();
+
+    assertThat(AsyncBoundaries.isRequiredAfter(graph, "scriptTrue")).isTrue();
+    assertThat(AsyncBoundaries.isRequiredAfter(graph, "endMessage")).isFalse();
+  }
+}
@@ -0,0 +1,74 @@
+package com.symphony.bdk.workflow.engine.camunda.bpmn;
+
+import com.symphony.bdk.workflow.engine.camunda.CamundaExecutor;
+import com.symphony.bdk.workflow.swadl.SwadlParser;
+import com.symphony.bdk.workflow.swadl.v1.Activity;
+import com.symphony.bdk.workflow.swadl.v1.Properties;
+import com.symphony.bdk.workflow.swadl.v1.Workflow;
+import com.symphony.bdk.workflow.swadl.v1.activity.message.SendMessage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReferencedEventPathsTest {
+
+  @Test
+  void referencedPaths() throws Exception {
+    Workflow workflow = workflow();
+
+    Optional<Set<String>> paths =
+        ReferencedEventPaths.of(workflow, List.of("event", "received"), definitions(workflow));
+
+    assertThat(paths).hasValueSatisfying(p -> assertThat(p).containsExactly(
+        "initiator.user.userId", "source.message.attachments.0.name", "source.message.message",
+        "source.message.messageId"));
+  }
+
+  @Test
+  void eventReferencedAsAWhole() throws Exception {
+    Workflow workflow = workflow();
+    List<String> definitions = definitions(workflow);
+    definitions.add("{\"content\": \"${mentions(event)[0]}\"}");
+
+    assertThat(ReferencedEventPaths.of(workflow, List.of("event", "received"), definitions)).isEmpty();
+  }
+
+  @Test
+  void fullEventPayload() throws Exception {
+    Workflow workflow = workflow();
+    Properties properties = new Properties();
+    properties.setFullEventPayload(true);
+    workflow.setProperties(properties);
+
+    assertThat(ReferencedEventPaths.of(workflow, List.of("event", "received"), definitions(workflow))).isEmpty();
+  }
+
+  @Test
+  void templates() throws Exception {
+    Workflow workflow = workflow();
+    SendMessage sendMessage = (SendMessage) workflow.getActivities().get(0).getActivity();
+    sendMessage.setContent(Map.of("template-path", "/templates/reply.ftl"));
+
+    // templates are given all the variables, the fields they read are not known
+    assertThat(ReferencedEventPaths.of(workflow, List.of("event", "received"), definitions(workflow))).isEmpty();
+  }
+
+  private Workflow workflow() throws Exception {
+    return SwadlParser.fromYaml(getClass().getResourceAsStream("/graph/referenced-event-paths.swadl.yaml"));
+  }
+
+  private static List<String> definitions(Workflow workflow) throws Exception {
+    List<String> definitions = new ArrayList<>();
+    for (Activity activity : workflow.getActivities()) {
+      definitions.add(CamundaExecutor.OBJECT_MAPPER.writeValueAsString(activity.getActivity()));
+    }
+    return definitions;
+  }
+}
@@ -0,0 +1,37 @@
+package com.symphony.bdk.workflow.engine.camunda.bpmn;
+
+import com.symphony.bdk.workflow.engine.camunda.CamundaExecutor;
+import com.symphony.bdk.workflow.swadl.SwadlParser;
+import com.symphony.bdk.workflow.swadl.v1.Activity;
+import com.symphony.bdk.workflow.swadl.v1.Workflow;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReferencedOutputsTest {
+
+  @Test
+  void referencedOutputs() throws Exception {
+    Workflow workflow =
+        SwadlParser.fromYaml(getClass().getResourceAsStream("/graph/referenced-outputs.swadl.yaml"));
+    List<String> definitions = new ArrayList<>();
+    for (Activity activity : workflow.getActivities()) {
+      definitions.add(CamundaExecutor.OBJECT_MAPPER.writeValueAsString(activity.getActivity()));
+    }
+    definitions.add(CamundaExecutor.OBJECT_MAPPER.writeValueAsString(workflow.getVariables()));
+
+    Map<String, Set<String>> referencedOutputs = ReferencedOutputs.of(workflow, definitions);
+
+    assertThat(referencedOutputs).containsOnlyKeys("sendForm", "sendReply", "script", "sendUnreferenced");
+    assertThat(referencedOutputs.get("sendForm")).containsExactly("message", "msgId", "msgIds");
+    assertThat(referencedOutputs.get("sendReply")).containsExactly("msgId");
+    assertThat(referencedOutputs.get("script")).isEmpty();
+    assertThat(referencedOutputs.get("sendUnreferenced")).isEmpty();
+  }
+}
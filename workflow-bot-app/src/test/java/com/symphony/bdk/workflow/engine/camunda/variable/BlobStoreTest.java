@@ -0,0 +1,85 @@
+package com.symphony.bdk.workflow.engine.camunda.variable;
+
+import org.camunda.bpm.engine.variable.value.ObjectValue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlobStoreTest {
+
+  @Test
+  void objectValue_large_storedAsBlob(@TempDir Path tempDir) throws Exception {
+    BlobStore blobStore = new BlobStore(true, tempDir.toString(), DataSize.ofBytes(100));
+    BlobObjectValueSerializer serializer = new BlobObjectValueSerializer(blobStore);
+    Map<String, Object> outputs = outputs("x".repeat(1000));
+
+    ObjectValue value = blobStore.objectValue("instanceId", outputs);
+
+    byte[] stored = Base64.getDecoder().decode(value.getValueSerialized());
+    assertThat(stored.length).isLessThan(100);
+    assertThat(value.getSerializationDataFormat()).isEqualTo(BlobObjectValueSerializer.SERIALIZATION_DATA_FORMAT);
+    assertThat(serializer.deserializeFromByteArray(stored, value.getObjectTypeName())).isEqualTo(outputs);
+    try (Stream<Path> blobs = Files.list(tempDir.resolve("instanceId"))) {
+      assertThat(blobs).hasSize(1);
+    }
+  }
+
+  @Test
+  void objectValue_sameContent_writtenOnce(@TempDir Path tempDir) throws Exception {
+    BlobStore blobStore = new BlobStore(true, tempDir.toString(), DataSize.ofBytes(100));
+    Map<String, Object> outputs = outputs("x".repeat(1000));
+
+    ObjectValue first = blobStore.objectValue("instanceId", outputs);
+    ObjectValue second = blobStore.objectValue("instanceId", outputs("x".repeat(1000)));
+
+    assertThat(first.getValueSerialized()).isEqualTo(second.getValueSerialized());
+    try (Stream<Path> blobs = Files.list(tempDir.resolve("instanceId"))) {
+      assertThat(blobs).hasSize(1);
+    }
+  }
+
+  @Test
+  void objectValue_small_storedInline(@TempDir Path tempDir) throws Exception {
+    BlobStore blobStore = new BlobStore(true, tempDir.toString(), DataSize.ofBytes(100));
+    BlobObjectValueSerializer serializer = new BlobObjectValueSerializer(blobStore);
+    Map<String, Object> outputs = outputs("abc");
+
+    ObjectValue value = blobStore.objectValue("instanceId", outputs);
+
+    byte[] stored = Base64.getDecoder().decode(value.getValueSerialized());
+    assertThat(serializer.deserializeFromByteArray(stored, value.getObjectTypeName())).isEqualTo(outputs);
+    assertThat(tempDir.resolve("instanceId")).doesNotExist();
+  }
+
+  @Test
+  void remove(@TempDir Path tempDir) throws Exception {
+    BlobStore blobStore = new BlobStore(true, tempDir.toString(), DataSize.ofBytes(100));
+    BlobObjectValueSerializer serializer = new BlobObjectValueSerializer(blobStore);
+    ObjectValue value = blobStore.objectValue("instanceId", outputs("x".repeat(1000)));
+
+    blobStore.remove("instanceId");
+
+    assertThat(tempDir.resolve("instanceId")).doesNotExist();
+    byte[] stored = Base64.getDecoder().decode(value.getValueSerialized());
+    assertThat(serializer.deserializeFromByteArray(stored, value.getObjectTypeName())).isNull();
+  }
+
+  private static Map<String, Object> outputs(String body) {
+    Map<String, Object> outputs = new HashMap<>();
+    outputs.put("body", body);
+    outputs.put("ids", List.of(1, 2));
+    Map<String, Object> activity = new HashMap<>();
+    activity.put("outputs", outputs);
+    return activity;
+  }
+}
@@ -0,0 +1,51 @@
+package com.symphony.bdk.workflow.engine.camunda.variable;
+
+import org.camunda.bpm.engine.delegate.VariableScope;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LazyVariablesMapTest {
+
+  @Mock
+  VariableScope variableScope;
+
+  @Test
+  void get_onlyFetchesAccessedVariable() {
+    when(variableScope.getVariable("a")).thenReturn("value");
+    Map<String, Object> variables = new LazyVariablesMap(variableScope);
+
+    assertThat(variables.get("a")).isEqualTo("value");
+    verify(variableScope).getVariable("a");
+    verify(variableScope, never()).getVariables();
+  }
+
+  @Test
+  void keySet_doesNotFetchValues() {
+    when(variableScope.getVariableNames()).thenReturn(Set.of("a", "b"));
+    Map<String, Object> variables = new LazyVariablesMap(variableScope);
+
+    assertThat(variables.keySet()).containsExactlyInAnyOrder("a", "b");
+    assertThat(variables).hasSize(2);
+    verify(variableScope, never()).getVariable(anyString());
+  }
+
+  @Test
+  void readOnly() {
+    Map<String, Object> variables = new LazyVariablesMap(variableScope);
+
+    assertThatThrownBy(() -> variables.put("a", "value")).isInstanceOf(UnsupportedOperationException.class);
+  }
+}
@@ -0,0 +1,66 @@
+package com.symphony.bdk.workflow.engine.camunda.variable;
+
+import com.symphony.bdk.gen.api.model.V4Initiator;
+import com.symphony.bdk.gen.api.model.V4MessageSent;
+import com.symphony.bdk.workflow.engine.executor.ActivityExecutorContext;
+import com.symphony.bdk.workflow.engine.executor.EventHolder;
+import com.symphony.bdk.workflow.event.RealTimeEventProcessor;
+
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.Expression;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReceivedEventListenerTest {
+
+  @Test
+  void notify_storesEventUnderItsId() {
+    Map<String, Object> args = new HashMap<>();
+    args.put(RealTimeEventProcessor.EVENT_NAME_KEY, "/hello");
+    EventHolder<V4MessageSent> event = new EventHolder<>(new V4Initiator(), new V4MessageSent(), args);
+    DelegateExecution execution = mock(DelegateExecution.class);
+    when(execution.getVariable(ActivityExecutorContext.EVENT)).thenReturn(event);
+
+    ReceivedEventListener listener = new ReceivedEventListener();
+    ReflectionTestUtils.setField(listener, "eventId", expression(execution, "message_received_hello"));
+    listener.notify(execution);
+
+    ArgumentCaptor<Object> keyedEvent = ArgumentCaptor.forClass(Object.class);
+    verify(execution).setVariable(eq("message_received_hello"), keyedEvent.capture());
+    assertThat(((EventHolder<?>) keyedEvent.getValue()).getArgs())
+        .doesNotContainKey(RealTimeEventProcessor.EVENT_NAME_KEY);
+    assertThat(event.getArgs()).containsEntry(RealTimeEventProcessor.EVENT_NAME_KEY, "/hello");
+    // the event is projected when dispatched, it is not stored again
+    verify(execution, never()).setVariable(eq(ActivityExecutorContext.EVENT), any());
+  }
+
+  @Test
+  void notify_noEvent() {
+    DelegateExecution execution = mock(DelegateExecution.class);
+
+    ReceivedEventListener listener = new ReceivedEventListener();
+    ReflectionTestUtils.setField(listener, "eventId", expression(execution, "message_received_hello"));
+    listener.notify(execution);
+
+    verify(execution, never()).setVariable(anyString(), any());
+  }
+
+  private static Expression expression(DelegateExecution execution, String value) {
+    Expression expression = mock(Expression.class);
+    when(expression.getValue(execution)).thenReturn(value);
+    return expression;
+  }
+}
@@ -0,0 +1,58 @@
+package com.symphony.bdk.workflow.engine.camunda.variable;
+
+import com.symphony.bdk.gen.api.model.V4Initiator;
+import com.symphony.bdk.gen.api.model.V4Message;
+import com.symphony.bdk.gen.api.model.V4MessageSent;
+import com.symphony.bdk.gen.api.model.V4Stream;
+import com.symphony.bdk.gen.api.model.V4User;
+import com.symphony.bdk.workflow.engine.executor.EventHolder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SmileObjectValueSerializerTest {
+
+  private final SmileObjectValueSerializer serializer = new SmileObjectValueSerializer();
+
+  @Test
+  void roundTrip_eventHolder() throws Exception {
+    V4MessageSent messageSent = new V4MessageSent().message(new V4Message()
+        .messageId("msgId")
+        .message("<div data-format=\"PresentationML\">Hello</div>")
+        .stream(new V4Stream().streamId("123")));
+    Map<String, Object> args = new HashMap<>();
+    args.put("key", "value");
+    EventHolder<V4MessageSent> event =
+        new EventHolder<>(new V4Initiator().user(new V4User().userId(123L)), messageSent, args);
+
+    Object deserialized = roundTrip(event);
+
+    assertThat(deserialized).isInstanceOf(EventHolder.class);
+    EventHolder<?> eventHolder = (EventHolder<?>) deserialized;
+    assertThat(eventHolder.getSource()).isEqualTo(messageSent);
+    assertThat(eventHolder.getInitiator().getUser().getUserId()).isEqualTo(123L);
+    assertThat(eventHolder.getArgs()).containsEntry("key", "value");
+  }
+
+  @Test
+  void roundTrip_outputs() throws Exception {
+    Map<String, Object> outputs = new HashMap<>();
+    outputs.put("msgId", "abc");
+    outputs.put("count", 3);
+    outputs.put("ids", List.of(1, 2));
+    Map<String, Object> activity = new HashMap<>();
+    activity.put("outputs", outputs);
+
+    assertThat(roundTrip(activity)).isEqualTo(activity);
+  }
+
+  private Object roundTrip(Object value) throws Exception {
+    byte[] serialized = serializer.serializeToByteArray(value);
+    return serializer.deserializeFromByteArray(serialized, serializer.getTypeNameForDeserialized(value));
+  }
+}
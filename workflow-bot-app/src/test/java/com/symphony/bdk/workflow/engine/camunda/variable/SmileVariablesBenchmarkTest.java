@@ -0,0 +1,118 @@
+package com.symphony.bdk.workflow.engine.camunda.variable;
+
+import com.symphony.bdk.gen.api.model.V4AttachmentInfo;
+import com.symphony.bdk.gen.api.model.V4Initiator;
+import com.symphony.bdk.gen.api.model.V4Message;
+import com.symphony.bdk.gen.api.model.V4MessageSent;
+import com.symphony.bdk.gen.api.model.V4Stream;
+import com.symphony.bdk.gen.api.model.V4User;
+import com.symphony.bdk.workflow.engine.executor.EventHolder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the size and the (de)serialization time of a message received event stored as JSON, with the default
+ * mapping of Spin, and as Smile. Run with WDK_BENCHMARK=true.
+ */
+@Slf4j
+@EnabledIfEnvironmentVariable(named = "WDK_BENCHMARK", matches = "true")
+class SmileVariablesBenchmarkTest {
+  private static final int ITERATIONS = 20_000;
+  private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+
+  private final SmileObjectValueSerializer smileSerializer = new SmileObjectValueSerializer();
+
+  @Test
+  void messageReceivedEvent() throws Exception {
+    EventHolder<V4MessageSent> event = messageReceived();
+    String typeName = smileSerializer.getTypeNameForDeserialized(event);
+
+    byte[] json = JSON_MAPPER.writeValueAsBytes(event);
+    byte[] smile = smileSerializer.serializeToByteArray(event);
+
+    // warm up both formats before measuring
+    run(() -> JSON_MAPPER.readValue(JSON_MAPPER.writeValueAsBytes(event), EventHolder.class));
+    run(() -> smileSerializer.deserializeFromByteArray(smileSerializer.serializeToByteArray(event), typeName));
+
+    Duration jsonTime = run(() -> JSON_MAPPER.readValue(JSON_MAPPER.writeValueAsBytes(event), EventHolder.class));
+    Duration smileTime =
+        run(() -> smileSerializer.deserializeFromByteArray(smileSerializer.serializeToByteArray(event), typeName));
+
+    log.info("Message received event: JSON {} bytes in {}ms, Smile {} bytes in {}ms ({} round trips)", json.length,
+        jsonTime.toMillis(), smile.length, smileTime.toMillis(), ITERATIONS);
+    assertThat(smile.length).isLessThan(json.length);
+    assertThat(smileTime).isLessThan(jsonTime);
+  }
+
+  private static Duration run(RoundTrip roundTrip) throws Exception {
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      assertThat(roundTrip.run()).isNotNull();
+    }
+    return Duration.ofNanos(System.nanoTime() - start);
+  }
+
+  // a message sent in a room, with mentions, an entity and attachments
+  private static EventHolder<V4MessageSent> messageReceived() {
+    V4User user = new V4User()
+        .userId(12987981109741L)
+        .firstName("John")
+        .lastName("Doe")
+        .displayName("John Doe")
+        .email("john.doe@symphony.com")
+        .username("john.doe");
+
+    StringBuilder presentationMl = new StringBuilder("<div data-format=\"PresentationML\" data-version=\"2.0\">");
+    for (int i = 0; i < 10; i++) {
+      presentationMl.append("<p>Deployment of <b>service-").append(i).append("</b> requested by ")
+          .append("<span class=\"entity\" data-entity-id=\"").append(i).append("\">@John Doe</span> ")
+          .append("<span class=\"entity\" data-entity-id=\"tag").append(i).append("\">#deploy</span></p>");
+    }
+    presentationMl.append("</div>");
+
+    Map<String, Object> data = new HashMap<>();
+    for (int i = 0; i < 10; i++) {
+      data.put(String.valueOf(i), Map.of("type", "com.symphony.user.mention", "version", "1.0",
+          "id", List.of(Map.of("type", "com.symphony.user.userId", "value", "12987981109741"))));
+      data.put("tag" + i, Map.of("type", "org.symphonyoss.taxonomy", "version", "1.0",
+          "id", List.of(Map.of("type", "org.symphonyoss.taxonomy.hashtag", "value", "deploy"))));
+    }
+
+    List<V4AttachmentInfo> attachments = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      attachments.add(new V4AttachmentInfo()
+          .id("internal_12987981103203%2Fattachment-" + i)
+          .name("report-" + i + ".pdf")
+          .size(128_000L + i));
+    }
+
+    V4Message message = new V4Message()
+        .messageId("IJO6uPmMH3ZKpbl8ms6YR3___nm2JRx2bQ")
+        .timestamp(1_700_000_000_000L)
+        .message(presentationMl.toString())
+        .data(JSON_MAPPER.valueToTree(data).toString())
+        .attachments(attachments)
+        .user(user)
+        .stream(new V4Stream().streamId("Ud5XO6Y1EiqSRx7MuJO8GH___nm2JRx2dA").streamType("ROOM"));
+
+    Map<String, Object> args = new HashMap<>();
+    args.put("service", "service-1");
+    return new EventHolder<>(new V4Initiator().user(user), new V4MessageSent().message(message), args);
+  }
+
+  @FunctionalInterface
+  private interface RoundTrip {
+    Object run() throws Exception;
+  }
+}
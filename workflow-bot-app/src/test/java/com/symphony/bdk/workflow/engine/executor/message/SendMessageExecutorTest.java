@@ -0,0 +1,33 @@
+package com.symphony.bdk.workflow.engine.executor.message;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SendMessageExecutorTest {
+
+  @Test
+  void containsForm_formElement() {
+    assertThat(SendMessageExecutor.containsForm(
+        "<messageML><form id=\"sendForm\"><text-field name=\"aField\"/></form></messageML>")).isTrue();
+  }
+
+  @Test
+  void containsForm_formQuoted() {
+    assertThat(SendMessageExecutor.containsForm(
+        "<messageML><code><![CDATA[<form id=\"sendForm\"></form>]]></code></messageML>")).isFalse();
+    assertThat(SendMessageExecutor.containsForm("<messageML>Use a &lt;form&gt; to reply</messageML>")).isFalse();
+  }
+
+  @Test
+  void containsForm_noForm() {
+    assertThat(SendMessageExecutor.containsForm("<messageML><b>hello</b></messageML>")).isFalse();
+    assertThat(SendMessageExecutor.containsForm(null)).isFalse();
+  }
+
+  @Test
+  void containsForm_notXml_tagLookedUp() {
+    assertThat(SendMessageExecutor.containsForm("<messageML>&nbsp;<form id=\"sendForm\"></form></messageML>"))
+        .isTrue();
+  }
+}
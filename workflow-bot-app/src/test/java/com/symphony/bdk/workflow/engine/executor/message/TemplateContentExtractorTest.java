@@ -0,0 +1,49 @@
+package com.symphony.bdk.workflow.engine.executor.message;
+
+import com.symphony.bdk.template.api.Template;
+import com.symphony.bdk.workflow.engine.executor.ActivityExecutorContext;
+import com.symphony.bdk.workflow.engine.executor.BdkGateway;
+import com.symphony.bdk.workflow.engine.executor.SecretKeeper;
+import com.symphony.bdk.workflow.engine.executor.SharedDataStore;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TemplateContentExtractorTest {
+
+  private final TemplateContentExtractor extractor = new TemplateContentExtractor(mock(BdkGateway.class),
+      mock(SharedDataStore.class), mock(SecretKeeper.class));
+  @SuppressWarnings("unchecked")
+  private final ActivityExecutorContext<Object> execution = mock(ActivityExecutorContext.class, RETURNS_DEEP_STUBS);
+
+  @Test
+  void extractContent_inlineTemplate_compiledOnce() throws Exception {
+    Template template = mock(Template.class);
+    when(template.process(anyMap())).thenReturn("rendered");
+    when(execution.getVariables()).thenReturn(Map.of());
+    when(execution.bdk().messages().templates().newTemplateFromString("${name}")).thenReturn(template);
+
+    assertThat(extractor.extractContent(execution, null, null, "${name}")).isEqualTo("rendered");
+    assertThat(extractor.extractContent(execution, null, null, "${name}")).isEqualTo("rendered");
+
+    verify(execution.bdk().messages().templates(), times(1)).newTemplateFromString("${name}");
+    // the template content is not kept as the key
+    assertThat(extractor.compiledTemplates().asMap().keySet())
+        .singleElement().asString().startsWith("inline:").doesNotContain("${name}");
+  }
+
+  @Test
+  void extractContent_content_notRendered() throws Exception {
+    assertThat(extractor.extractContent(execution, "content", null, "${name}")).isEqualTo("content");
+    assertThat(extractor.compiledTemplates().estimatedSize()).isZero();
+  }
+}
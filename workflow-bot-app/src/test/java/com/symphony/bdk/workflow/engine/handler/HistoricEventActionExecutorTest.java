@@ -1,7 +1,7 @@
 package com.symphony.bdk.workflow.engine.handler;
 
 import com.symphony.bdk.workflow.engine.handler.audit.AuditTrailLogAction;
-import com.symphony.bdk.workflow.engine.handler.variable.WorkflowEventVariableAction;
+import com.symphony.bdk.workflow.engine.handler.form.FormMessageIndexCleanupAction;
 
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.junit.jupiter.api.Test;
@@ -15,11 +15,11 @@ import static org.mockito.Mockito.verify;
 public class HistoricEventActionExecutorTest {
 
   @Test
-  void testWorkflowEventVariableAction() {
+  void testFormMessageIndexCleanupAction() {
     final HistoricEventActionExecutor historicEventActionExecutor = new HistoricEventActionExecutor();
     final HistoryEvent historyEvent = new HistoryEvent();
 
-    final HistoricEventAction eventAction = mock(WorkflowEventVariableAction.class);
+    final HistoricEventAction eventAction = mock(FormMessageIndexCleanupAction.class);
     doNothing().when(eventAction).execute(any(HistoryEvent.class));
 
     historicEventActionExecutor.executeAction(eventAction, historyEvent);
@@ -1,7 +1,8 @@
 package com.symphony.bdk.workflow.engine.handler;
 
 import com.symphony.bdk.workflow.engine.handler.audit.AuditTrailLogAction;
-import com.symphony.bdk.workflow.engine.handler.variable.WorkflowEventVariableAction;
+import com.symphony.bdk.workflow.engine.handler.form.FormMessageIndexCleanupAction;
+import com.symphony.bdk.workflow.engine.handler.variable.BlobCleanupAction;
 
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.junit.jupiter.api.Test;
@@ -27,7 +28,10 @@ public class HistoricEventActionTest {
   AuditTrailLogAction auditTrailLogAction;
 
   @Mock
-  WorkflowEventVariableAction workflowEventVariableAction;
+  FormMessageIndexCleanupAction formMessageIndexCleanupAction;
+
+  @Mock
+  BlobCleanupAction blobCleanupAction;
 
   @InjectMocks
   HistoricEventHandler historicEventHandler;
@@ -43,8 +47,10 @@ public class HistoricEventActionTest {
 
     verify(historicEventActionExecutor).executeAction(eq(auditTrailLogAction), eq(historyEvent1));
     verify(historicEventActionExecutor).executeAction(eq(auditTrailLogAction), eq(historyEvent2));
-    verify(historicEventActionExecutor).executeAction(eq(workflowEventVariableAction), eq(historyEvent1));
-    verify(historicEventActionExecutor).executeAction(eq(workflowEventVariableAction), eq(historyEvent2));
+    verify(historicEventActionExecutor).executeAction(eq(formMessageIndexCleanupAction), eq(historyEvent1));
+    verify(historicEventActionExecutor).executeAction(eq(formMessageIndexCleanupAction), eq(historyEvent2));
+    verify(historicEventActionExecutor).executeAction(eq(blobCleanupAction), eq(historyEvent1));
+    verify(historicEventActionExecutor).executeAction(eq(blobCleanupAction), eq(historyEvent2));
   }
 
   @Test
@@ -56,6 +62,7 @@ public class HistoricEventActionTest {
     historicEventHandler.handleEvent(historyEvent);
 
     verify(historicEventActionExecutor).executeAction(eq(auditTrailLogAction), eq(historyEvent));
-    verify(historicEventActionExecutor).executeAction(eq(workflowEventVariableAction), eq(historyEvent));
+    verify(historicEventActionExecutor).executeAction(eq(formMessageIndexCleanupAction), eq(historyEvent));
+    verify(historicEventActionExecutor).executeAction(eq(blobCleanupAction), eq(historyEvent));
   }
 }
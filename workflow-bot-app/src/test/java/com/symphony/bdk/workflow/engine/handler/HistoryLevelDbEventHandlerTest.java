@@ -0,0 +1,126 @@
+package com.symphony.bdk.workflow.engine.handler;
+
+import com.symphony.bdk.workflow.swadl.v1.History;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricIncidentEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricVariableUpdateEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.ExtensionElements;
+import org.camunda.bpm.model.bpmn.instance.Process;
+import org.camunda.bpm.model.bpmn.instance.camunda.CamundaProperties;
+import org.camunda.bpm.model.bpmn.instance.camunda.CamundaProperty;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HistoryLevelDbEventHandlerTest {
+  private static final String WORKFLOW_ID = "workflow";
+  private static final String DEFINITION_ID = "workflow:1:1";
+
+  @Mock
+  ProcessEngineConfigurationImpl processEngineConfiguration;
+
+  @Mock
+  DeploymentCache deploymentCache;
+
+  HistoryLevelDbEventHandler handler;
+
+  @BeforeEach
+  void setUp() {
+    handler = new HistoryLevelDbEventHandler(processEngineConfiguration);
+  }
+
+  @Test
+  void isStored_none() {
+    withHistory(History.NONE);
+
+    assertThat(handler.isStored(event(new HistoricProcessInstanceEventEntity()))).isFalse();
+    assertThat(handler.isStored(event(new HistoricActivityInstanceEventEntity()))).isFalse();
+    assertThat(handler.isStored(event(new HistoricVariableUpdateEventEntity()))).isFalse();
+  }
+
+  @Test
+  void isStored_instance() {
+    withHistory(History.INSTANCE);
+
+    assertThat(handler.isStored(event(new HistoricProcessInstanceEventEntity()))).isTrue();
+    assertThat(handler.isStored(event(new HistoricIncidentEventEntity()))).isTrue();
+    assertThat(handler.isStored(event(new HistoricActivityInstanceEventEntity()))).isFalse();
+    assertThat(handler.isStored(event(new HistoricVariableUpdateEventEntity()))).isFalse();
+  }
+
+  @Test
+  void isStored_activity() {
+    withHistory(History.ACTIVITY);
+
+    assertThat(handler.isStored(event(new HistoricProcessInstanceEventEntity()))).isTrue();
+    assertThat(handler.isStored(event(new HistoricActivityInstanceEventEntity()))).isTrue();
+    assertThat(handler.isStored(event(new HistoricVariableUpdateEventEntity()))).isFalse();
+  }
+
+  @Test
+  void isStored_full() {
+    withHistory(History.FULL);
+
+    assertThat(handler.isStored(event(new HistoricActivityInstanceEventEntity()))).isTrue();
+    assertThat(handler.isStored(event(new HistoricVariableUpdateEventEntity()))).isTrue();
+  }
+
+  @Test
+  void isStored_definitionReadOnce() {
+    withHistory(History.INSTANCE);
+
+    handler.isStored(event(new HistoricProcessInstanceEventEntity()));
+    handler.isStored(event(new HistoricActivityInstanceEventEntity()));
+
+    verify(deploymentCache, times(1)).findBpmnModelInstanceForProcessDefinition(DEFINITION_ID);
+  }
+
+  @Test
+  void isStored_definitionWithoutHistory() {
+    when(processEngineConfiguration.getDeploymentCache()).thenReturn(deploymentCache);
+    when(deploymentCache.findBpmnModelInstanceForProcessDefinition(DEFINITION_ID))
+        .thenReturn(Bpmn.createExecutableProcess(WORKFLOW_ID).startEvent().done());
+
+    assertThat(handler.isStored(event(new HistoricVariableUpdateEventEntity()))).isTrue();
+  }
+
+  @Test
+  void isStored_noWorkflow() {
+    assertThat(handler.isStored(new HistoricVariableUpdateEventEntity())).isTrue();
+  }
+
+  private void withHistory(History history) {
+    BpmnModelInstance instance = Bpmn.createExecutableProcess(WORKFLOW_ID).startEvent().done();
+    CamundaProperty property = instance.newInstance(CamundaProperty.class);
+    property.setCamundaName(HistoryLevelDbEventHandler.HISTORY_PROPERTY);
+    property.setCamundaValue(history.name());
+    CamundaProperties properties = instance.newInstance(CamundaProperties.class);
+    properties.getCamundaProperties().add(property);
+    Process process = instance.getModelElementById(WORKFLOW_ID);
+    process.setExtensionElements(instance.newInstance(ExtensionElements.class));
+    process.getExtensionElements().addChildElement(properties);
+    when(processEngineConfiguration.getDeploymentCache()).thenReturn(deploymentCache);
+    when(deploymentCache.findBpmnModelInstanceForProcessDefinition(DEFINITION_ID)).thenReturn(instance);
+  }
+
+  private static HistoryEvent event(HistoryEvent event) {
+    event.setProcessDefinitionKey(WORKFLOW_ID);
+    event.setProcessDefinitionId(DEFINITION_ID);
+    return event;
+  }
+}
@@ -0,0 +1,78 @@
+package com.symphony.bdk.workflow.engine.handler.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditRecordRingBufferTest {
+
+  @Test
+  void offer_drainTo_inOrder() {
+    AuditRecordRingBuffer buffer = new AuditRecordRingBuffer(4);
+    for (int i = 0; i < 3; i++) {
+      assertThat(buffer.offer(AuditRecord.create().with("i", i))).isTrue();
+    }
+
+    List<AuditRecord> records = new ArrayList<>();
+    assertThat(buffer.drainTo(records, 2)).isEqualTo(2);
+    assertThat(buffer.drainTo(records, 10)).isEqualTo(1);
+    assertThat(records).extracting(r -> r.get("i")).containsExactly(0, 1, 2);
+    assertThat(buffer.size()).isZero();
+  }
+
+  @Test
+  void offer_full() {
+    AuditRecordRingBuffer buffer = new AuditRecordRingBuffer(2);
+    assertThat(buffer.offer(AuditRecord.create())).isTrue();
+    assertThat(buffer.offer(AuditRecord.create())).isTrue();
+    assertThat(buffer.offer(AuditRecord.create())).isFalse();
+
+    // slots are reused once drained
+    buffer.drainTo(new ArrayList<>(), 1);
+    assertThat(buffer.offer(AuditRecord.create())).isTrue();
+    assertThat(buffer.size()).isEqualTo(2);
+  }
+
+  @Test
+  void offer_concurrentProducers() throws InterruptedException {
+    int producers = 4;
+    int recordsPerProducer = 10_000;
+    AuditRecordRingBuffer buffer = new AuditRecordRingBuffer(128);
+    ExecutorService executor = Executors.newFixedThreadPool(producers);
+    CountDownLatch done = new CountDownLatch(producers);
+    for (int p = 0; p < producers; p++) {
+      int producer = p;
+      executor.submit(() -> {
+        for (int i = 0; i < recordsPerProducer; i++) {
+          AuditRecord auditRecord = AuditRecord.create().with("producer", producer).with("i", i);
+          while (!buffer.offer(auditRecord)) {
+            Thread.onSpinWait();
+          }
+        }
+        done.countDown();
+      });
+    }
+
+    List<AuditRecord> records = new ArrayList<>();
+    while (done.getCount() > 0 || buffer.size() > 0) {
+      buffer.drainTo(records, 64);
+    }
+    executor.shutdown();
+    assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+    assertThat(records).hasSize(producers * recordsPerProducer);
+    // records of a producer are kept in order
+    for (int p = 0; p < producers; p++) {
+      int producer = p;
+      assertThat(records.stream().filter(r -> r.get("producer").equals(producer)).map(r -> (int) r.get("i")))
+          .isSorted();
+    }
+  }
+}
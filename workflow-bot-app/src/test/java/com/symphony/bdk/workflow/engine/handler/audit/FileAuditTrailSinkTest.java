@@ -0,0 +1,45 @@
+package com.symphony.bdk.workflow.engine.handler.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileAuditTrailSinkTest {
+
+  @Test
+  void write(@TempDir Path tempDir) throws IOException {
+    Path file = tempDir.resolve("audit.ndjson");
+    FileAuditTrailSink sink = new FileAuditTrailSink(file.toString(), DataSize.ofMegabytes(1), 2);
+
+    sink.write(List.of(AuditRecord.create().with("event", "deploy_workflow").with("process_key", "key"),
+        AuditRecord.create().with("event", "undeploy_workflow")));
+
+    List<String> lines = Files.readAllLines(file);
+    assertThat(lines).hasSize(2);
+    assertThat(lines.get(0)).startsWith("{\"timestamp\":")
+        .endsWith("\"event\":\"deploy_workflow\",\"process_key\":\"key\"}");
+    assertThat(lines.get(1)).endsWith("\"event\":\"undeploy_workflow\"}");
+  }
+
+  @Test
+  void write_rotate(@TempDir Path tempDir) throws IOException {
+    Path file = tempDir.resolve("audit.ndjson");
+    FileAuditTrailSink sink = new FileAuditTrailSink(file.toString(), DataSize.ofBytes(1), 2);
+
+    for (int i = 0; i < 4; i++) {
+      sink.write(List.of(AuditRecord.create().with("i", i)));
+    }
+
+    assertThat(Files.readAllLines(file)).singleElement().asString().endsWith("\"i\":3}");
+    assertThat(Files.readAllLines(tempDir.resolve("audit.ndjson.1"))).singleElement().asString().endsWith("\"i\":2}");
+    assertThat(Files.readAllLines(tempDir.resolve("audit.ndjson.2"))).singleElement().asString().endsWith("\"i\":1}");
+    assertThat(tempDir.resolve("audit.ndjson.3")).doesNotExist();
+  }
+}
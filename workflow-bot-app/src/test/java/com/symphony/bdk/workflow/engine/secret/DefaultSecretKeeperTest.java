@@ -1,21 +1,27 @@
 package com.symphony.bdk.workflow.engine.secret;
 
+import com.symphony.bdk.workflow.engine.executor.SecretKeeper;
 import com.symphony.bdk.workflow.exception.DuplicateException;
 
 import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -25,9 +31,13 @@ class DefaultSecretKeeperTest {
   SecretRepository repository;
   @Mock
   SecretCryptVault vault;
-  @InjectMocks
   DefaultSecretKeeper secretKeeper;
 
+  @BeforeEach
+  void setUp() {
+    secretKeeper = new DefaultSecretKeeper(repository, vault, 60_000, 10);
+  }
+
   @Test
   void saveSuccessfully() {
     when(repository.findByRef(anyString())).thenReturn(Optional.empty());
@@ -60,4 +70,51 @@ class DefaultSecretKeeperTest {
     secretKeeper.remove("key");
     verify(repository).deleteByRef(anyString());
   }
+
+  @Test
+  void get_decryptedOnce() {
+    when(repository.findByRef("key")).thenReturn(Optional.of(new SecretDomain("key", "ZW5jcnlwdGVk")));
+    when(vault.decrypt(any())).thenReturn("secret".getBytes(StandardCharsets.UTF_8));
+
+    Assertions.assertThat(secretKeeper.get("key")).isEqualTo("secret");
+    Assertions.assertThat(secretKeeper.get("key")).isEqualTo("secret");
+
+    verify(repository, times(1)).findByRef("key");
+    verify(vault, times(1)).decrypt(any());
+  }
+
+  @Test
+  void get_removed_invalidated() {
+    when(repository.findByRef("key")).thenReturn(Optional.of(new SecretDomain("key", "ZW5jcnlwdGVk")))
+        .thenReturn(Optional.empty());
+    when(vault.decrypt(any())).thenReturn("secret".getBytes(StandardCharsets.UTF_8));
+    Assertions.assertThat(secretKeeper.get("key")).isEqualTo("secret");
+
+    secretKeeper.remove("key");
+
+    Assertions.assertThat(secretKeeper.get("key")).isNull();
+  }
+
+  @Test
+  void get_cacheDisabled_wiped() {
+    byte[] decrypted = "secret".getBytes(StandardCharsets.UTF_8);
+    when(repository.findByRef("key")).thenReturn(Optional.of(new SecretDomain("key", "ZW5jcnlwdGVk")));
+    when(vault.decrypt(any())).thenReturn(decrypted);
+    DefaultSecretKeeper uncached = new DefaultSecretKeeper(repository, vault, 0, 0);
+
+    Assertions.assertThat(uncached.get("key")).isEqualTo("secret");
+    Assertions.assertThat(decrypted).containsOnly(0);
+  }
+
+  @Test
+  void getSecretsMetadata() {
+    SecretRepository.SecretRef secretRef = mock(SecretRepository.SecretRef.class);
+    when(secretRef.getRef()).thenReturn("key");
+    when(secretRef.getCreatedAt()).thenReturn(1000L);
+    when(repository.findAllProjectedBy()).thenReturn(List.of(secretRef));
+
+    Assertions.assertThat(secretKeeper.getSecretsMetadata())
+        .containsExactly(new SecretKeeper.SecretMetadata("key", Instant.ofEpochMilli(1000)));
+    verify(repository, never()).findAll();
+  }
 }
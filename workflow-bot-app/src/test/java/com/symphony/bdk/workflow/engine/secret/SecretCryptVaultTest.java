@@ -9,6 +9,7 @@ import javax.crypto.SecretKeyFactory;
 import javax.crypto.spec.PBEKeySpec;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class SecretCryptVaultTest {
 
@@ -30,4 +31,22 @@ class SecretCryptVaultTest {
     assertThat(toEncrypt).isEqualTo(decrypted);
   }
 
+  @Test
+  void testCipherReused_afterFailure() throws Exception {
+    SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
+    KeySpec spec = new PBEKeySpec("password".toCharArray(), "salt".getBytes(StandardCharsets.UTF_8), 65536, 256);
+    SecretCryptVault vault =
+        new SecretCryptVault().with256BitAesGcmNoPaddingAnd64BitSaltKey(0, factory.generateSecret(spec).getEncoded())
+            .withDefaultKeyVersion(0);
+
+    byte[] encrypted = vault.encrypt("first".getBytes(StandardCharsets.UTF_8));
+    byte[] tampered = encrypted.clone();
+    tampered[tampered.length - 1] ^= 1;
+
+    assertThatThrownBy(() -> vault.decrypt(tampered)).isInstanceOf(CryptOperationException.class);
+    assertThat(new String(vault.decrypt(encrypted), StandardCharsets.UTF_8)).isEqualTo("first");
+    byte[] second = vault.encrypt("second".getBytes(StandardCharsets.UTF_8));
+    assertThat(new String(vault.decrypt(second), StandardCharsets.UTF_8)).isEqualTo("second");
+  }
+
 }
@@ -0,0 +1,163 @@
+package com.symphony.bdk.workflow.engine.shared;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachedSharedDataStoreTest {
+
+  private final DefaultSharedDataStore delegate = mock(DefaultSharedDataStore.class);
+
+  @Test
+  void getNamespaceData_loadedOnce() {
+    when(delegate.getNamespaceValues("namespace")).thenReturn(new HashMap<>(Map.of("key", SharedValue.of("value"))));
+    CachedSharedDataStore store = new CachedSharedDataStore(delegate, 1, 10, 0);
+
+    assertThat(store.getNamespaceData("namespace")).containsEntry("key", "value");
+    assertThat(store.getNamespaceData("namespace")).containsEntry("key", "value");
+
+    verify(delegate, times(1)).getNamespaceValues("namespace");
+  }
+
+  @Test
+  void getNamespaceData_expired_ignored() {
+    when(delegate.getNamespaceValues("namespace")).thenReturn(new HashMap<>(
+        Map.of("key", new SharedValue("value", 0L), "other", SharedValue.of("value"))));
+    CachedSharedDataStore store = new CachedSharedDataStore(delegate, 1, 10, 0);
+
+    assertThat(store.getNamespaceData("namespace")).containsOnlyKeys("other");
+    assertThat(store.getAll("namespace", List.of("key", "other"))).containsOnlyKeys("other");
+  }
+
+  @Test
+  void get_singleKey() {
+    when(delegate.getNamespaceValues("namespace")).thenReturn(new HashMap<>(
+        Map.of("key", SharedValue.of("value"), "expired", new SharedValue("value", 0L))));
+    CachedSharedDataStore store = new CachedSharedDataStore(delegate, 1, 10, 0);
+
+    assertThat(store.get("namespace", "key")).isEqualTo("value");
+    assertThat(store.get("namespace", "expired")).isNull();
+    assertThat(store.get("namespace", "missing")).isNull();
+    verify(delegate, times(1)).getNamespaceValues("namespace");
+  }
+
+  @Test
+  void putNamespaceData_writeThrough() {
+    when(delegate.getNamespaceValues("namespace")).thenReturn(new HashMap<>());
+    CachedSharedDataStore store = new CachedSharedDataStore(delegate, 1, 10, 0);
+
+    store.putNamespaceData("namespace", "counter", 1);
+
+    verify(delegate).putValues("namespace", Map.of("counter", SharedValue.of(1)));
+    assertThat(store.getNamespaceData("namespace")).containsEntry("counter", 1);
+  }
+
+  @Test
+  void putNamespaceData_writeBehind() {
+    when(delegate.getNamespaceValues("namespace")).thenReturn(new HashMap<>());
+    // long enough for the writes not to be flushed in the background
+    CachedSharedDataStore store = new CachedSharedDataStore(delegate, 1, 10, 60_000);
+
+    store.putNamespaceData("namespace", "counter", 1);
+    store.putNamespaceData("namespace", "counter", 2);
+    store.putNamespaceData("namespace", "other", null);
+
+    assertThat(store.getNamespaceData("namespace")).containsEntry("counter", 2).containsEntry("other", null);
+    verify(delegate, never()).putValues(anyString(), anyMap());
+
+    store.flush();
+
+    Map<String, SharedValue> writes = new HashMap<>();
+    writes.put("counter", SharedValue.of(2));
+    writes.put("other", SharedValue.of(null));
+    verify(delegate).putValues("namespace", writes);
+    store.stop();
+  }
+
+  @Test
+  void putNamespaceData_ttl() {
+    when(delegate.getNamespaceValues("namespace")).thenReturn(new HashMap<>());
+    CachedSharedDataStore store = new CachedSharedDataStore(delegate, 1, 10, 0);
+
+    store.putNamespaceData("namespace", "key", "value", Duration.ofMinutes(1));
+    store.putNamespaceData("namespace", "expired", "value", Duration.ZERO.minusMillis(1));
+
+    assertThat(store.getNamespaceData("namespace")).containsOnlyKeys("key");
+  }
+
+  @Test
+  void increment() {
+    when(delegate.getNamespaceValues("namespace")).thenReturn(new HashMap<>(Map.of("counter", SharedValue.of(1))));
+    CachedSharedDataStore store = new CachedSharedDataStore(delegate, 1, 10, 0);
+
+    assertThat(store.increment("namespace", "counter", 2)).isEqualTo(3);
+    assertThat(store.increment("namespace", "missing", 1)).isEqualTo(1);
+
+    verify(delegate).putValues("namespace", Map.of("counter", SharedValue.of(3L)));
+    assertThat(store.getNamespaceData("namespace")).containsEntry("counter", 3L);
+  }
+
+  @Test
+  void increment_notNumber_fails() {
+    when(delegate.getNamespaceValues("namespace")).thenReturn(new HashMap<>(Map.of("key", SharedValue.of("value"))));
+    CachedSharedDataStore store = new CachedSharedDataStore(delegate, 1, 10, 0);
+
+    assertThatThrownBy(() -> store.increment("namespace", "key", 1)).isInstanceOf(IllegalArgumentException.class);
+    verify(delegate, never()).putValues(anyString(), anyMap());
+  }
+
+  @Test
+  void compareAndSet() {
+    when(delegate.getNamespaceValues("namespace")).thenReturn(new HashMap<>(Map.of("key", SharedValue.of(1))));
+    CachedSharedDataStore store = new CachedSharedDataStore(delegate, 1, 10, 0);
+
+    assertThat(store.compareAndSet("namespace", "key", 2, 3)).isFalse();
+    verify(delegate, never()).putValues(anyString(), anyMap());
+
+    // numbers are compared by value
+    assertThat(store.compareAndSet("namespace", "key", 1L, 3)).isTrue();
+    verify(delegate).putValues("namespace", Map.of("key", SharedValue.of(3)));
+  }
+
+  @Test
+  void putIfAbsent() {
+    when(delegate.getNamespaceValues("namespace")).thenReturn(new HashMap<>(Map.of("key", SharedValue.of("value"))));
+    CachedSharedDataStore store = new CachedSharedDataStore(delegate, 1, 10, 0);
+
+    assertThat(store.putIfAbsent("namespace", "key", "other")).isEqualTo("value");
+    assertThat(store.putIfAbsent("namespace", "missing", "other")).isNull();
+
+    verify(delegate, times(1)).putValues(eq("namespace"), anyMap());
+    assertThat(store.getNamespaceData("namespace")).containsEntry("key", "value").containsEntry("missing", "other");
+  }
+
+  @Test
+  void flush_failure_retried() {
+    when(delegate.getNamespaceValues("namespace")).thenReturn(new HashMap<>());
+    CachedSharedDataStore store = new CachedSharedDataStore(delegate, 1, 10, 60_000);
+    store.putNamespaceData("namespace", "counter", 1);
+    doThrow(new IllegalStateException("database unavailable")).when(delegate)
+        .putValues(eq("namespace"), anyMap());
+
+    store.flush();
+    store.flush();
+
+    verify(delegate, times(2)).putValues("namespace", Map.of("counter", SharedValue.of(1)));
+    store.stop();
+  }
+}
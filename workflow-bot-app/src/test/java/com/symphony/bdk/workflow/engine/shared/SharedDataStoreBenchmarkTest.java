@@ -0,0 +1,133 @@
+package com.symphony.bdk.workflow.engine.shared;
+
+import com.symphony.bdk.workflow.engine.executor.SharedDataStore;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares concurrent counter increments (read then write of a shared key, or atomic increments) against the database
+ * store and the cached one, with and without write-behind. The database is simulated by a fixed latency per query.
+ * Run with WDK_BENCHMARK=true.
+ */
+@Slf4j
+@EnabledIfEnvironmentVariable(named = "WDK_BENCHMARK", matches = "true")
+class SharedDataStoreBenchmarkTest {
+  private static final int THREADS = 16;
+  private static final int INCREMENTS = 200;
+  private static final int NAMESPACES = 4;
+  private static final long QUERY_LATENCY_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+
+  @Test
+  void concurrentIncrements() throws Exception {
+    Duration database = run(new SimulatedDatabaseStore());
+    CachedSharedDataStore writeThrough = new CachedSharedDataStore(new SimulatedDatabaseStore(), 0, 100, 0);
+    Duration cached = run(writeThrough);
+    CachedSharedDataStore writeBehind = new CachedSharedDataStore(new SimulatedDatabaseStore(), 0, 100, 50);
+    Duration cachedWriteBehind = run(writeBehind);
+    writeBehind.stop();
+
+    log.info("{} increments by {} threads: database {}ms, cached {}ms, cached with write-behind {}ms",
+        INCREMENTS * THREADS, THREADS, database.toMillis(), cached.toMillis(), cachedWriteBehind.toMillis());
+    assertThat(cached).isLessThan(database);
+    assertThat(cachedWriteBehind).isLessThan(cached);
+  }
+
+  @Test
+  void concurrentAtomicIncrements() throws Exception {
+    SimulatedDatabaseStore databaseStore = new SimulatedDatabaseStore();
+    Duration database = runAtomic(databaseStore);
+    CachedSharedDataStore cachedStore = new CachedSharedDataStore(new SimulatedDatabaseStore(), 0, 100, 0);
+    Duration cached = runAtomic(cachedStore);
+
+    log.info("{} atomic increments by {} threads: database {}ms, cached {}ms",
+        INCREMENTS * THREADS, THREADS, database.toMillis(), cached.toMillis());
+    long expected = (long) INCREMENTS * THREADS / NAMESPACES;
+    for (int namespace = 0; namespace < NAMESPACES; namespace++) {
+      assertThat(databaseStore.getNamespaceData("namespace" + namespace)).containsEntry("counter", expected);
+      assertThat(cachedStore.getNamespaceData("namespace" + namespace)).containsEntry("counter", expected);
+    }
+    assertThat(cached).isLessThan(database);
+  }
+
+  private static Duration runAtomic(SharedDataStore store) throws InterruptedException {
+    return run(namespace -> store.increment(namespace, "counter", 1));
+  }
+
+  private static Duration run(SharedDataStore store) throws InterruptedException {
+    return run(namespace -> {
+      Object value = store.getNamespaceData(namespace).get("counter");
+      store.putNamespaceData(namespace, "counter", value == null ? 1 : (Integer) value + 1);
+    });
+  }
+
+  private static Duration run(Consumer<String> increment) throws InterruptedException {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    long start = System.nanoTime();
+    for (int thread = 0; thread < THREADS; thread++) {
+      String namespace = "namespace" + thread % NAMESPACES;
+      executor.submit(() -> {
+        for (int i = 0; i < INCREMENTS; i++) {
+          increment.accept(namespace);
+        }
+      });
+    }
+    executor.shutdown();
+    assertThat(executor.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+    return Duration.ofNanos(System.nanoTime() - start);
+  }
+
+  private static class SimulatedDatabaseStore extends DefaultSharedDataStore {
+    private final Map<String, Map<String, SharedValue>> rows = new ConcurrentHashMap<>();
+
+    SimulatedDatabaseStore() {
+      super(null);
+    }
+
+    @Override
+    Map<String, SharedValue> getNamespaceValues(String namespace) {
+      LockSupport.parkNanos(QUERY_LATENCY_NANOS);
+      return new HashMap<>(rows.getOrDefault(namespace, Map.of()));
+    }
+
+    @Override
+    void putValues(String namespace, Map<String, SharedValue> values) {
+      LockSupport.parkNanos(QUERY_LATENCY_NANOS);
+      rows.computeIfAbsent(namespace, n -> new ConcurrentHashMap<>()).putAll(values);
+    }
+
+    @Override
+    public Map<String, Object> getNamespaceData(String namespace) {
+      Map<String, Object> data = new HashMap<>();
+      getNamespaceValues(namespace).forEach((key, value) -> data.put(key, value.getData()));
+      return data;
+    }
+
+    @Override
+    public void putNamespaceData(String namespace, String key, Object data) {
+      putValues(namespace, Map.of(key, SharedValue.of(data)));
+    }
+
+    @Override
+    public synchronized long increment(String namespace, String key, long delta) {
+      // a locked read then a write
+      Object value = getNamespaceValues(namespace).getOrDefault(key, SharedValue.of(null)).getData();
+      long incremented = SharedValue.toLong(namespace, key, value) + delta;
+      putValues(namespace, Map.of(key, SharedValue.of(incremented)));
+      return incremented;
+    }
+  }
+}
@@ -0,0 +1,170 @@
+package com.symphony.bdk.workflow.event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class EventIngestionPipelineTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private EventIngestionPipeline pipeline;
+
+  @AfterEach
+  void tearDown() {
+    pipeline.stop();
+  }
+
+  @Test
+  void submit_sameKey_keepsOrder() throws InterruptedException {
+    pipeline = new EventIngestionPipeline(meterRegistry, 4, 10, 1000);
+    pipeline.start();
+    List<Integer> processed = new CopyOnWriteArrayList<>();
+
+    for (int i = 0; i < 100; i++) {
+      int index = i;
+      pipeline.submit("stream", () -> processed.add(index));
+    }
+
+    await().atMost(5, TimeUnit.SECONDS).until(() -> processed.size() == 100);
+    assertThat(processed).isEqualTo(IntStream.range(0, 100).boxed().collect(Collectors.toList()));
+    assertThat(meterRegistry.get("workflow.event.lag").timer().count()).isEqualTo(100);
+  }
+
+  @Test
+  void submit_differentKeys_notBlockedBySlowStripe() throws InterruptedException {
+    pipeline = new EventIngestionPipeline(meterRegistry, 2, 10, 1000);
+    pipeline.start();
+    CountDownLatch slowTask = new CountDownLatch(1);
+    CountDownLatch fastTask = new CountDownLatch(1);
+
+    // keys hashed to different stripes
+    pipeline.submit("0", () -> {
+      try {
+        slowTask.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    pipeline.submit("1", fastTask::countDown);
+
+    assertThat(fastTask.await(5, TimeUnit.SECONDS)).isTrue();
+    slowTask.countDown();
+  }
+
+  @Test
+  void submit_noKey_spreadOverStripes() throws InterruptedException {
+    pipeline = new EventIngestionPipeline(meterRegistry, 2, 10, 1000);
+    pipeline.start();
+    CountDownLatch slowTask = new CountDownLatch(1);
+    CountDownLatch fastTask = new CountDownLatch(1);
+
+    pipeline.submit(null, () -> {
+      try {
+        slowTask.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    pipeline.submit(null, fastTask::countDown);
+
+    assertThat(fastTask.await(5, TimeUnit.SECONDS)).isTrue();
+    slowTask.countDown();
+  }
+
+  @Test
+  void submit_failingTask_countedAsDropped() throws InterruptedException {
+    pipeline = new EventIngestionPipeline(meterRegistry, 1, 10, 1000);
+    pipeline.start();
+    List<Integer> processed = new CopyOnWriteArrayList<>();
+
+    pipeline.submit("stream", () -> {
+      throw new IllegalStateException("failure");
+    });
+    pipeline.submit("stream", () -> processed.add(1));
+
+    await().atMost(5, TimeUnit.SECONDS).until(() -> processed.size() == 1);
+    assertThat(meterRegistry.get("workflow.event.dropped").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void submit_fullQueue_blocksUntilConsumed() throws InterruptedException {
+    pipeline = new EventIngestionPipeline(meterRegistry, 1, 1, 1000);
+    pipeline.start();
+    CountDownLatch blocker = new CountDownLatch(1);
+
+    pipeline.submit("stream", () -> {
+      try {
+        blocker.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    await().atMost(5, TimeUnit.SECONDS).until(() -> pipeline.queueDepth() == 0);
+    pipeline.submit("stream", () -> { });
+    assertThat(meterRegistry.get("workflow.event.queue.depth").gauge().value()).isEqualTo(1);
+
+    Thread producer = new Thread(() -> {
+      try {
+        pipeline.submit("stream", () -> { });
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    producer.start();
+    await().atMost(5, TimeUnit.SECONDS).until(() -> producer.getState() == Thread.State.WAITING);
+
+    blocker.countDown();
+    producer.join(5000);
+    assertThat(producer.isAlive()).isFalse();
+  }
+
+  @Test
+  void stop_drainsQueuedEvents() throws InterruptedException {
+    pipeline = new EventIngestionPipeline(meterRegistry, 1, 100, 5000);
+    pipeline.start();
+    List<Integer> processed = new CopyOnWriteArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      int index = i;
+      pipeline.submit("stream", () -> processed.add(index));
+    }
+
+    pipeline.stop();
+    pipeline.submit("stream", () -> processed.add(-1));
+
+    assertThat(processed).hasSize(50).doesNotContain(-1);
+  }
+
+  @Test
+  void stop_timeout_dropsQueuedEvents() throws InterruptedException {
+    pipeline = new EventIngestionPipeline(meterRegistry, 1, 10, 200);
+    pipeline.start();
+    CountDownLatch blocker = new CountDownLatch(1);
+    List<Integer> processed = new CopyOnWriteArrayList<>();
+    pipeline.submit("stream", () -> {
+      try {
+        blocker.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    pipeline.submit("stream", () -> processed.add(1));
+
+    long start = System.nanoTime();
+    pipeline.stop();
+
+    assertThat(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start)).isLessThan(5);
+    assertThat(processed).isEmpty();
+    assertThat(pipeline.queueDepth()).isEqualTo(1);
+    assertThat(meterRegistry.get("workflow.event.dropped").counter().count()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,49 @@
+package com.symphony.bdk.workflow.event;
+
+import com.symphony.bdk.gen.api.model.V4AttachmentInfo;
+import com.symphony.bdk.gen.api.model.V4Initiator;
+import com.symphony.bdk.gen.api.model.V4Message;
+import com.symphony.bdk.gen.api.model.V4MessageSent;
+import com.symphony.bdk.gen.api.model.V4Stream;
+import com.symphony.bdk.gen.api.model.V4User;
+import com.symphony.bdk.workflow.engine.executor.EventHolder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventProjectionTest {
+
+  @Test
+  void project() {
+    V4Message message = new V4Message()
+        .messageId("msgId")
+        .message("<div>Hello</div>")
+        .data("{\"key\": \"value\"}")
+        .attachments(List.of(new V4AttachmentInfo().id("attachmentId").name("report.pdf")))
+        .user(new V4User().userId(123L).displayName("John"))
+        .stream(new V4Stream().streamId("streamId"));
+    Map<String, Object> args = new HashMap<>();
+    args.put("arg", "value");
+    EventHolder<V4MessageSent> event = new EventHolder<>(new V4Initiator().user(new V4User().userId(123L)),
+        new V4MessageSent().message(message), args);
+
+    EventHolder<?> projected = EventProjection.project(event,
+        List.of("source.message.message", "source.message.attachments.0.name", "source.message.length"));
+
+    assertThat(projected.getSource()).isInstanceOf(V4MessageSent.class);
+    V4Message projectedMessage = ((V4MessageSent) projected.getSource()).getMessage();
+    assertThat(projectedMessage.getMessage()).isEqualTo("<div>Hello</div>");
+    assertThat(projectedMessage.getAttachments()).extracting(V4AttachmentInfo::getName).containsExactly("report.pdf");
+    assertThat(projectedMessage.getStream().getStreamId()).isEqualTo("streamId");
+    assertThat(projectedMessage.getMessageId()).isNull();
+    assertThat(projectedMessage.getData()).isNull();
+    assertThat(projectedMessage.getUser()).isNull();
+    assertThat(projected.getInitiator().getUser().getUserId()).isEqualTo(123L);
+    assertThat(projected.getArgs()).containsEntry("arg", "value");
+  }
+}
@@ -0,0 +1,144 @@
+package com.symphony.bdk.workflow.event;
+
+import com.symphony.bdk.workflow.engine.camunda.variable.ReceivedEventListener;
+
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.delegate.ExecutionListener;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.StartEvent;
+import org.camunda.community.mockito.QueryMocks;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class EventSubscriptionRegistryTest {
+  @Mock RepositoryService repositoryService;
+  @InjectMocks EventSubscriptionRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    QueryMocks.mockProcessDefinitionQuery(repositoryService).list(Collections.emptyList());
+  }
+
+  @Test
+  void route_matchingPatternsOnly() {
+    registry.register("deployment1", workflow("message-received_/hello {name}"));
+    registry.register("deployment2", workflow("message-received_/hello/*"));
+    registry.register("deployment3", workflow("message-received_/bye"));
+
+    Map<String, Map<String, String>> routes = registry.routeMessage("/hello john");
+
+    assertThat(routes).containsOnlyKeys("message-received_/hello {name}");
+    assertThat(routes.get("message-received_/hello {name}")).containsEntry("name", "john");
+  }
+
+  @Test
+  void route_wildcardAtStart() {
+    registry.register("deployment1", workflow("message-received_{command}"));
+
+    assertThat(registry.routeMessage("/anything")).containsOnlyKeys("message-received_{command}");
+  }
+
+  @Test
+  void route_sameSignalInManyDeployments_routedOnce() {
+    registry.register("deployment1", workflow("message-received_/ping"));
+    registry.register("deployment2", workflow("message-received_/ping"));
+
+    assertThat(registry.routeMessage("/ping")).hasSize(1);
+  }
+
+  @Test
+  void route_anyMessageSignal_notIndexed() {
+    registry.register("deployment1", workflow("message-received_"));
+
+    assertThat(registry.routeMessage("")).isEmpty();
+  }
+
+  @Test
+  void unregister_removesPatterns() {
+    registry.register("deployment1", workflow("message-received_/ping"));
+    registry.unregister("deployment1");
+
+    assertThat(registry.routeMessage("/ping")).isEmpty();
+  }
+
+  @Test
+  void route_consecutiveSeparators() {
+    registry.register("deployment1", workflow("message-received_/a/b"));
+
+    assertThat(registry.routeMessage("/a//b")).containsOnlyKeys("message-received_/a/b");
+  }
+
+  @Test
+  void hasSubscribers_signalsAndMessages() {
+    registry.register("deployment1", workflow("room-created"));
+    registry.register("deployment2", Bpmn.createExecutableProcess("process").startEvent().message("form-reply_init")
+        .endEvent().done());
+
+    assertThat(registry.hasSubscribers(WorkflowEventType.ROOM_CREATED)).isTrue();
+    assertThat(registry.hasSubscribers(WorkflowEventType.FORM_REPLIED)).isTrue();
+    assertThat(registry.hasSubscribers(WorkflowEventType.ROOM_UPDATED)).isFalse();
+    assertThat(registry.hasSubscribers(WorkflowEventType.MESSAGE_RECEIVED)).isFalse();
+  }
+
+  @Test
+  void hasSubscribers_afterUnregister() {
+    registry.register("deployment1", workflow("message-received_/ping"));
+    assertThat(registry.hasSubscribers(WorkflowEventType.MESSAGE_RECEIVED)).isTrue();
+
+    registry.unregister("deployment1");
+    assertThat(registry.hasSubscribers(WorkflowEventType.MESSAGE_RECEIVED)).isFalse();
+  }
+
+  @Test
+  void eventPaths_unionOfSubscribers() {
+    registry.register("deployment1", workflow("message-received_/ping", Optional.of(List.of("source.message.data"))));
+    registry.register("deployment2", workflow("message-received_/pong", Optional.of(List.of("initiator.user"))));
+    registry.register("deployment3", workflow("room-created", Optional.empty()));
+
+    assertThat(registry.eventPaths(WorkflowEventType.MESSAGE_RECEIVED.getEventName()))
+        .hasValueSatisfying(paths -> assertThat(paths).containsExactly("initiator.user", "source.message.data"));
+    assertThat(registry.eventPaths(WorkflowEventType.ROOM_CREATED.getEventName())).isEmpty();
+  }
+
+  @Test
+  void eventPaths_wholeEventNeededBySubscriber() {
+    registry.register("deployment1", workflow("message-received_/ping", Optional.of(List.of("source.message.data"))));
+    registry.register("deployment2", workflow("message-received_/pong", Optional.empty()));
+    assertThat(registry.eventPaths(WorkflowEventType.MESSAGE_RECEIVED.getEventName())).isEmpty();
+
+    registry.unregister("deployment2");
+    assertThat(registry.eventPaths(WorkflowEventType.MESSAGE_RECEIVED.getEventName())).isPresent();
+  }
+
+  @Test
+  void eventPaths_workflowWithoutListener_wholeEvent() {
+    registry.register("deployment1", workflow("message-received_/ping"));
+
+    assertThat(registry.eventPaths(WorkflowEventType.MESSAGE_RECEIVED.getEventName())).isEmpty();
+  }
+
+  private static BpmnModelInstance workflow(String signal, Optional<List<String>> eventPaths) {
+    BpmnModelInstance instance = workflow(signal);
+    StartEvent startEvent = instance.getModelElementsByType(StartEvent.class).iterator().next();
+    startEvent.builder().addExtensionElement(
+        ReceivedEventListener.create(instance, ExecutionListener.EVENTNAME_END, "received", eventPaths));
+    return instance;
+  }
+
+  private static BpmnModelInstance workflow(String signal) {
+    return Bpmn.createExecutableProcess("process").startEvent().signal(signal).endEvent().done();
+  }
+}
@@ -0,0 +1,61 @@
+package com.symphony.bdk.workflow.event;
+
+import com.symphony.bdk.workflow.engine.handler.form.FormMessage;
+import com.symphony.bdk.workflow.engine.handler.form.FormMessageRepository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FormMessageIndexTest {
+
+  @Mock
+  private FormMessageRepository repository;
+
+  @InjectMocks
+  private FormMessageIndex index;
+
+  @Test
+  void index_messagesStored() {
+    index.index("process1", List.of("msg1", "msg2"));
+
+    verify(repository).saveAll(List.of(new FormMessage("msg1", "process1"), new FormMessage("msg2", "process1")));
+  }
+
+  @Test
+  void index_noMessage_nothingStored() {
+    index.index("process1", List.of());
+    index.index(null, List.of("msg1"));
+
+    verify(repository, never()).saveAll(anyList());
+  }
+
+  @Test
+  void processInstanceOf_indexedMessages() {
+    when(repository.findById("msg1")).thenReturn(Optional.of(new FormMessage("msg1", "process1")));
+    when(repository.findById("unknown")).thenReturn(Optional.empty());
+
+    assertThat(index.processInstanceOf("msg1")).hasValue("process1");
+    assertThat(index.processInstanceOf("unknown")).isEmpty();
+    assertThat(index.processInstanceOf(null)).isEmpty();
+  }
+
+  @Test
+  void remove_processEnded_itsMessagesAreRemoved() {
+    index.remove("process1");
+
+    verify(repository).deleteByProcessInstanceId("process1");
+  }
+}
@@ -2,16 +2,23 @@ package com.symphony.bdk.workflow.utils;
 
 import com.symphony.bdk.core.service.session.SessionService;
 import com.symphony.bdk.gen.api.model.UserV2;
+import com.symphony.bdk.gen.api.model.V4Message;
+import com.symphony.bdk.gen.api.model.V4MessageSent;
 import com.symphony.bdk.workflow.engine.camunda.UtilityFunctionsMapper;
+import com.symphony.bdk.workflow.engine.executor.EventHolder;
+import com.symphony.bdk.workflow.engine.executor.MessageAnalysis;
 import com.symphony.bdk.workflow.engine.executor.SharedDataStore;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
@@ -80,7 +87,7 @@ class UtilityFunctionsMapperTest {
   @DisplayName("Read shared data method test")
   void readSharedTest() {
     UtilityFunctionsMapper.setSharedStateService(sharedDataStore);
-    when(sharedDataStore.getNamespaceData(anyString())).thenReturn(Map.of("key", "value"));
+    when(sharedDataStore.get("namespace", "key")).thenReturn("value");
     Object actual = UtilityFunctionsMapper.readShared("namespace", "key");
     assertThat(actual).isEqualTo("value");
   }
@@ -93,4 +100,96 @@ class UtilityFunctionsMapperTest {
     UtilityFunctionsMapper.writeShared("namespace", "key", "value");
     verify(sharedDataStore).putNamespaceData(eq("namespace"), eq("key"), eq("value"));
   }
+
+  @Test
+  void writeSharedWithTtlTest() {
+    UtilityFunctionsMapper.setSharedStateService(sharedDataStore);
+    UtilityFunctionsMapper.writeSharedWithTtl("namespace", "key", "value", "PT1H");
+    verify(sharedDataStore).putNamespaceData("namespace", "key", "value", Duration.ofHours(1));
+  }
+
+  @Test
+  void readAllSharedTest() {
+    UtilityFunctionsMapper.setSharedStateService(sharedDataStore);
+    when(sharedDataStore.getAll("namespace", List.of("key", "other"))).thenReturn(Map.of("key", "value"));
+    assertThat(UtilityFunctionsMapper.readAllShared("namespace", List.of("key", "other")))
+        .isEqualTo(Map.of("key", "value"));
+  }
+
+  @Test
+  void writeAllSharedTest() {
+    UtilityFunctionsMapper.setSharedStateService(sharedDataStore);
+    UtilityFunctionsMapper.writeAllShared("namespace", Map.of("key", "value"));
+    verify(sharedDataStore).putAll("namespace", Map.of("key", "value"));
+  }
+
+  @Test
+  void incrementSharedTest() {
+    UtilityFunctionsMapper.setSharedStateService(sharedDataStore);
+    when(sharedDataStore.increment("namespace", "counter", 1)).thenReturn(2L);
+    assertThat(UtilityFunctionsMapper.incrementShared("namespace", "counter", 1)).isEqualTo(2L);
+  }
+
+  @Test
+  void compareAndSetSharedTest() {
+    UtilityFunctionsMapper.setSharedStateService(sharedDataStore);
+    when(sharedDataStore.compareAndSet("namespace", "key", "old", "new")).thenReturn(true);
+    assertThat(UtilityFunctionsMapper.compareAndSetShared("namespace", "key", "old", "new")).isTrue();
+  }
+
+  @Test
+  void writeSharedIfAbsentTest() {
+    UtilityFunctionsMapper.setSharedStateService(sharedDataStore);
+    when(sharedDataStore.putIfAbsent("namespace", "key", "value")).thenReturn("current");
+    assertThat(UtilityFunctionsMapper.writeSharedIfAbsent("namespace", "key", "value")).isEqualTo("current");
+  }
+
+  @Test
+  void textTest() throws Exception {
+    String text = UtilityFunctionsMapper.text("<div data-format=\"PresentationML\" data-version=\"2.0\">started</div>");
+    assertThat(text).isEqualTo("started");
+  }
+
+  @Test
+  void mentionsTest_parsedOnce() throws Exception {
+    V4Message message = new V4Message().message("<div data-format=\"PresentationML\" data-version=\"2.0\">hi</div>")
+        .data(mentionData(123L));
+    EventHolder<V4MessageSent> event =
+        new EventHolder<>(null, new V4MessageSent().message(message), new HashMap<>(), new MessageAnalysis());
+
+    assertThat(UtilityFunctionsMapper.mentions(event)).isEqualTo(List.of(123L));
+    assertThat(UtilityFunctionsMapper.text(event)).isEqualTo("hi");
+
+    // the analysis of the event is reused
+    message.data(mentionData(456L)).message("<div data-format=\"PresentationML\" data-version=\"2.0\">bye</div>");
+    assertThat(UtilityFunctionsMapper.mentions(event)).isEqualTo(List.of(123L));
+    assertThat(UtilityFunctionsMapper.text(event)).isEqualTo("hi");
+  }
+
+  @Test
+  void mentionsTest_storedAnalysisUntouched() throws Exception {
+    V4Message message = new V4Message().message("<div data-format=\"PresentationML\" data-version=\"2.0\">hi</div>")
+        .data(mentionData(123L));
+    MessageAnalysis analysis = new MessageAnalysis("hi");
+    EventHolder<V4MessageSent> event =
+        new EventHolder<>(null, new V4MessageSent().message(message), new HashMap<>(), analysis);
+
+    assertThat(new ObjectMapper().writeValueAsString(analysis)).isEqualTo("{\"text\":\"hi\"}");
+
+    assertThat(UtilityFunctionsMapper.mentions(event)).isEqualTo(List.of(123L));
+    // the parsed parts are not stored back with the event
+    assertThat(new ObjectMapper().writeValueAsString(analysis)).isEqualTo("{\"text\":\"hi\"}");
+    assertThat(UtilityFunctionsMapper.text(event)).isEqualTo("hi");
+  }
+
+  @Test
+  void mentionsTest_notAMessage() throws Exception {
+    assertThat(UtilityFunctionsMapper.mentions(new EventHolder<>(null, "source", new HashMap<>()))).isEmpty();
+    assertThat(UtilityFunctionsMapper.emojis(null)).isEmpty();
+  }
+
+  private static String mentionData(long userId) {
+    return "{\"0\": {\"id\": [{\"type\": \"com.symphony.user.userId\", \"value\": \"" + userId + "\"}],"
+        + " \"type\": \"com.symphony.user.mention\"}}";
+  }
 }
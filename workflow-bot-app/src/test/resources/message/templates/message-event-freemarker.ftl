@@ -0,0 +1 @@
+Received ${event.source.message.messageId}
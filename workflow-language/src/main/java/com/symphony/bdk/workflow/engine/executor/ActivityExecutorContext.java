@@ -41,7 +41,9 @@ public interface ActivityExecutorContext<T> {
    */
   void setOutputVariable(String name, Object variable);
 
-
+  /**
+   * @return a read-only view of the process variables, a variable is only fetched when its value is accessed.
+   */
   Map<String, Object> getVariables();
 
   /**
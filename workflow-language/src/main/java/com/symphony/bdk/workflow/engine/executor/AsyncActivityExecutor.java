@@ -0,0 +1,50 @@
+package com.symphony.bdk.workflow.engine.executor;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Implement this interface to define your own activities that wait on remote calls without holding a thread of the
+ * workflow engine.
+ *
+ * <p>Once {@link #executeAsync(ActivityExecutorContext)} returns, the activity waits until the returned stage
+ * completes. The workflow is then resumed with the outputs set in the meantime, or the activity fails if the stage
+ * completed exceptionally.</p>
+ *
+ * <p>The context is only valid until {@link #executeAsync(ActivityExecutorContext)} returns, except for
+ * {@link ActivityExecutorContext#setOutputVariables(Map)} and
+ * {@link ActivityExecutorContext#setOutputVariable(String, Object)} that can be called until the stage completes.</p>
+ *
+ * @param <T> The activity type used in the workflow's definition.
+ */
+public interface AsyncActivityExecutor<T> extends ActivityExecutor<T> {
+
+  /**
+   * Called when the activity is executed.
+   *
+   * @param context Gives access to the activity definition from the workflow,
+   *                to contextual information such as variables
+   *                as well as the BDK services.
+   * @return completed once the activity is done.
+   */
+  CompletionStage<Void> executeAsync(ActivityExecutorContext<T> context) throws IOException;
+
+  /**
+   * Executes the activity and waits for its completion.
+   */
+  @Override
+  default void execute(ActivityExecutorContext<T> context) throws IOException {
+    try {
+      executeAsync(context).toCompletableFuture().join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      } else if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+}
@@ -2,6 +2,7 @@ package com.symphony.bdk.workflow.engine.executor;
 
 import com.symphony.bdk.gen.api.model.V4Initiator;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -27,4 +28,13 @@ public class EventHolder<T> {
    */
   private Map<String, Object> args;
 
+  /**
+   * Parsed content of the message for message received events, shared by the utility functions.
+   */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private MessageAnalysis messageAnalysis;
+
+  public EventHolder(V4Initiator initiator, T source, Map<String, Object> args) {
+    this(initiator, source, args, null);
+  }
 }
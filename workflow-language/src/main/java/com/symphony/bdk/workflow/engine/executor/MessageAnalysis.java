@@ -0,0 +1,88 @@
+package com.symphony.bdk.workflow.engine.executor;
+
+import com.symphony.bdk.core.service.message.exception.MessageParserException;
+import com.symphony.bdk.core.service.message.exception.PresentationMLParserException;
+import com.symphony.bdk.core.service.message.util.MessageParser;
+import com.symphony.bdk.core.service.message.util.PresentationMLParser;
+import com.symphony.bdk.gen.api.model.V4Message;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parsed content of a received message: text, mentions, tags and emojis.
+ *
+ * <p>The text is parsed when the event is dispatched and serialized along with the {@link EventHolder}. The other parts
+ * are only parsed on first access, by the utility function using it, in a copy of the stored analysis so that the
+ * stored event is left untouched. Parts that were never accessed are neither parsed nor serialized.</p>
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY, getterVisibility = JsonAutoDetect.Visibility.NONE,
+    isGetterVisibility = JsonAutoDetect.Visibility.NONE)
+public class MessageAnalysis {
+  private String text;
+  private List<Long> mentions;
+  private List<String> hashTags;
+  private List<String> cashTags;
+  private Map<String, String> emojis;
+
+  public MessageAnalysis() {
+  }
+
+  /**
+   * @param text text content of the message, already parsed when the event is dispatched.
+   */
+  public MessageAnalysis(String text) {
+    this.text = text;
+  }
+
+  /**
+   * @return a copy with the parts already parsed.
+   */
+  public MessageAnalysis copy() {
+    MessageAnalysis copy = new MessageAnalysis(text);
+    copy.mentions = mentions;
+    copy.hashTags = hashTags;
+    copy.cashTags = cashTags;
+    copy.emojis = emojis;
+    return copy;
+  }
+
+  public String text(V4Message message) throws PresentationMLParserException {
+    if (text == null) {
+      text = PresentationMLParser.getTextContent(message.getMessage());
+    }
+    return text;
+  }
+
+  public List<Long> mentions(V4Message message) throws MessageParserException {
+    if (mentions == null) {
+      mentions = MessageParser.getMentions(message);
+    }
+    return mentions;
+  }
+
+  public List<String> hashTags(V4Message message) throws MessageParserException {
+    if (hashTags == null) {
+      hashTags = MessageParser.getHashtags(message);
+    }
+    return hashTags;
+  }
+
+  public List<String> cashTags(V4Message message) throws MessageParserException {
+    if (cashTags == null) {
+      cashTags = MessageParser.getCashtags(message);
+    }
+    return cashTags;
+  }
+
+  public Map<String, String> emojis(V4Message message) throws MessageParserException {
+    if (emojis == null) {
+      emojis = MessageParser.getEmojis(message);
+    }
+    return emojis;
+  }
+}
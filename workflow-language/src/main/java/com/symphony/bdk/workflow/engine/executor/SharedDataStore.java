@@ -1,9 +1,59 @@
 package com.symphony.bdk.workflow.engine.executor;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Map;
 
+/**
+ * Data shared by the workflows and their instances, organized by namespace and key.
+ *
+ * <p>Values are compared as their JSON representation, numbers by value, e.g. 1 is equal to 1L.</p>
+ */
 public interface SharedDataStore {
   Map<String, Object> getNamespaceData(String namespace);
 
   void putNamespaceData(String namespace, String key, Object data);
+
+  /**
+   * Same as {@link #putNamespaceData(String, String, Object)}, the key being removed once its time to live has
+   * elapsed.
+   */
+  void putNamespaceData(String namespace, String key, Object data, Duration ttl);
+
+  /**
+   * @return the value of the key, null if it is not set.
+   */
+  Object get(String namespace, String key);
+
+  /**
+   * @return the values of the given keys, the ones not set are missing.
+   */
+  Map<String, Object> getAll(String namespace, Collection<String> keys);
+
+  /**
+   * Writes several keys of a namespace at once.
+   */
+  void putAll(String namespace, Map<String, Object> data);
+
+  /**
+   * Atomically adds a value to a numeric key, a key not set counting as 0.
+   *
+   * @return the new value.
+   */
+  long increment(String namespace, String key, long delta);
+
+  /**
+   * Atomically sets a key if its current value is the expected one.
+   *
+   * @param expected the expected value, null if the key is expected not to be set.
+   * @return true if the key was set.
+   */
+  boolean compareAndSet(String namespace, String key, Object expected, Object data);
+
+  /**
+   * Atomically sets a key if it is not set.
+   *
+   * @return the current value of the key, null if it was not set and has been set.
+   */
+  Object putIfAbsent(String namespace, String key, Object data);
 }
@@ -0,0 +1,29 @@
+package com.symphony.bdk.workflow.swadl.v1;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * How much of a workflow's executions is kept in the history, from nothing to every activity and variable update.
+ */
+public enum History {
+  /**
+   * Executions are not kept.
+   */
+  @JsonProperty("none")
+  NONE,
+  /**
+   * Only the instances, with their start and end, are kept.
+   */
+  @JsonProperty("instance")
+  INSTANCE,
+  /**
+   * The instances and their executed activities are kept.
+   */
+  @JsonProperty("activity")
+  ACTIVITY,
+  /**
+   * Everything is kept, variable updates included.
+   */
+  @JsonProperty("full")
+  FULL
+}
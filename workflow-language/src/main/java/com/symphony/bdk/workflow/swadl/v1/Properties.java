@@ -10,4 +10,10 @@ public class Properties {
 
   @JsonProperty
   private Boolean publish = true;
+
+  @JsonProperty
+  private History history = History.FULL;
+
+  @JsonProperty
+  private Boolean fullEventPayload = false;
 }
@@ -53,6 +53,13 @@ public abstract class BaseActivity {
   @JsonProperty("else")
   private Object elseCondition;
 
+  /**
+   * Commits the workflow's state once the activity completes, when consecutive activities are chained synchronously.
+   */
+  @Nullable
+  @JsonProperty
+  private Boolean checkpoint;
+
   /**
    * Internal storage of activity's properties. <b>Not meant to be used in executors.</b>
    */